@@ -0,0 +1,32 @@
+package com.researchers_conicet.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the read-through caches of the detail endpoints.
+ * The Caffeine caches themselves are declared in application.properties;
+ * the Hibernate second-level cache is configured there as well.
+ *
+ * The cache advice runs outside the transaction advice, so a hit never
+ * borrows a database connection and an eviction only happens once the
+ * write that caused it has committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /** Analogy response DTOs keyed by analogy id */
+    public static final String ANALOGIES = "analogies";
+    /** News response DTOs keyed by news id */
+    public static final String NEWS = "news";
+    /** Research response DTOs keyed by research id */
+    public static final String RESEARCHES = "researches";
+
+    /**
+     * Hibernate query cache region of the "latest publications" queries.
+     * The entity and collection regions are sized in hibernate-cache.conf.
+     */
+    public static final String LATEST_PUBLICATIONS_REGION = "latest-publications";
+}
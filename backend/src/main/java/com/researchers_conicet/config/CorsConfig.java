@@ -45,6 +45,8 @@ public class CorsConfig {
             HttpHeaders.CACHE_CONTROL,
             HttpHeaders.PRAGMA,
             HttpHeaders.EXPIRES,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
             "X-Requested-With"
         ));
         
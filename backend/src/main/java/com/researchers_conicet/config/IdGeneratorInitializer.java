@@ -0,0 +1,54 @@
+package com.researchers_conicet.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.researchers_conicet.entity.IdGenerators;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migrates the publication tables from IDENTITY columns to the table-based id generators.
+ * <p>
+ * Runs once all beans exist and before the web server accepts requests. It moves each
+ * entity's row of the 'id_generators' table (created by the schema migrations) past the
+ * highest id already stored, so ids handed out by the generators never collide with rows
+ * inserted through AUTO_INCREMENT or loaded directly. A row is never moved backwards, so
+ * running it again is harmless.
+ */
+@Slf4j
+@Component
+public class IdGeneratorInitializer implements SmartInitializingSingleton {
+
+    /** Generator segment -> table whose ids it hands out */
+    private static final Map<String, String> SEGMENTS = Map.of(
+        IdGenerators.ANALOGIES, "analogies",
+        IdGenerators.NEWS, "news",
+        IdGenerators.RESEARCHES, "researches",
+        IdGenerators.COMMENTS, "comments"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEGMENTS.forEach((segment, table) -> {
+            // With the pooled-lo optimizer the stored value is the first id of the next block
+            jdbcTemplate.update(
+                "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.SEGMENT_COLUMN + ", " +
+                IdGenerators.VALUE_COLUMN + ") " +
+                "SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + table + " " +
+                "ON DUPLICATE KEY UPDATE " + IdGenerators.VALUE_COLUMN + " = GREATEST(" +
+                IdGenerators.VALUE_COLUMN + ", VALUES(" + IdGenerators.VALUE_COLUMN + "))",
+                segment);
+        });
+        log.info("Aligned {} id generators with the existing rows", SEGMENTS.size());
+    }
+}
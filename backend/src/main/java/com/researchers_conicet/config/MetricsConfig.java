@@ -0,0 +1,31 @@
+package com.researchers_conicet.config;
+
+import com.researchers_conicet.metrics.RequestQueryCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hooks the per-request Hibernate counters into the session factory.
+ * The rest of the metrics surface (HTTP, Hikari, JVM, GC, Hibernate statistics)
+ * comes from Actuator and is configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Property under which Hibernate looks up extra integrators */
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    HibernatePropertiesCustomizer requestQueryCounterCustomizer() {
+        RequestQueryCounter counter = new RequestQueryCounter();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+            properties.put(INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(counter));
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.researchers_conicet.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance jobs, such as the periodic
+ * reconciliation of denormalized support counters.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
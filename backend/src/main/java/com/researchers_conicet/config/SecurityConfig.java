@@ -33,6 +33,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/comments/**").permitAll()
                 .requestMatchers("api/gallery/**").permitAll()
                 .requestMatchers("/api/news/**").permitAll()
+                .requestMatchers("/api/search/**").permitAll()
+                // Actuator, only reachable on the internal management port
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 // Private Routes
                 .requestMatchers("/api/admin/**").authenticated()
                 .anyRequest().authenticated()
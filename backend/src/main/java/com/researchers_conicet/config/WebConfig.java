@@ -0,0 +1,25 @@
+package com.researchers_conicet.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.researchers_conicet.controller.RequestConcurrencyLimiter;
+
+/**
+ * Registers the request concurrency limit on the API routes
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RequestConcurrencyLimiter requestConcurrencyLimiter;
+
+    public WebConfig(RequestConcurrencyLimiter requestConcurrencyLimiter) {
+        this.requestConcurrencyLimiter = requestConcurrencyLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestConcurrencyLimiter).addPathPatterns("/api/**");
+    }
+}
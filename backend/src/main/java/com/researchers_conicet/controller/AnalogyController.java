@@ -1,8 +1,12 @@
 package com.researchers_conicet.controller;
 
 import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.ContentVersions.Content;
 import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
 import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.analogy.AnalogySummaryDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -11,10 +15,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.HttpHeaders;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -31,15 +37,19 @@ import java.util.Set;
         HttpHeaders.CONTENT_DISPOSITION,
         HttpHeaders.CONTENT_TYPE,
         HttpHeaders.CONTENT_LENGTH,
-        HttpHeaders.CACHE_CONTROL
+        HttpHeaders.CACHE_CONTROL,
+        HttpHeaders.ETAG,
+        HttpHeaders.LAST_MODIFIED
     }
 )
 public class AnalogyController {
 
     private final AnalogyService analogyService;
+    private final ConditionalGet conditionalGet;
 
-    public AnalogyController(AnalogyService analogyService) {
+    public AnalogyController(AnalogyService analogyService, ConditionalGet conditionalGet) {
         this.analogyService = analogyService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -71,12 +81,14 @@ public class AnalogyController {
     }
 
     /**
-     * Retrieves an specific analogy publication by ID
+     * Retrieves an specific analogy publication by ID.
+     * Answers 304 when the If-None-Match tag is still current.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AnalogyResponseDTO> getAnalogy(@PathVariable Long id) {
+    public ResponseEntity<AnalogyResponseDTO> getAnalogy(@PathVariable Long id, WebRequest request) {
         log.info("REST request to get Analogy : {}", id);
-        return ResponseEntity.ok(analogyService.getAnalogy(id));
+        return conditionalGet.respond(request, Content.ANALOGIES,
+            () -> analogyService.getAnalogy(id), id);
     }
 
     /**
@@ -86,13 +98,15 @@ public class AnalogyController {
      * @param size Items per page
      * @param sort Sort field
      * @param direction Sort direction (ASC/DESC)
+     * @return The page, or 304 when the If-None-Match tag is still current
      */
     @GetMapping
     public ResponseEntity<Page<AnalogyResponseDTO>> getAllAnalogies(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest request) {
         log.info("REST request to get all Analogies");
         PageRequest pageRequest = PageRequest.of(
             page, 
@@ -100,7 +114,55 @@ public class AnalogyController {
             Sort.Direction.fromString(direction), 
             sort
         );
-        return ResponseEntity.ok(analogyService.getAllAnalogies(pageRequest));
+        return conditionalGet.respond(request, Content.ANALOGIES,
+            () -> analogyService.getAllAnalogies(pageRequest), page, size, sort, direction);
+    }
+
+    /**
+     * Retrieves lightweight analogy summaries for list views, with pagination and sorting.
+     * Returns an excerpt instead of the full content and omits links and media.
+     * 
+     * @param page Page number (0-based)
+     * @param size Items per page
+     * @param sort Sort field
+     * @param direction Sort direction (ASC/DESC)
+     * @return The page, or 304 when the If-None-Match tag is still current
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<AnalogySummaryDTO>> getAnalogySummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest request) {
+        log.info("REST request to get Analogy summaries");
+        PageRequest pageRequest = PageRequest.of(
+            page, 
+            size, 
+            Sort.Direction.fromString(direction), 
+            sort
+        );
+        return conditionalGet.respond(request, Content.ANALOGIES,
+            () -> analogyService.getAnalogySummaries(pageRequest), "summaries", page, size, sort, direction);
+    }
+
+    /**
+     * Retrieves analogy publications with keyset pagination, newest first.
+     * Cheaper than {@link #getAllAnalogies} on deep pages since no offset
+     * is scanned and no total count is computed.
+     * 
+     * @param cursor Cursor returned by the previous page (omit for the first page)
+     * @param size Items per page
+     * @return The page, or 304 when the If-None-Match tag is still current
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<AnalogyResponseDTO>> getAnalogiesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.info("REST request to get Analogies by cursor");
+        return conditionalGet.respond(request, Content.ANALOGIES,
+            () -> analogyService.getAnalogiesByCursor(cursor, size), "cursor", cursor, size);
     }
 
     /**
@@ -224,7 +286,22 @@ public class AnalogyController {
             @PathVariable("id") Long analogyId,
             @RequestParam String email) {
         log.info("REST request to check if email {} has supported Analogy: {}", email, analogyId);
-        Set<String> supportEmails = analogyService.getSupportEmails(analogyId);
-        return ResponseEntity.ok(supportEmails.contains(email));
+        return ResponseEntity.ok(analogyService.hasEmailSupported(analogyId, email));
+    }
+
+    /**
+     * Gets the support count of several analogies, and whether an email
+     * has supported each of them, in a single request
+     * 
+     * @param ids IDs of the analogies
+     * @param email Optional email to check
+     * @return Support status by analogy ID
+     */
+    @GetMapping("/support-status")
+    public ResponseEntity<Map<Long, SupportStatusDTO>> getSupportStatus(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String email) {
+        log.info("REST request to get support status for {} Analogies", ids.size());
+        return ResponseEntity.ok(analogyService.getSupportStatus(ids, email));
     }
 }
\ No newline at end of file
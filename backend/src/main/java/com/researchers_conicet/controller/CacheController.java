@@ -0,0 +1,40 @@
+package com.researchers_conicet.controller;
+
+import com.researchers_conicet.dto.cache.CacheStatsDTO;
+import com.researchers_conicet.dto.email_verification.EmailCacheStatsDTO;
+import com.researchers_conicet.service.CacheStatsService;
+import com.researchers_conicet.service.EmailVerificationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin endpoints reporting the hit ratio, evictions and load latency of the detail caches,
+ * and the counters of the registered email cache. The same figures are exported to
+ * /actuator/prometheus.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+    private final EmailVerificationService emailVerificationService;
+
+    public CacheController(CacheStatsService cacheStatsService, EmailVerificationService emailVerificationService) {
+        this.cacheStatsService = cacheStatsService;
+        this.emailVerificationService = emailVerificationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+
+    @GetMapping("/registered-emails")
+    public ResponseEntity<EmailCacheStatsDTO> getRegisteredEmailCacheStats() {
+        return ResponseEntity.ok(emailVerificationService.getCacheStats());
+    }
+}
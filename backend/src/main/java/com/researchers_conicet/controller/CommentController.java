@@ -3,6 +3,8 @@ package com.researchers_conicet.controller;
 import com.researchers_conicet.service.CommentService;
 import com.researchers_conicet.dto.comment.CommentRequestDTO;
 import com.researchers_conicet.dto.comment.CommentResponseDTO;
+import com.researchers_conicet.dto.comment.CommentTreeNodeDTO;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -15,6 +17,7 @@ import org.springframework.http.HttpHeaders;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -191,6 +194,34 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getCommentsByAnalogy(analogyId, pageRequest));
     }
 
+    /**
+     * Retrieves the comment thread of an analogy as a tree.
+     * Root comments are paginated; replies, support counts and the viewer's
+     * supported flags come in the same response.
+     * 
+     * @param analogyId ID of the analogy
+     * @param email Optional email of the viewer
+     * @param page Page number of root comments (0-based)
+     * @param size Root comments per page
+     * @param direction Sort direction of root comments by creation date (ASC/DESC)
+     * @return Paginated root comments with nested replies
+     */
+    @GetMapping("/analogies/{analogyId}/comments/tree")
+    public ResponseEntity<Page<CommentTreeNodeDTO>> getCommentTree(
+            @PathVariable Long analogyId,
+            @RequestParam(required = false) String email,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "DESC") String direction) {
+        log.info("REST request to get Comment tree for Analogy {}", analogyId);
+        PageRequest pageRequest = PageRequest.of(
+            page,
+            size,
+            Sort.by(Sort.Direction.fromString(direction), "createdAt", "id")
+        );
+        return ResponseEntity.ok(commentService.getCommentTree(analogyId, email, pageRequest));
+    }
+
     /**
      * Adds support to a comment
      * 
@@ -275,6 +306,22 @@ public class CommentController {
         return new ResponseEntity<Boolean>(commentService.hasEmailSupported(commentId, email), HttpStatus.OK);
     }
 
+    /**
+     * Gets the support count of several comments, and whether an email
+     * has supported each of them, in a single request
+     * 
+     * @param ids IDs of the comments
+     * @param email Optional email to check
+     * @return Support status by comment ID
+     */
+    @GetMapping("/comments/support-status")
+    public ResponseEntity<Map<Long, SupportStatusDTO>> getSupportStatus(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String email) {
+        log.info("REST request to get support status for {} Comments", ids.size());
+        return ResponseEntity.ok(commentService.getSupportStatus(ids, email));
+    }
+
     /**
      * Retrieves a list of comment IDs supported by the given email
      *
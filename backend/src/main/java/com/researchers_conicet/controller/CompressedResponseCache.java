@@ -0,0 +1,192 @@
+package com.researchers_conicet.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.researchers_conicet.service.ContentVersions;
+import com.researchers_conicet.service.ContentVersions.Content;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized bytes of the hot public listings, plain and gzip-compressed,
+ * so that the JSON every visitor receives is built and compressed once per change
+ * instead of once per request.
+ * <p>
+ * Covers GET /api/gallery, GET /api/news and the first page of GET /api/analogies.
+ * Entries are keyed by route and query parameters and remember the version stamp of
+ * their collection; once a write moves the stamp the entry is rebuilt on the next
+ * request. Runs after the security and CORS filters, so a hit skips only the controller.
+ */
+@Slf4j
+@Component
+public class CompressedResponseCache extends OncePerRequestFilter {
+
+    /** Hot routes and the collection each one is read from */
+    private static final Map<String, Content> ROUTES = Map.of(
+        "/api/gallery", Content.GALLERY,
+        "/api/news", Content.NEWS,
+        "/api/analogies", Content.ANALOGIES
+    );
+
+    /** Rough size of an entry besides its bodies, used to weigh it */
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private record Key(String route, String query) {}
+
+    /**
+     * @param gzip Compressed body, or null when compressing does not make it smaller
+     */
+    private record Entry(long version, String contentType, String etag, byte[] identity, byte[] gzip) {
+        int weight() {
+            return ENTRY_OVERHEAD + identity.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private final boolean enabled;
+    private final ContentVersions contentVersions;
+    private final Cache<Key, Entry> entries;
+
+    public CompressedResponseCache(
+        @Value("${responses.compressed-cache.enabled:true}") boolean enabled,
+        @Value("${responses.compressed-cache.max-bytes:33554432}") long maxBytes,
+        ContentVersions contentVersions
+    ) {
+        this.enabled = enabled;
+        this.contentVersions = contentVersions;
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, Entry>weigher((key, entry) -> entry.weight())
+            .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Content content = ROUTES.get(path(request));
+        if (content == null) {
+            return true;
+        }
+        // Only the first page of analogies is shared by most visitors
+        String page = request.getParameter("page");
+        return content == Content.ANALOGIES && page != null && !"0".equals(page);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = path(request);
+        Content content = ROUTES.get(path);
+        Key key = new Key(path, query(request));
+        // Read before the body, as in ConditionalGet: a racing write can only make the entry look older
+        ContentVersions.Stamp stamp = contentVersions.current(content);
+
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.version() == stamp.version()) {
+            // The controller would have answered a current tag with 304 as well
+            if (new ServletWebRequest(request, response).checkNotModified(entry.etag(), stamp.lastModified())) {
+                return;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            write(request, response, entry);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpStatus.OK.value() || !isJson(wrapper.getContentType())) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] identity = wrapper.getContentAsByteArray();
+        byte[] gzip = gzip(identity);
+        entry = new Entry(stamp.version(), wrapper.getContentType(), response.getHeader(HttpHeaders.ETAG),
+            identity, gzip.length < identity.length ? gzip : null);
+        entries.put(key, entry);
+        log.debug("Cached {}?{} ({} bytes, {} gzipped)", path, key.query(), identity.length, gzip.length);
+        write(request, response, entry);
+    }
+
+    /**
+     * Sends the gzip body to clients that accept it and the plain one to the rest
+     */
+    private void write(HttpServletRequest request, HttpServletResponse response, Entry entry) throws IOException {
+        byte[] body = entry.identity();
+        if (entry.gzip() != null && acceptsGzip(request)) {
+            body = entry.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(entry.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Query parameters in a fixed order, so that ?size=5&page=0 and ?page=0&size=5 share an entry
+     */
+    private static String query(HttpServletRequest request) {
+        Map<String, String> sorted = new TreeMap<>();
+        request.getParameterMap().forEach((name, values) -> sorted.put(name, Arrays.toString(values)));
+        return sorted.toString();
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    /**
+     * True if Accept-Encoding lists gzip (or *) without q=0
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (header == null) {
+            return false;
+        }
+        for (String coding : header.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+package com.researchers_conicet.controller;
+
+import com.researchers_conicet.service.ContentVersions;
+import com.researchers_conicet.service.ContentVersions.Content;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers public GETs with an ETag and Last-Modified taken from the version stamp
+ * of their collection. When the client already holds the current version the
+ * response is a bodiless 304 and the body supplier, with its queries, is never run.
+ */
+@Component
+public class ConditionalGet {
+
+    private final ContentVersions contentVersions;
+
+    public ConditionalGet(ContentVersions contentVersions) {
+        this.contentVersions = contentVersions;
+    }
+
+    /**
+     * @param request Current request, carrying If-None-Match / If-Modified-Since
+     * @param content Collection the body is read from
+     * @param body Builds the body on a cache miss
+     * @param params Request parameters that select the body, e.g. id or page and sort
+     * @return 304 with the validators, or 200 with the body and the validators
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, Content content, Supplier<T> body, Object... params) {
+        // Read before the body, so a write racing with the query can only make the tag older
+        ContentVersions.Stamp stamp = contentVersions.current(content);
+        // Also sets the ETag and Last-Modified headers on the response
+        if (request.checkNotModified(stamp.etag(params), stamp.lastModified())) {
+            return null;
+        }
+        // Browsers must revalidate every time instead of guessing a freshness from Last-Modified
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .body(body.get());
+    }
+}
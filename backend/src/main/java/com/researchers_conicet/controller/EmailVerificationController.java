@@ -1,5 +1,6 @@
 package com.researchers_conicet.controller;
 
+import com.researchers_conicet.dto.email_verification.BulkEmailResultDTO;
 import com.researchers_conicet.dto.email_verification.EmailVerificationRequestDTO;
 import com.researchers_conicet.dto.email_verification.EmailVerificationResponseDTO;
 import com.researchers_conicet.entity.EmailVerification;
@@ -95,17 +96,23 @@ public class EmailVerificationController {
     @PostMapping("/register-multiple")
     public ResponseEntity<List<EmailVerification>> registerMultipleEmails(
             @RequestBody List<String> emails) {
-        log.info("Registering multiple emails: {}", emails);
+        log.info("Registering {} emails", emails.size());
         List<EmailVerification> registeredEmails = emailVerificationService.registerMultipleEmails(emails);
         return ResponseEntity.ok(registeredEmails);
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<BulkEmailResultDTO> importEmails(
+            @RequestBody List<String> emails) {
+        log.info("Importing {} emails", emails.size());
+        return ResponseEntity.ok(emailVerificationService.importEmails(emails));
+    }
+
     @DeleteMapping("/remove-multiple")
-    public ResponseEntity<Void> removeMultipleEmails(
+    public ResponseEntity<BulkEmailResultDTO> removeMultipleEmails(
             @RequestBody List<String> emails) {
-        log.info("Removing multiple emails: {}", emails);
-        emailVerificationService.removeMultipleEmails(emails);
-        return ResponseEntity.noContent().build();
+        log.info("Removing {} emails", emails.size());
+        return ResponseEntity.ok(emailVerificationService.removeMultipleEmails(emails));
     }
 
     @GetMapping("/all")
@@ -133,7 +140,7 @@ public class EmailVerificationController {
     @PostMapping("/check-registration")
     public ResponseEntity<List<EmailVerificationService.EmailRegistrationStatus>>
     checkEmailsRegistration(@RequestBody List<String> emails) {
-        log.info("Checking registration status for emails: {}", emails);
+        log.info("Checking registration status for {} emails", emails.size());
         List<EmailVerificationService.EmailRegistrationStatus> statuses =
                 emailVerificationService.checkEmailsRegistration(emails);
         return ResponseEntity.ok(statuses);
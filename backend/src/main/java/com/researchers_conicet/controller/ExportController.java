@@ -0,0 +1,107 @@
+package com.researchers_conicet.controller;
+
+import com.researchers_conicet.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Admin endpoints that download a full copy of each kind of content as NDJSON,
+ * one record per line. The body is written while the rows are read, so exports of
+ * any size use the same memory. With gzip=true the file is sent as .ndjson.gz.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/analogies")
+    public void exportAnalogies(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("REST request to export Analogies");
+        export(response, "analogies", gzip, exportService::exportAnalogies);
+    }
+
+    @GetMapping("/comments")
+    public void exportComments(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("REST request to export Comments");
+        export(response, "comments", gzip, exportService::exportComments);
+    }
+
+    @GetMapping("/news")
+    public void exportNews(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("REST request to export News");
+        export(response, "news", gzip, exportService::exportNews);
+    }
+
+    @GetMapping("/researches")
+    public void exportResearches(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("REST request to export Researches");
+        export(response, "researches", gzip, exportService::exportResearches);
+    }
+
+    @GetMapping("/gallery")
+    public void exportGalleryImages(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("REST request to export Gallery Images");
+        export(response, "gallery", gzip, exportService::exportGalleryImages);
+    }
+
+    @GetMapping("/emails")
+    public void exportRegisteredEmails(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("REST request to export Registered Emails");
+        export(response, "emails", gzip, exportService::exportRegisteredEmails);
+    }
+
+    /**
+     * Sets the download headers and streams the export into the response body
+     */
+    private void export(HttpServletResponse response, String name, boolean gzip, Exporter exporter)
+            throws IOException {
+        String fileName = name + (gzip ? ".ndjson.gz" : ".ndjson");
+        response.setContentType(gzip ? GZIP_CONTENT_TYPE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        if (!gzip) {
+            exporter.writeTo(response.getOutputStream());
+            return;
+        }
+        GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 8192, true);
+        exporter.writeTo(out);
+        // Writes the gzip trailer; the container closes the response stream
+        out.finish();
+        out.flush();
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        long writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -1,6 +1,7 @@
 package com.researchers_conicet.controller;
 
 import com.researchers_conicet.service.GalleryService;
+import com.researchers_conicet.service.ContentVersions.Content;
 import com.researchers_conicet.dto.gallery.GalleryImageDTO;
 import com.researchers_conicet.dto.gallery.GalleryUpdateDTO;
 import com.researchers_conicet.entity.GalleryImage;
@@ -13,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.HttpHeaders;
 
 import jakarta.validation.Valid;
@@ -31,15 +33,19 @@ import jakarta.validation.Valid;
         HttpHeaders.CONTENT_DISPOSITION,
         HttpHeaders.CONTENT_TYPE,
         HttpHeaders.CONTENT_LENGTH,
-        HttpHeaders.CACHE_CONTROL
+        HttpHeaders.CACHE_CONTROL,
+        HttpHeaders.ETAG,
+        HttpHeaders.LAST_MODIFIED
     }
 )
 public class GalleryController {
 
     private final GalleryService service;
+    private final ConditionalGet conditionalGet;
 
-    public GalleryController(GalleryService service) {
+    public GalleryController(GalleryService service, ConditionalGet conditionalGet) {
         this.service = service;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -60,12 +66,12 @@ public class GalleryController {
 
     /**
      * Retrieves an specific gallery image by URL.
+     * Answers 304 when the If-None-Match tag is still current.
      */
     @GetMapping("/by-url")
-    public ResponseEntity<GalleryImage> getImageByUrl(@RequestParam String url) {
+    public ResponseEntity<GalleryImage> getImageByUrl(@RequestParam String url, WebRequest request) {
         log.info("REST request to get GalleryImage : {}", url);
-        GalleryImage image = service.getGalleryImage(url);
-        return ResponseEntity.ok(image);
+        return conditionalGet.respond(request, Content.GALLERY, () -> service.getGalleryImage(url), url);
     }
 
     /**
@@ -75,17 +81,19 @@ public class GalleryController {
      * @param size Items per page
      * @param sort Sort field
      * @param direction Sort direction (ASC/DESC)
+     * @return The page, or 304 when the If-None-Match tag is still current
      */
     @GetMapping
     public ResponseEntity<Page<GalleryImage>> getAllImages(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest request) {
         log.info("REST request to get all GalleryImage");
         PageRequest pageable = PageRequest.of(page, size, Sort.Direction.fromString(direction), sort);
-        Page<GalleryImage> images = service.getAllImages(pageable);
-        return ResponseEntity.ok(images);
+        return conditionalGet.respond(request, Content.GALLERY,
+            () -> service.getAllImages(pageable), page, size, sort, direction);
     }
 
     /**
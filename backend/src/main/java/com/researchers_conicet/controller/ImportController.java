@@ -0,0 +1,66 @@
+package com.researchers_conicet.controller;
+
+import com.researchers_conicet.dto.bulk_import.BulkImportResultDTO;
+import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.NewsService;
+import com.researchers_conicet.service.ResearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * Admin endpoints for bulk imports of publications.
+ * Each body is NDJSON, one request DTO per line, read as a stream so files of any
+ * size can be uploaded. The response lists the lines that were not imported.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/import")
+public class ImportController {
+
+    private final AnalogyService analogyService;
+    private final NewsService newsService;
+    private final ResearchService researchService;
+
+    public ImportController(
+        AnalogyService analogyService,
+        NewsService newsService,
+        ResearchService researchService
+    ) {
+        this.analogyService = analogyService;
+        this.newsService = newsService;
+        this.researchService = researchService;
+    }
+
+    /**
+     * Imports analogies, one AnalogyRequestDTO per line
+     */
+    @PostMapping(value = "/analogies", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkImportResultDTO> importAnalogies(InputStream body) {
+        log.info("REST request to import Analogies");
+        return ResponseEntity.ok(analogyService.importAnalogies(body));
+    }
+
+    /**
+     * Imports news articles, one NewsRequestDTO per line
+     */
+    @PostMapping(value = "/news", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkImportResultDTO> importNews(InputStream body) {
+        log.info("REST request to import News");
+        return ResponseEntity.ok(newsService.importNews(body));
+    }
+
+    /**
+     * Imports researches, one ResearchRequestDTO per line
+     */
+    @PostMapping(value = "/researches", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkImportResultDTO> importResearches(InputStream body) {
+        log.info("REST request to import Researches");
+        return ResponseEntity.ok(researchService.importResearches(body));
+    }
+}
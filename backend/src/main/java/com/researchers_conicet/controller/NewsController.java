@@ -1,8 +1,11 @@
 package com.researchers_conicet.controller;
 
 import com.researchers_conicet.service.NewsService;
+import com.researchers_conicet.service.ContentVersions.Content;
 import com.researchers_conicet.dto.news.NewsRequestDTO; 
 import com.researchers_conicet.dto.news.NewsResponseDTO; 
+import com.researchers_conicet.dto.news.NewsSummaryDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -11,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.HttpHeaders;
 
 import jakarta.validation.Valid;
@@ -30,15 +34,19 @@ import java.util.List;
         HttpHeaders.CONTENT_DISPOSITION,
         HttpHeaders.CONTENT_TYPE,
         HttpHeaders.CONTENT_LENGTH,
-        HttpHeaders.CACHE_CONTROL
+        HttpHeaders.CACHE_CONTROL,
+        HttpHeaders.ETAG,
+        HttpHeaders.LAST_MODIFIED
     }
 )
 public class NewsController {
 
     private final NewsService newsService;
+    private final ConditionalGet conditionalGet;
 
-    public NewsController(NewsService newsService) {
+    public NewsController(NewsService newsService, ConditionalGet conditionalGet) {
         this.newsService = newsService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -77,14 +85,14 @@ public class NewsController {
     }
 
     /**
-     * Retrieves a specific news article by ID
+     * Retrieves a specific news article by ID.
+     * Answers 304 when the If-None-Match tag is still current.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<NewsResponseDTO> getNews(@PathVariable Long id) {
+    public ResponseEntity<NewsResponseDTO> getNews(@PathVariable Long id, WebRequest request) {
         log.info("REST request to get news article : {}", id);
         try {
-            NewsResponseDTO news = newsService.getNews(id);
-            return ResponseEntity.ok(news);
+            return conditionalGet.respond(request, Content.NEWS, () -> newsService.getNews(id), id);
         } catch (Exception ex) {
             log.error("Error retrieving news article with ID: {}", id, ex);
             throw new RuntimeException("Failed to retrieve news article", ex);
@@ -92,14 +100,16 @@ public class NewsController {
     }
 
     /**
-     * Retrieves all news articles with pagination and sorting
+     * Retrieves all news articles with pagination and sorting.
+     * Answers 304 when the If-None-Match tag is still current.
      */
     @GetMapping
     public ResponseEntity<Page<NewsResponseDTO>> getAllNews(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest request) {
         log.info("REST request to get all news articles");
         PageRequest pageRequest = PageRequest.of(
             page, 
@@ -107,8 +117,44 @@ public class NewsController {
             Sort.Direction.fromString(direction), 
             sort
         );
-        Page<NewsResponseDTO> newsPage = newsService.getAllNews(pageRequest);
-        return ResponseEntity.ok(newsPage);
+        return conditionalGet.respond(request, Content.NEWS,
+            () -> newsService.getAllNews(pageRequest), page, size, sort, direction);
+    }
+
+    /**
+     * Retrieves lightweight news summaries for list views, with pagination and sorting.
+     * Answers 304 when the If-None-Match tag is still current.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<NewsSummaryDTO>> getNewsSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest request) {
+        log.info("REST request to get news summaries");
+        PageRequest pageRequest = PageRequest.of(
+            page, 
+            size, 
+            Sort.Direction.fromString(direction), 
+            sort
+        );
+        return conditionalGet.respond(request, Content.NEWS,
+            () -> newsService.getNewsSummaries(pageRequest), "summaries", page, size, sort, direction);
+    }
+
+    /**
+     * Retrieves news articles with keyset pagination, newest first.
+     * Answers 304 when the If-None-Match tag is still current.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<NewsResponseDTO>> getNewsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.info("REST request to get news articles by cursor");
+        return conditionalGet.respond(request, Content.NEWS,
+            () -> newsService.getNewsByCursor(cursor, size), "cursor", cursor, size);
     }
 
     /**
@@ -0,0 +1,90 @@
+package com.researchers_conicet.controller;
+
+import com.researchers_conicet.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many API requests run their handler at once, so that under a burst the
+ * excess waits here, in arrival order, instead of inside Hikari for a connection.
+ * <p>
+ * Sized to the connection pool by default ({@code requests.concurrency-limit.permits}).
+ * A request that gets no slot within {@code acquire-timeout-ms} is answered with 503
+ * and Retry-After. Waiting on the semaphore parks a virtual thread without holding its
+ * carrier, which is what lets the virtual-thread mode accept any number of requests.
+ * Responses answered by the filters, such as {@link CompressedResponseCache} hits,
+ * never take a slot. Free and waiting slots are exported as the gauges
+ * requests.concurrency.available and requests.concurrency.queued.
+ */
+@Slf4j
+@Component
+public class RequestConcurrencyLimiter implements HandlerInterceptor {
+
+    /** Request attribute marking a request that holds a slot */
+    private static final String PERMIT = RequestConcurrencyLimiter.class.getName() + ".PERMIT";
+
+    private final boolean enabled;
+    private final long acquireTimeoutMillis;
+    private final Semaphore slots;
+
+    public RequestConcurrencyLimiter(
+        @Value("${requests.concurrency-limit.enabled:false}") boolean enabled,
+        @Value("${requests.concurrency-limit.permits:20}") int permits,
+        @Value("${requests.concurrency-limit.acquire-timeout-ms:5000}") long acquireTimeoutMillis,
+        MeterRegistry registry
+    ) {
+        this.enabled = enabled;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        // Fair, so that waiting requests are served in arrival order and the tail stays short
+        this.slots = new Semaphore(permits, true);
+        Gauge.builder("requests.concurrency.available", slots, Semaphore::availablePermits)
+            .description("Free slots of the request concurrency limit")
+            .register(registry);
+        Gauge.builder("requests.concurrency.queued", slots, Semaphore::getQueueLength)
+            .description("Requests waiting for a slot of the concurrency limit")
+            .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || request.getAttribute(PERMIT) != null) {
+            return true;
+        }
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException("Interrupted while waiting to be served");
+        }
+        if (!acquired) {
+            log.warn("No request slot freed up within {} ms, {} requests waiting",
+                acquireTimeoutMillis, slots.getQueueLength());
+            throw new ConcurrencyLimitExceededException("Too many requests in progress, please retry shortly");
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT) != null) {
+            request.removeAttribute(PERMIT);
+            slots.release();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.researchers_conicet.controller;
 
 import com.researchers_conicet.service.ResearchService;
+import com.researchers_conicet.service.ContentVersions.Content;
 import com.researchers_conicet.dto.research.ResearchRequestDTO;
 import com.researchers_conicet.dto.research.ResearchResponseDTO;
+import com.researchers_conicet.dto.research.ResearchSummaryDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -11,6 +14,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -25,15 +29,19 @@ import java.util.List;
         HttpHeaders.CONTENT_DISPOSITION,
         HttpHeaders.CONTENT_TYPE,
         HttpHeaders.CONTENT_LENGTH,
-        HttpHeaders.CACHE_CONTROL
+        HttpHeaders.CACHE_CONTROL,
+        HttpHeaders.ETAG,
+        HttpHeaders.LAST_MODIFIED
     }
 )
 public class ResearchController {
 
     private final ResearchService researchService;
+    private final ConditionalGet conditionalGet;
 
-    public ResearchController(ResearchService researchService) {
+    public ResearchController(ResearchService researchService, ConditionalGet conditionalGet) {
         this.researchService = researchService;
+        this.conditionalGet = conditionalGet;
     }
 
     @PostMapping
@@ -62,9 +70,10 @@ public class ResearchController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ResearchResponseDTO> getResearch(@PathVariable Long id) {
+    public ResponseEntity<ResearchResponseDTO> getResearch(@PathVariable Long id, WebRequest request) {
         log.info("REST request to get Research : {}", id);
-        return ResponseEntity.ok(researchService.getResearch(id));
+        return conditionalGet.respond(request, Content.RESEARCHES,
+            () -> researchService.getResearch(id), id);
     }
 
     @GetMapping
@@ -72,7 +81,8 @@ public class ResearchController {
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "10") int size,
         @RequestParam(defaultValue = "createdAt") String sort,
-        @RequestParam(defaultValue = "DESC") String direction) {
+        @RequestParam(defaultValue = "DESC") String direction,
+        WebRequest request) {
         log.info("REST request to get all Researches");
         PageRequest pageRequest = PageRequest.of(
             page,
@@ -80,7 +90,36 @@ public class ResearchController {
             Sort.Direction.fromString(direction),
             sort
         );
-        return ResponseEntity.ok(researchService.getAllResearches(pageRequest));
+        return conditionalGet.respond(request, Content.RESEARCHES,
+            () -> researchService.getAllResearches(pageRequest), page, size, sort, direction);
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<ResearchSummaryDTO>> getResearchSummaries(
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(defaultValue = "createdAt") String sort,
+        @RequestParam(defaultValue = "DESC") String direction,
+        WebRequest request) {
+        log.info("REST request to get Research summaries");
+        PageRequest pageRequest = PageRequest.of(
+            page,
+            size,
+            Sort.Direction.fromString(direction),
+            sort
+        );
+        return conditionalGet.respond(request, Content.RESEARCHES,
+            () -> researchService.getResearchSummaries(pageRequest), "summaries", page, size, sort, direction);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ResearchResponseDTO>> getResearchesByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size,
+        WebRequest request) {
+        log.info("REST request to get Researches by cursor");
+        return conditionalGet.respond(request, Content.RESEARCHES,
+            () -> researchService.getResearchesByCursor(cursor, size), "cursor", cursor, size);
     }
 
     @DeleteMapping("/{id}")
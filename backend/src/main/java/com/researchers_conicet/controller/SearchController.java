@@ -0,0 +1,56 @@
+package com.researchers_conicet.controller;
+
+import com.researchers_conicet.dto.search.SearchHitDTO;
+import com.researchers_conicet.search.SearchDocumentType;
+import com.researchers_conicet.search.SearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Set;
+
+/**
+ * REST Controller for the unified full-text search over analogies, news and researches.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(
+    origins = {"http://localhost:5173", "http://localhost:5174"},
+    allowedHeaders = "*",
+    exposedHeaders = {
+        HttpHeaders.CONTENT_TYPE,
+        HttpHeaders.CONTENT_LENGTH,
+        HttpHeaders.CACHE_CONTROL
+    }
+)
+public class SearchController {
+
+    private final SearchIndex searchIndex;
+
+    public SearchController(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Searches titles, contents, abstracts and authors, best matches first
+     * 
+     * @param query Search text, every word must match
+     * @param types Kinds of publication to include (ANALOGY, NEWS, RESEARCH), all when omitted
+     * @param page Page number (0-based)
+     * @param size Items per page
+     * @return Page of ranked hits
+     */
+    @GetMapping
+    public ResponseEntity<Page<SearchHitDTO>> search(
+            @RequestParam String query,
+            @RequestParam(required = false) Set<SearchDocumentType> types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("REST request to search publications: {}", query);
+        return ResponseEntity.ok(searchIndex.search(query, types, PageRequest.of(page, size)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.researchers_conicet.dto.analogy;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Lightweight Data Transfer Object for analogy cards in list views.
+ * Built directly by a JPQL constructor expression, so the full content,
+ * links and support emails are never read from the database.
+ */
+@Data
+@NoArgsConstructor
+public class AnalogySummaryDTO {
+
+    /**
+     * Maximum number of content characters included in the excerpt.
+     */
+    public static final int EXCERPT_LENGTH = 200;
+
+    /**
+     * Unique identifier for the analogy.
+     */
+    private Long id;
+
+    /**
+     * Title of the analogy.
+     */
+    private String title;
+
+    /**
+     * Timestamp of analogy creation.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Collection of authors associated with the analogy.
+     * Filled in a second batched query.
+     */
+    private Set<String> authors = new HashSet<>();
+
+    /**
+     * URL of the first media link of the analogy, if any.
+     */
+    private String previewImage;
+
+    /**
+     * Number of supports (likes) for the analogy.
+     */
+    private Integer supportCount = 0;
+
+    /**
+     * First {@link #EXCERPT_LENGTH} characters of the content.
+     */
+    private String excerpt;
+
+    /**
+     * Whether the content is longer than the excerpt.
+     */
+    private boolean truncated;
+
+    /**
+     * Constructor used by the repository projection query
+     */
+    public AnalogySummaryDTO(Long id, String title, LocalDateTime createdAt,
+                             int supportCount, String excerpt, Integer contentLength) {
+        this.id = id;
+        this.title = title;
+        this.createdAt = createdAt;
+        this.supportCount = supportCount;
+        this.excerpt = excerpt;
+        this.truncated = contentLength != null && contentLength > EXCERPT_LENGTH;
+    }
+}
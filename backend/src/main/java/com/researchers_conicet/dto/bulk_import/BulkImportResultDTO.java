@@ -0,0 +1,62 @@
+package com.researchers_conicet.dto.bulk_import;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a streaming NDJSON import.
+ * Only the first MAX_REPORTED_ERRORS failures are listed, so the report
+ * stays small whatever the size of the file.
+ */
+@Data
+public class BulkImportResultDTO {
+
+    /** Failures listed individually; later ones are only counted */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    /** Non-blank lines read */
+    private int received;
+
+    /** Records saved */
+    private int imported;
+
+    /** Records rejected or lost with a failed chunk */
+    private int failed;
+
+    /** Transactions committed */
+    private int chunks;
+
+    /** true if more failures happened than are listed in errors */
+    private boolean errorsTruncated;
+
+    private List<RecordError> errors = new ArrayList<>();
+
+    /**
+     * Counts a failed record and lists it while there is room
+     */
+    public void addError(int line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RecordError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    /**
+     * Counts a committed chunk of records
+     */
+    public void addChunk(int size) {
+        chunks++;
+        imported += size;
+    }
+
+    /**
+     * A record that was not imported
+     *
+     * @param line Line number in the uploaded file, starting at 1
+     * @param message Why the record was not imported
+     */
+    public record RecordError(int line, String message) {}
+}
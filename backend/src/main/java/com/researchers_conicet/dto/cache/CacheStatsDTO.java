@@ -0,0 +1,29 @@
+package com.researchers_conicet.dto.cache;
+
+import lombok.Data;
+
+/**
+ * Counters of one read-through detail cache since startup
+ */
+@Data
+public class CacheStatsDTO {
+    private String name;
+
+    /** Approximate number of cached entries */
+    private long size;
+
+    private long hits;
+    private long misses;
+
+    /** Hits over all lookups, 1.0 when there were no lookups */
+    private double hitRatio;
+
+    /** Entries dropped because of the size bound or the TTL, explicit evictions excluded */
+    private long evictions;
+
+    /** Misses that went to the database */
+    private long loads;
+
+    /** Mean time spent loading an entry from the database, in milliseconds */
+    private double averageLoadMillis;
+}
@@ -0,0 +1,42 @@
+package com.researchers_conicet.dto.comment;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a comment inside a thread, with its replies nested below it.
+ * Support data is filled in by the service after the tree is built.
+ */
+@Data
+@NoArgsConstructor
+public class CommentTreeNodeDTO {
+    private Long id;
+    private String userName;
+    private String email;
+    private String content;
+    private Long parentId;
+    private int supportCount;
+
+    /** Whether the requesting email supports this comment, null when no email was given */
+    private Boolean supported;
+
+    private List<CommentTreeNodeDTO> replies = new ArrayList<>();
+
+    // Metadata
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructor used by the JPQL projection in CommentRepository.
+     */
+    public CommentTreeNodeDTO(Long id, String userName, String email, String content, Long parentId, LocalDateTime createdAt) {
+        this.id = id;
+        this.userName = userName;
+        this.email = email;
+        this.content = content;
+        this.parentId = parentId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.researchers_conicet.dto.email_verification;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a chunked bulk registration or removal
+ */
+@Data
+public class BulkEmailResultDTO {
+
+    /** Distinct emails received */
+    private int requested;
+
+    /** Rows inserted or deleted over all chunks */
+    private int affected;
+
+    private List<ChunkResult> chunks = new ArrayList<>();
+
+    /**
+     * Adds the result of one chunk and updates the totals
+     */
+    public void addChunk(int size, int affected) {
+        chunks.add(new ChunkResult(chunks.size(), size, affected));
+        this.requested += size;
+        this.affected += affected;
+    }
+
+    /**
+     * Result of a single statement
+     *
+     * @param index Position of the chunk, starting at 0
+     * @param size Emails sent in the chunk
+     * @param affected Rows inserted or deleted by the chunk
+     */
+    public record ChunkResult(int index, int size, int affected) {}
+}
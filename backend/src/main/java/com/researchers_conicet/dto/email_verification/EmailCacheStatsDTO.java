@@ -0,0 +1,24 @@
+package com.researchers_conicet.dto.email_verification;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Counters of the registered email cache
+ */
+@Data
+public class EmailCacheStatsDTO {
+    private boolean loaded;
+    private int size;
+
+    /** Lookups answered from memory with a registered email */
+    private long hits;
+
+    /** Lookups answered from memory with an unregistered email */
+    private long negativeHits;
+
+    /** Lookups that went to the database because the cache was not loaded yet */
+    private long misses;
+
+    private LocalDateTime lastRefresh;
+}
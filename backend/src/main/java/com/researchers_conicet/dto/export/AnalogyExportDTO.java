@@ -0,0 +1,41 @@
+package com.researchers_conicet.dto.export;
+
+import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One line of the analogy export: the row and all of its element collections.
+ * The scalar fields come from a JPQL constructor expression; the collections
+ * are filled afterwards, one query per collection for a whole chunk of analogies.
+ */
+@Data
+@NoArgsConstructor
+public class AnalogyExportDTO {
+
+    private Long id;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+    private int supportCount;
+    private Set<String> authors = new HashSet<>();
+    private Set<String> links = new HashSet<>();
+    private List<MediaLinkDTO> mediaLinks = new ArrayList<>();
+    private Set<String> supportEmails = new HashSet<>();
+
+    /**
+     * Constructor used by the repository export query
+     */
+    public AnalogyExportDTO(Long id, String title, String content, LocalDateTime createdAt, int supportCount) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.supportCount = supportCount;
+    }
+}
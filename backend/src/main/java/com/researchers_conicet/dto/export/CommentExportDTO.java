@@ -0,0 +1,39 @@
+package com.researchers_conicet.dto.export;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One line of the comment export: the comment, the ids it hangs from and its supports
+ */
+@Data
+@NoArgsConstructor
+public class CommentExportDTO {
+
+    private Long id;
+    private Long analogyId;
+    /** null for top-level comments */
+    private Long parentId;
+    private String userName;
+    private String email;
+    private String content;
+    private LocalDateTime createdAt;
+    private Set<String> supportEmails = new HashSet<>();
+
+    /**
+     * Constructor used by the repository export query
+     */
+    public CommentExportDTO(Long id, Long analogyId, Long parentId, String userName,
+                            String email, String content, LocalDateTime createdAt) {
+        this.id = id;
+        this.analogyId = analogyId;
+        this.parentId = parentId;
+        this.userName = userName;
+        this.email = email;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+}
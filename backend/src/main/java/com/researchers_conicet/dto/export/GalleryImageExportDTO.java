@@ -0,0 +1,13 @@
+package com.researchers_conicet.dto.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the gallery export
+ *
+ * @param url Firebase URL of the image
+ * @param caption Caption shown with the image
+ * @param createdAt When the image was added
+ */
+public record GalleryImageExportDTO(String url, String caption, LocalDateTime createdAt) {
+}
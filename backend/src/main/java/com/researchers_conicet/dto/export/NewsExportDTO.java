@@ -0,0 +1,38 @@
+package com.researchers_conicet.dto.export;
+
+import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One line of the news export: the article and all of its element collections
+ */
+@Data
+@NoArgsConstructor
+public class NewsExportDTO {
+
+    private Long id;
+    private String title;
+    private String content;
+    private String previewImage;
+    private LocalDateTime createdAt;
+    private Set<String> authors = new HashSet<>();
+    private Set<String> links = new HashSet<>();
+    private List<MediaLinkDTO> mediaLinks = new ArrayList<>();
+
+    /**
+     * Constructor used by the repository export query
+     */
+    public NewsExportDTO(Long id, String title, String content, String previewImage, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.previewImage = previewImage;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.researchers_conicet.dto.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the registered email export
+ *
+ * @param email The registered email
+ * @param username Display name, if one was set
+ * @param createdAt When the email was registered
+ */
+public record RegisteredEmailExportDTO(String email, String username, LocalDateTime createdAt) {
+}
@@ -0,0 +1,32 @@
+package com.researchers_conicet.dto.export;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One line of the research export: the research and its authors and links
+ */
+@Data
+@NoArgsConstructor
+public class ResearchExportDTO {
+
+    private Long id;
+    private String researchAbstract;
+    private String pdfPath;
+    private LocalDateTime createdAt;
+    private Set<String> authors = new HashSet<>();
+    private Set<String> links = new HashSet<>();
+
+    /**
+     * Constructor used by the repository export query
+     */
+    public ResearchExportDTO(Long id, String researchAbstract, String pdfPath, LocalDateTime createdAt) {
+        this.id = id;
+        this.researchAbstract = researchAbstract;
+        this.pdfPath = pdfPath;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,70 @@
+package com.researchers_conicet.dto.news;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Lightweight Data Transfer Object for news cards in list views.
+ * Built by a JPQL constructor expression without hydrating the entity.
+ */
+@Data
+@NoArgsConstructor
+public class NewsSummaryDTO {
+
+    /**
+     * Maximum number of content characters included in the excerpt.
+     */
+    public static final int EXCERPT_LENGTH = 200;
+
+    /**
+     * Unique identifier for the news article.
+     */
+    private Long id;
+
+    /**
+     * Title of the news article.
+     */
+    private String title;
+
+    /**
+     * Timestamp of news article creation.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Collection of authors associated with the news article.
+     */
+    private Set<String> authors = new HashSet<>();
+
+    /**
+     * Preview image for the news article (Firebase URL).
+     * Falls back to the first media link when none was chosen.
+     */
+    private String previewImage;
+
+    /**
+     * First {@link #EXCERPT_LENGTH} characters of the content.
+     */
+    private String excerpt;
+
+    /**
+     * Whether the content is longer than the excerpt.
+     */
+    private boolean truncated;
+
+    /**
+     * Constructor used by the repository projection query
+     */
+    public NewsSummaryDTO(Long id, String title, LocalDateTime createdAt,
+                          String previewImage, String excerpt, Integer contentLength) {
+        this.id = id;
+        this.title = title;
+        this.createdAt = createdAt;
+        this.previewImage = previewImage;
+        this.excerpt = excerpt;
+        this.truncated = contentLength != null && contentLength > EXCERPT_LENGTH;
+    }
+}
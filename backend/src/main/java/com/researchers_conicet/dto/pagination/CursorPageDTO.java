@@ -0,0 +1,77 @@
+package com.researchers_conicet.dto.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Data Transfer Object for a keyset (seek) paginated listing.
+ * Unlike {@link org.springframework.data.domain.Page}, it carries no totals,
+ * so producing it never requires a COUNT query.
+ *
+ * @param <T> Type of the listed elements
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /** Maximum number of elements a client may request per page */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Elements of the current page, newest first.
+     */
+    private List<T> content;
+
+    /**
+     * Opaque cursor to request the following page.
+     * Null when there are no more elements.
+     */
+    private String nextCursor;
+
+    /**
+     * Maximum number of elements requested for the page.
+     */
+    private int size;
+
+    /**
+     * Whether another page exists after this one.
+     */
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}.
+     * The extra row, if present, is only used to know that a next page exists.
+     *
+     * @param rows Rows fetched from the repository, at most {@code size + 1}
+     * @param size Requested page size
+     * @param position Extracts the keyset position of a row
+     * @param mapper Maps a row to its response DTO
+     * @return Page with the mapped rows and the cursor of the next page
+     */
+    public static <E, T> CursorPageDTO<T> of(
+        List<E> rows,
+        int size,
+        Function<E, KeysetCursor> position,
+        Function<E, T> mapper
+    ) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+            ? position.apply(pageRows.get(pageRows.size() - 1)).encode()
+            : null;
+
+        return new CursorPageDTO<>(
+            pageRows.stream().map(mapper).collect(Collectors.toList()),
+            nextCursor,
+            size
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.researchers_conicet.dto.research;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * DTO for research cards in list views
+ * Holds an abstract excerpt instead of the full text
+ */
+@Data
+@NoArgsConstructor
+public class ResearchSummaryDTO {
+
+    public static final int EXCERPT_LENGTH = 300;
+
+    private Long id;
+
+    // PDF public URL
+    private String pdfPath;
+
+    private LocalDateTime createdAt;
+
+    private Set<String> authors = new HashSet<>();
+
+    private String excerpt;
+    private boolean truncated;
+
+    public ResearchSummaryDTO(Long id, String pdfPath, LocalDateTime createdAt,
+                              String excerpt, Integer abstractLength) {
+        this.id = id;
+        this.pdfPath = pdfPath;
+        this.createdAt = createdAt;
+        this.excerpt = excerpt;
+        this.truncated = abstractLength != null && abstractLength > EXCERPT_LENGTH;
+    }
+}
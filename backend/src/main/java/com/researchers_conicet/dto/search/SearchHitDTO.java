@@ -0,0 +1,55 @@
+package com.researchers_conicet.dto.search;
+
+import com.researchers_conicet.search.SearchDocumentType;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One ranked result of the unified search.
+ * Everything is read from the search index, so listing results costs no database queries.
+ */
+@Data
+public class SearchHitDTO {
+
+    /**
+     * Maximum number of content characters included in the excerpt.
+     */
+    public static final int EXCERPT_LENGTH = 200;
+
+    /**
+     * Kind of publication the hit points to.
+     */
+    private SearchDocumentType type;
+
+    /**
+     * Identifier of the analogy, news article or research.
+     */
+    private Long id;
+
+    /**
+     * Title of the publication, null for researches.
+     */
+    private String title;
+
+    /**
+     * First {@link #EXCERPT_LENGTH} characters of the content or abstract.
+     */
+    private String excerpt;
+
+    /**
+     * Authors of the publication.
+     */
+    private Set<String> authors = new HashSet<>();
+
+    /**
+     * Timestamp of publication creation.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Relevance of the hit, higher is better.
+     */
+    private float score;
+}
@@ -0,0 +1,11 @@
+package com.researchers_conicet.dto.support;
+
+/**
+ * A buffered support toggle: the state an email last asked for on one analogy or comment
+ *
+ * @param targetId ID of the analogy or comment
+ * @param email The supporting email
+ * @param supported true to add the support, false to remove it
+ */
+public record SupportChange(Long targetId, String email, boolean supported) {
+}
@@ -0,0 +1,22 @@
+package com.researchers_conicet.dto.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the support state of one analogy or comment in a batch lookup
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupportStatusDTO {
+
+    /** Largest number of ids accepted by a single batch lookup */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private int count;
+
+    /** Whether the requested email supports the item, null when no email was given */
+    private Boolean supported;
+}
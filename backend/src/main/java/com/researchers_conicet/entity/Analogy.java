@@ -2,6 +2,10 @@ package com.researchers_conicet.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -12,21 +16,39 @@ import java.util.Set;
  * all information about an analogy box, including its relationships.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "analogies")
 @Data
 @Table(
     name = "analogies",
     indexes = {
-        @Index(name = "idx_analogy_created_at", columnList = "created_at")
+        @Index(name = "idx_analogy_created_at", columnList = "created_at"),
+        @Index(name = "idx_analogy_support_count", columnList = "support_count")
     }
 )
 public class Analogy {
+
+    /**
+     * Number of analogies whose element collections are initialized with a single
+     * SELECT ... WHERE owner_id IN (...), so that listing a page costs one query
+     * per collection instead of one per row.
+     */
+    private static final int COLLECTION_BATCH_SIZE = 100;
     
     /**
      * Unique identifier for the analogy.
-     * Auto-generated using database identity strategy.
+     * Allocated in blocks from the id_generators table (see {@link IdGenerators}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "analogy_ids")
+    @TableGenerator(
+        name = "analogy_ids",
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.SEGMENT_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.ANALOGIES,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     /**
@@ -50,14 +72,34 @@ public class Analogy {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Timestamp of the last change to the analogy.
+     * Set by Hibernate on every insert and update.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic lock version, increased on every update of the analogy
+     * or its collections so that concurrent edits cannot overwrite each other.
+     * Existing rows start at 0.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     /**
      * Collection of author names for this analogy.
      * Stored as simple strings in a separate table.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "analogy_authors")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "analogy_authors",
-        joinColumns = @JoinColumn(name = "analogy_id")
+        joinColumns = @JoinColumn(name = "analogy_id"),
+        indexes = @Index(name = "idx_analogy_author_name", columnList = "author_name")
     )
     @Column(name = "author_name")
     private Set<String> authors = new HashSet<>();
@@ -68,9 +110,12 @@ public class Analogy {
      * URL validation is handled in the frontend.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "analogy_links")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "analogy_links",
-        joinColumns = @JoinColumn(name = "analogy_id")
+        joinColumns = @JoinColumn(name = "analogy_id"),
+        indexes = @Index(name = "idx_analogy_link", columnList = "link")
     )
     @Column(name = "link")
     private Set<String> links = new HashSet<>();
@@ -81,6 +126,8 @@ public class Analogy {
      * Stored as embeddable objects with media type and URL.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "analogy_media_links")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "analogy_media_links",
         joinColumns = @JoinColumn(name = "analogy_id")
@@ -91,8 +138,11 @@ public class Analogy {
     /**
      * Collection of emails that have supported this analogy.
      * Prevents multiple supports from the same email.
+     * Loaded lazily: counts are read from {@link #supportCount} instead.
      */
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "analogy_supports")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "analogy_supports",
         joinColumns = @JoinColumn(name = "analogy_id"),
@@ -120,7 +170,18 @@ public class Analogy {
         return supportEmails.remove(email);
     }
 
-    @Transient
+    /**
+     * Denormalized number of rows in 'analogy_supports' for this analogy.
+     * Never written by Hibernate: it is maintained with atomic increments and
+     * decrements in the repository and repaired by the reconciliation job.
+     */
+    @Column(
+        name = "support_count",
+        nullable = false,
+        insertable = false,
+        updatable = false,
+        columnDefinition = "int default 0"
+    )
     private int supportCount;
     
     public Analogy() {
@@ -147,6 +208,8 @@ public class Analogy {
         this.content = analogy.content;
         this.title = analogy.title;
         this.createdAt = analogy.createdAt;
+        this.updatedAt = analogy.updatedAt;
+        this.version = analogy.version;
         this.authors = new HashSet<>(analogy.authors);
         this.links = new HashSet<>(analogy.links);
         this.supportEmails = new HashSet<>(analogy.supportEmails);
@@ -8,6 +8,7 @@ import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -22,13 +23,29 @@ import org.hibernate.annotations.OnDeleteAction;
     name = "comments",
     indexes = {
         @Index(name = "idx_comment_created_at", columnList = "created_at"),
-        @Index(name = "idx_comment_email", columnList = "email")
+        @Index(name = "idx_comment_analogy_created_at", columnList = "analogy_id, created_at"),
+        @Index(name = "idx_comment_email", columnList = "email"),
+        @Index(name = "idx_comment_root_created_at", columnList = "root_id, created_at")
     }
 )
 public class Comment {
+
+    /**
+     * Support emails of up to this many comments are loaded in one query
+     * when a page of comments is mapped.
+     */
+    private static final int COLLECTION_BATCH_SIZE = 100;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_ids")
+    @TableGenerator(
+        name = "comment_ids",
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.SEGMENT_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.COMMENTS,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(columnDefinition = "TEXT", nullable = false)
@@ -50,6 +67,13 @@ public class Comment {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Comment parent;
 
+    /**
+     * Top-level comment of the thread this reply belongs to; null for top-level comments.
+     * Lets the replies of a page of threads be read in one query whatever their depth.
+     */
+    @Column(name = "root_id")
+    private Long rootId;
+
     // 🔸 Referencing to analogy relationship: many comments can be included in the same analogy
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "analogy_id", nullable = false, foreignKey = @ForeignKey(name = "fk_commented_analogy"))
@@ -61,10 +85,12 @@ public class Comment {
      * Prevents multiple supports from the same email.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "comment_supports",
         joinColumns = @JoinColumn(name = "comment_id"),
-        uniqueConstraints = @UniqueConstraint(columnNames = {"comment_id", "support_email"})
+        uniqueConstraints = @UniqueConstraint(columnNames = {"comment_id", "support_email"}),
+        indexes = @Index(name = "idx_comment_support_email", columnList = "support_email")
     )
     @Column(name = "support_email")
     private Set<String> supportEmails = new HashSet<>();
@@ -102,10 +128,24 @@ public class Comment {
         this.email = comment.email;
         this.createdAt = comment.createdAt;
         this.parent = comment.parent != null ? new Comment(comment.parent) : null;
+        this.rootId = comment.rootId;
         this.analogy = new Analogy(comment.analogy);
         this.supportEmails = new HashSet<>(comment.supportEmails); // Copy support emails
     }
 
+    /**
+     * Sets the comment this one replies to, and with it the root of its thread.
+     * @param parent The parent comment, or null to make this a top-level comment
+     */
+    public void setParent(Comment parent) {
+        this.parent = parent;
+        if (parent == null) {
+            this.rootId = null;
+        } else {
+            this.rootId = parent.rootId != null ? parent.rootId : parent.id;
+        }
+    }
+
     /**
      * Adds a support email to the comment.
      * @param email The email to add to supports
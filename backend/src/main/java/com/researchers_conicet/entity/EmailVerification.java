@@ -2,9 +2,13 @@ package com.researchers_conicet.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "email_verifications")
 @Data
 @Table(name = "email_verifications")
 public class EmailVerification {
@@ -4,6 +4,9 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 /**
  * Entity representing a gallery image.
@@ -11,6 +14,8 @@ import lombok.Data;
  * all information about a gallery image, including its relationships.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "gallery_images")
 @Data
 @Table(
     name = "gallery_images",
@@ -38,6 +43,14 @@ public class GalleryImage {
      */
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * Timestamp of the last change to the image, e.g. a new caption.
+     * Set by Hibernate on every insert and update.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
     
     public GalleryImage() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,32 @@
+package com.researchers_conicet.entity;
+
+/**
+ * Settings shared by the table-based id generators of the publication entities.
+ * <p>
+ * Each entity keeps its next free id in one row of the 'id_generators' table and
+ * reserves {@link #ALLOCATION_SIZE} ids per round trip (pooled-lo optimizer), so
+ * Hibernate knows the ids before inserting and can send the inserts in JDBC batches.
+ * Unlike IDENTITY columns, which force one INSERT per row.
+ */
+public final class IdGenerators {
+
+    /** Table holding one row per entity with its next free id */
+    public static final String TABLE = "id_generators";
+
+    /** Column naming the entity a row belongs to */
+    public static final String SEGMENT_COLUMN = "entity";
+
+    /** Column holding the next id to hand out */
+    public static final String VALUE_COLUMN = "next_val";
+
+    /** Number of ids reserved per read of the generator table */
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String ANALOGIES = "analogies";
+    public static final String NEWS = "news";
+    public static final String RESEARCHES = "researches";
+    public static final String COMMENTS = "comments";
+
+    private IdGenerators() {
+    }
+}
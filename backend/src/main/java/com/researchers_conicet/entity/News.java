@@ -2,6 +2,10 @@ package com.researchers_conicet.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -12,6 +16,8 @@ import java.util.Set;
  * all information about a news article, including its relationships.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "news")
 @Data
 @Table(
     name = "news", // Cambié el nombre de la tabla a 'ne
@@ -21,12 +27,26 @@ import java.util.Set;
 )
 public class News {
 
+    /**
+     * Authors, links and media links of up to this many news articles
+     * are fetched together when a page of news is listed.
+     */
+    private static final int COLLECTION_BATCH_SIZE = 100;
+
     /**
      * Unique identifier for the news article.
-     * Auto-generated using database identity strategy.
+     * Allocated in blocks from the id_generators table (see {@link IdGenerators}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "news_ids")
+    @TableGenerator(
+        name = "news_ids",
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.SEGMENT_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.NEWS,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     /**
@@ -50,14 +70,34 @@ public class News {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Timestamp of the last change to the news article.
+     * Set by Hibernate on every insert and update.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic lock version, increased on every update of the news article
+     * or its collections so that concurrent edits cannot overwrite each other.
+     * Existing rows start at 0.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     /**
      * Collection of author names for this news article.
      * Stored as simple strings in a separate table.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "new_authors")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "new_authors", // Cambié el nombre de la tabla de 'news_authors' a 'new_authors'
-        joinColumns = @JoinColumn(name = "new_id")
+        joinColumns = @JoinColumn(name = "new_id"),
+        indexes = @Index(name = "idx_new_author_name", columnList = "author_name")
     )
     @Column(name = "author_name")
     private Set<String> authors = new HashSet<>();
@@ -68,9 +108,12 @@ public class News {
      * URL validation is handled in the frontend.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "new_links")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "new_links", // Cambié el nombre de la tabla de 'news_links' a 'new_links'
-        joinColumns = @JoinColumn(name = "new_id")
+        joinColumns = @JoinColumn(name = "new_id"),
+        indexes = @Index(name = "idx_new_link", columnList = "link")
     )
     @Column(name = "link")
     private Set<String> links = new HashSet<>();
@@ -80,6 +123,8 @@ public class News {
      * Stored as embeddable objects with media type and URL.
      */
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "new_media_links")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "new_media_links", // Cambié el nombre de la tabla de 'news_media_links' a 'new_media_links'
         joinColumns = @JoinColumn(name = "new_id")
@@ -119,6 +164,8 @@ public class News {
         this.content = news.content;
         this.title = news.title;
         this.createdAt = news.createdAt;
+        this.updatedAt = news.updatedAt;
+        this.version = news.version;
         this.authors = new HashSet<>(news.authors);
         this.links = new HashSet<>(news.links);
         this.previewImage = news.previewImage;
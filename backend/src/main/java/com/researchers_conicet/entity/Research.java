@@ -3,6 +3,10 @@ package com.researchers_conicet.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.AssertTrue;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -14,6 +18,8 @@ import java.util.Set;
  * Contains all information about a research paper, including optional PDF file and required relationships.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "researches")
 @Data
 @Table(
     name = "researches",
@@ -23,8 +29,19 @@ import java.util.Set;
 )
 public class Research {
 
+    /** Batch size used to initialize authors and links of several researches at once */
+    private static final int COLLECTION_BATCH_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "research_ids")
+    @TableGenerator(
+        name = "research_ids",
+        table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.SEGMENT_COLUMN,
+        valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.RESEARCHES,
+        allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
 
     /**
@@ -48,15 +65,35 @@ public class Research {
     @Column(name = "created_at", updatable = false, nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Timestamp of the last change to the research.
+     * Set by Hibernate on every insert and update.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic lock version, increased on every update of the research
+     * or its collections so that concurrent edits cannot overwrite each other.
+     * Existing rows start at 0.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     /**
      * Collection of author names for this research.
      * Required field stored as strings in a separate table.
      * At least one author is required.
      */
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "research_authors")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "research_authors",
-        joinColumns = @JoinColumn(name = "research_id")
+        joinColumns = @JoinColumn(name = "research_id"),
+        indexes = @Index(name = "idx_research_author_name", columnList = "author_name")
     )
     @Column(name = "author_name", nullable = false)
     private Set<String> authors = new HashSet<>();
@@ -68,9 +105,12 @@ public class Research {
      * URL validation is handled in the service layer.
      */
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "research_links")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @CollectionTable(
         name = "research_links",
-        joinColumns = @JoinColumn(name = "research_id")
+        joinColumns = @JoinColumn(name = "research_id"),
+        indexes = @Index(name = "idx_research_link", columnList = "link")
     )
     @Column(name = "link")
     private Set<String> links = new HashSet<>();
@@ -0,0 +1,11 @@
+package com.researchers_conicet.exception;
+
+/**
+ * Thrown when a request waits longer than allowed for a slot of the request
+ * concurrency limit. Clients should retry shortly.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.researchers_conicet.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -76,6 +78,55 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handles SupportBufferFullException
+     * Triggered when support clicks arrive faster than they can be written
+     * Returns HTTP 503 SERVICE_UNAVAILABLE with a Retry-After hint
+     */
+    @ExceptionHandler(SupportBufferFullException.class)
+    public ResponseEntity<ApiError> handleSupportBufferFullException(SupportBufferFullException ex) {
+        ApiError error = new ApiError(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    /**
+     * Handles ConcurrencyLimitExceededException
+     * Triggered when a request waits too long for a slot of the concurrency limit
+     * Returns HTTP 503 SERVICE_UNAVAILABLE with a Retry-After hint
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ApiError> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException ex) {
+        ApiError error = new ApiError(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException
+     * Triggered when a publication was changed by someone else while it was being edited
+     * Returns HTTP 409 CONFLICT
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ApiError error = new ApiError(
+            HttpStatus.CONFLICT.value(),
+            "The resource was modified concurrently, reload it and try again",
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles all other unhandled exceptions
      * Acts as a catch-all for unexpected errors
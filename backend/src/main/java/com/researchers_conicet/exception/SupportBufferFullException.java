@@ -0,0 +1,11 @@
+package com.researchers_conicet.exception;
+
+/**
+ * Thrown when the write-behind support buffer stays full for longer than
+ * the caller is allowed to wait. Clients should retry shortly.
+ */
+public class SupportBufferFullException extends RuntimeException {
+    public SupportBufferFullException(String message) {
+        super(message);
+    }
+}
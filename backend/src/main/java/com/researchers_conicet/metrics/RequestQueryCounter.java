@@ -0,0 +1,97 @@
+package com.researchers_conicet.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Counts the SQL statements Hibernate prepares, the entities it loads and the
+ * collections it initializes on the current thread. Hibernate's own statistics only
+ * hold process-wide totals; these counts belong to one web request, which
+ * {@link RequestQueryMetricsFilter} opens and records. Outside a request nothing is counted.
+ */
+public final class RequestQueryCounter implements StatementInspector, PostLoadEventListener,
+        InitializeCollectionEventListener, Integrator {
+
+    /** Counts of one request; only touched by the thread serving it */
+    public static final class Counts {
+        private int statements;
+        private int entityLoads;
+        private int collectionFetches;
+
+        public int statements() {
+            return statements;
+        }
+
+        public int entityLoads() {
+            return entityLoads;
+        }
+
+        public int collectionFetches() {
+            return collectionFetches;
+        }
+    }
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Starts counting for the request served by the current thread
+     */
+    static Counts start() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.collectionFetches++;
+        }
+    }
+
+    /**
+     * Appends the load listeners after Hibernate's own, once the session factory is built
+     */
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, this);
+        listeners.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
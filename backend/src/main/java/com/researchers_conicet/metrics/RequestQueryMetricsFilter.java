@@ -0,0 +1,64 @@
+package com.researchers_conicet.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how much Hibernate work each API request caused, per route:
+ * hibernate.request.statements, hibernate.request.entity.loads and
+ * hibernate.request.collection.fetches. The route is the matched URI template,
+ * as in http.server.requests, so ids do not multiply the series.
+ */
+@Component
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    /** Tag value of requests that never reached a controller, e.g. cached responses */
+    private static final String NO_ROUTE = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    public RequestQueryMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryCounter.Counts counts = RequestQueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : NO_ROUTE;
+            summary("hibernate.request.statements", "SQL statements prepared", request, uri)
+                .record(counts.statements());
+            summary("hibernate.request.entity.loads", "Entities loaded", request, uri)
+                .record(counts.entityLoads());
+            summary("hibernate.request.collection.fetches", "Collections initialized", request, uri)
+                .record(counts.collectionFetches());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+            .description(description + " per request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry);
+    }
+}
@@ -1,22 +1,42 @@
 package com.researchers_conicet.repository;
 
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.dto.analogy.AnalogySummaryDTO;
+import com.researchers_conicet.dto.export.AnalogyExportDTO;
 import com.researchers_conicet.entity.Analogy;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Analogy entity.
  * Extends JpaRepository to inherit basic CRUD operations and provides custom query methods.
  */
 @Repository
-public interface AnalogyRepository extends JpaRepository<Analogy, Long> {
+public interface AnalogyRepository extends JpaRepository<Analogy, Long>, AnalogyRepositoryCustom {
+
+    /**
+     * Query space of the per-click support statements. No cache region maps to it,
+     * so a click does not clear the analogy regions; the service evicts the one
+     * analogy it touched instead.
+     */
+    String SUPPORT_CLICK_SPACE = "analogy_support_clicks";
 
     /**
      * Searches in the title text, case insensitive
@@ -47,15 +67,30 @@ public interface AnalogyRepository extends JpaRepository<Analogy, Long> {
     
     /**
      * Finds all analogies created today
-     * Uses database's current date for comparison
+     * Compares created_at against the bounds of the day rather than DATE(created_at),
+     * so that the index on created_at is used. created_at is written from the
+     * application clock, which is also the clock the bounds come from
+     */
+    default List<Analogy> findTodayAnalogies() {
+        LocalDate today = LocalDate.now();
+        return findCreatedInRange(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Finds analogies created at or after start and before end
      */
-    @Query("SELECT a FROM Analogy a WHERE DATE(a.createdAt) = CURRENT_DATE")
-    List<Analogy> findTodayAnalogies();
+    @Query("SELECT a FROM Analogy a WHERE a.createdAt >= :start AND a.createdAt < :end")
+    List<Analogy> findCreatedInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     /**
      * Returns the most recent analogies
      * Number of results limited by pageable parameter
+     * Ids are kept in the query cache, the analogies themselves in the entity cache
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.LATEST_PUBLICATIONS_REGION)
+    })
     @Query("SELECT a FROM Analogy a ORDER BY a.createdAt DESC")
     List<Analogy> findLatestAnalogies(Pageable pageable);
 
@@ -67,24 +102,19 @@ public interface AnalogyRepository extends JpaRepository<Analogy, Long> {
     List<Analogy> findByLink(@Param("url") String url);
 
     /**
-     * Finds analogies with links containing a specific domain
+     * Finds analogies with links to a specific domain
      * Example: Finding all analogies with links to "nature.com"
+     * Only links starting with http(s)://domain or http(s)://www.domain match: prefixes
+     * can be looked up in the index on link, a domain anywhere in the URL cannot.
+     * Matching stays case-insensitive through the column collation
      */
     @Query("SELECT a FROM Analogy a JOIN a.links link " +
-           "WHERE LOWER(link) LIKE LOWER(CONCAT('%', :domain, '%'))")
+           "WHERE link LIKE CONCAT('https://', :domain, '%') " +
+           "OR link LIKE CONCAT('https://www.', :domain, '%') " +
+           "OR link LIKE CONCAT('http://', :domain, '%') " +
+           "OR link LIKE CONCAT('http://www.', :domain, '%')")
     List<Analogy> findByLinkDomain(@Param("domain") String domain);
 
-    /**
-     * Full text search across title and authors
-     * Most comprehensive search method
-     * Example: Searching for "climate" would find it in title or authors
-     */
-    @Query("SELECT DISTINCT a FROM Analogy a " +
-           "LEFT JOIN a.authors author " +
-           "WHERE LOWER(a.title) LIKE LOWER(CONCAT('%', :term, '%')) OR " +
-           "LOWER(author) LIKE LOWER(CONCAT('%', :term, '%'))")
-    List<Analogy> searchEverywhere(@Param("term") String term);
-
     /**
      * Counts analogies with more than X authors
      * Useful for finding collaborative analogy papers
@@ -111,7 +141,7 @@ public interface AnalogyRepository extends JpaRepository<Analogy, Long> {
      * Finds analogies sorted by support count in descending order
      * Useful for displaying most supported analogies
      */
-    @Query("SELECT a FROM Analogy a ORDER BY SIZE(a.supportEmails) DESC")
+    @Query("SELECT a FROM Analogy a ORDER BY a.supportCount DESC")
     List<Analogy> findMostSupportedAnalogies(Pageable pageable);
 
     /**
@@ -132,4 +162,211 @@ public interface AnalogyRepository extends JpaRepository<Analogy, Long> {
      */
     @Query("SELECT COUNT(DISTINCT email) FROM Analogy a JOIN a.supportEmails email WHERE a.id = :analogyId")
     int countSupportsByAnalogyId(@Param("analogyId") Long analogyId);
-}
\ No newline at end of file
+
+    /**
+     * Reads the denormalized support counter of an analogy
+     * Does not touch the 'analogy_supports' table
+     *
+     * @param analogyId The ID of the analogy
+     * @return The stored support count, empty if the analogy does not exist
+     */
+    @Query("SELECT a.supportCount FROM Analogy a WHERE a.id = :analogyId")
+    Optional<Integer> findSupportCountById(@Param("analogyId") Long analogyId);
+
+    /**
+     * Returns the emails that have supported an analogy without loading the entity
+     *
+     * @param analogyId The ID of the analogy
+     * @return Set of support emails
+     */
+    @Query("SELECT email FROM Analogy a JOIN a.supportEmails email WHERE a.id = :analogyId")
+    Set<String> findSupportEmailsById(@Param("analogyId") Long analogyId);
+
+    /**
+     * Locks the row of an analogy until the end of the transaction
+     * Support toggles take this lock first, so concurrent ones on the same analogy
+     * queue up instead of deadlocking between the support row and the counter
+     *
+     * @param analogyId The ID of the analogy
+     * @return The ID, empty if the analogy does not exist
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "analogies"))
+    @Query(value = "SELECT id FROM analogies WHERE id = :analogyId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("analogyId") Long analogyId);
+
+    /**
+     * Inserts a single support row for an analogy, doing nothing if it already exists
+     *
+     * @param analogyId The ID of the analogy
+     * @param email The supporting email
+     * @return Number of inserted rows (0 if the email had already supported the analogy)
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUPPORT_CLICK_SPACE))
+    @Query(value = "INSERT IGNORE INTO analogy_supports (analogy_id, support_email) VALUES (:analogyId, :email)",
+           nativeQuery = true)
+    int insertSupport(@Param("analogyId") Long analogyId, @Param("email") String email);
+
+    /**
+     * Deletes a single support row for an analogy
+     *
+     * @param analogyId The ID of the analogy
+     * @param email The supporting email
+     * @return Number of deleted rows (0 if the email had not supported the analogy)
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUPPORT_CLICK_SPACE))
+    @Query(value = "DELETE FROM analogy_supports WHERE analogy_id = :analogyId AND support_email = :email",
+           nativeQuery = true)
+    int deleteSupport(@Param("analogyId") Long analogyId, @Param("email") String email);
+
+    /**
+     * Atomically increments the support counter of an analogy
+     *
+     * @param analogyId The ID of the analogy
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUPPORT_CLICK_SPACE))
+    @Query(value = "UPDATE analogies SET support_count = support_count + 1 WHERE id = :analogyId",
+           nativeQuery = true)
+    int incrementSupportCount(@Param("analogyId") Long analogyId);
+
+    /**
+     * Atomically decrements the support counter of an analogy, never below zero
+     *
+     * @param analogyId The ID of the analogy
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SUPPORT_CLICK_SPACE))
+    @Query(value = "UPDATE analogies SET support_count = support_count - 1 " +
+                   "WHERE id = :analogyId AND support_count > 0",
+           nativeQuery = true)
+    int decrementSupportCount(@Param("analogyId") Long analogyId);
+
+    /**
+     * Repairs support counters that drifted from the 'analogy_supports' table
+     *
+     * @return Number of analogies whose counter was corrected
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "analogies"))
+    @Query(value = "UPDATE analogies a " +
+                   "LEFT JOIN (SELECT analogy_id, COUNT(*) AS total FROM analogy_supports GROUP BY analogy_id) s " +
+                   "ON s.analogy_id = a.id " +
+                   "SET a.support_count = COALESCE(s.total, 0) " +
+                   "WHERE a.support_count <> COALESCE(s.total, 0)",
+           nativeQuery = true)
+    int reconcileSupportCounts();
+
+    /**
+     * Returns the first page of a keyset listing, newest first
+     * Ordered by creation date with the id as tie-breaker, no count query is run
+     */
+    @Query("SELECT a FROM Analogy a ORDER BY a.createdAt DESC, a.id DESC")
+    List<Analogy> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Returns the page of a keyset listing that follows the given position
+     * Seeks on idx_analogy_created_at instead of skipping rows with an offset
+     */
+    @Query("SELECT a FROM Analogy a " +
+           "WHERE a.createdAt <= :createdAt " +
+           "AND (a.createdAt < :createdAt OR a.id < :id) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Analogy> findKeysetPageAfter(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Paginated card view of analogies built by the database
+     * Only the scalar columns and a content excerpt are read
+     */
+    @Query(value = "SELECT new com.researchers_conicet.dto.analogy.AnalogySummaryDTO(" +
+                   "a.id, a.title, a.createdAt, a.supportCount, " +
+                   "SUBSTRING(a.content, 1, " + AnalogySummaryDTO.EXCERPT_LENGTH + "), LENGTH(a.content)) " +
+                   "FROM Analogy a",
+           countQuery = "SELECT COUNT(a) FROM Analogy a")
+    Page<AnalogySummaryDTO> findSummaries(Pageable pageable);
+
+    /**
+     * Returns (analogy id, author name) pairs for a set of analogies
+     * Used to fill the authors of a page of summaries in one query
+     */
+    @Query("SELECT a.id, author FROM Analogy a JOIN a.authors author WHERE a.id IN :ids")
+    List<Object[]> findAuthorsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns (analogy id, image url) pairs with one image link of each analogy,
+     * the smallest url when there are several; videos and other media are skipped
+     * Used as the preview image of summaries
+     */
+    @Query("SELECT a.id, MIN(media.url) FROM Analogy a JOIN a.mediaLinks media " +
+           "WHERE a.id IN :ids AND media.mediaType LIKE 'image%' GROUP BY a.id")
+    List<Object[]> findPreviewImageUrlsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns the stored support counts of several analogies.
+     * Unknown ids are absent from the result.
+     *
+     * @param analogyIds The IDs of the analogies
+     * @return Pairs of [analogy ID, support count]
+     */
+    @Query("SELECT a.id, a.supportCount FROM Analogy a WHERE a.id IN :analogyIds")
+    List<Object[]> findSupportCountsByIds(@Param("analogyIds") Collection<Long> analogyIds);
+
+    /**
+     * Returns the stored support counts of several analogies together with
+     * whether an email supports each of them, in one grouped query.
+     * Unknown ids are absent from the result.
+     *
+     * @param analogyIds The IDs of the analogies
+     * @param email The email to check
+     * @return Triples of [analogy ID, support count, 1 if supported by the email else 0]
+     */
+    @Query("SELECT a.id, a.supportCount, COUNT(e) FROM Analogy a " +
+           "LEFT JOIN a.supportEmails e ON e = :email " +
+           "WHERE a.id IN :analogyIds GROUP BY a.id, a.supportCount")
+    List<Object[]> findSupportStatusByIds(
+        @Param("analogyIds") Collection<Long> analogyIds,
+        @Param("email") String email
+    );
+
+    /**
+     * Streams every analogy row for the export, in id order, without
+     * loading entities. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.researchers_conicet.dto.export.AnalogyExportDTO(" +
+           "a.id, a.title, a.content, a.createdAt, a.supportCount) FROM Analogy a ORDER BY a.id")
+    Stream<AnalogyExportDTO> streamAllForExport();
+
+    /**
+     * Returns (analogy id, link) pairs for a set of analogies
+     */
+    @Query("SELECT a.id, link FROM Analogy a JOIN a.links link WHERE a.id IN :ids")
+    List<Object[]> findLinksByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns (analogy id, media url, media type) triples for a set of analogies
+     */
+    @Query("SELECT a.id, media.url, media.mediaType FROM Analogy a JOIN a.mediaLinks media WHERE a.id IN :ids")
+    List<Object[]> findMediaLinksByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns (analogy id, support email) pairs for a set of analogies
+     */
+    @Query("SELECT a.id, e FROM Analogy a JOIN a.supportEmails e WHERE a.id IN :ids")
+    List<Object[]> findSupportEmailsByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,24 @@
+package com.researchers_conicet.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.researchers_conicet.dto.support.SupportChange;
+
+/**
+ * Batched support writes on analogies that Spring Data cannot derive.
+ * Implemented by {@link AnalogyRepositoryImpl}.
+ */
+public interface AnalogyRepositoryCustom {
+
+    /**
+     * Applies a set of support toggles with JDBC batches and recomputes the
+     * support counters of the analogies involved.
+     * Adding an existing support or removing a missing one changes nothing,
+     * and toggles on analogies that no longer exist are skipped.
+     *
+     * @param changes At most one change per (analogy, email)
+     * @return IDs of the analogies whose supports were written
+     */
+    List<Long> applySupportChanges(Collection<SupportChange> changes);
+}
@@ -0,0 +1,78 @@
+package com.researchers_conicet.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.researchers_conicet.dto.support.SupportChange;
+
+/**
+ * JDBC implementation of {@link AnalogyRepositoryCustom}.
+ * Runs inside the caller's JPA transaction.
+ */
+public class AnalogyRepositoryImpl implements AnalogyRepositoryCustom {
+
+    /** Analogy ids sent in one IN list */
+    private static final int ID_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalogyRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> applySupportChanges(Collection<SupportChange> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = changes.stream().map(SupportChange::targetId).distinct().sorted().toList();
+
+        // Lock the analogy rows in id order before touching analogy_supports, like the
+        // synchronous toggles do, so the two paths cannot deadlock each other
+        for (List<Long> chunk : chunks(ids)) {
+            jdbcTemplate.queryForList(
+                "SELECT id FROM analogies WHERE id IN (" + placeholders(chunk) + ") ORDER BY id FOR UPDATE",
+                Long.class, chunk.toArray());
+        }
+
+        jdbcTemplate.batchUpdate(
+            "INSERT IGNORE INTO analogy_supports (analogy_id, support_email) VALUES (?, ?)",
+            changes.stream().filter(SupportChange::supported)
+                .map(change -> new Object[] {change.targetId(), change.email()}).toList());
+        jdbcTemplate.batchUpdate(
+            "DELETE FROM analogy_supports WHERE analogy_id = ? AND support_email = ?",
+            changes.stream().filter(change -> !change.supported())
+                .map(change -> new Object[] {change.targetId(), change.email()}).toList());
+
+        // Batched INSERT IGNORE does not reliably report which rows were new,
+        // so the counters are recomputed from the rows instead of adjusted
+        for (List<Long> chunk : chunks(ids)) {
+            jdbcTemplate.update(
+                "UPDATE analogies a SET a.support_count = " +
+                "(SELECT COUNT(*) FROM analogy_supports s WHERE s.analogy_id = a.id) " +
+                "WHERE a.id IN (" + placeholders(chunk) + ")",
+                chunk.toArray());
+        }
+        return ids;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        if (ids.size() <= ID_CHUNK_SIZE) {
+            return List.of(ids);
+        }
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(start, Math.min(start + ID_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return String.join(",", Collections.nCopies(ids.size(), "?"));
+    }
+}
@@ -1,21 +1,31 @@
 package com.researchers_conicet.repository;
 
+import com.researchers_conicet.dto.comment.CommentTreeNodeDTO;
+import com.researchers_conicet.dto.export.CommentExportDTO;
 import com.researchers_conicet.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
 
 
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
 
     /**
      * Returns a comment by its ID and by its specific analogy ID.
@@ -85,10 +95,24 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     
     /**
      * Finds all comments created today within a specific analogy
-     * Uses database's current date for comparison
+     * Compares created_at against the bounds of the day rather than DATE(created_at),
+     * so that idx_comment_analogy_created_at is used
      */
-    @Query("SELECT c FROM Comment c WHERE DATE(c.createdAt) = CURRENT_DATE AND c.analogy.id = :analogyID")
-    List<Comment> findTodayCommentsByAnalogy(@Param("analogyID") Long analogyID);
+    default List<Comment> findTodayCommentsByAnalogy(Long analogyID) {
+        LocalDate today = LocalDate.now();
+        return findByAnalogyCreatedInRange(analogyID, today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Finds comments of an analogy created at or after start and before end
+     */
+    @Query("SELECT c FROM Comment c WHERE c.analogy.id = :analogyId " +
+           "AND c.createdAt >= :start AND c.createdAt < :end")
+    List<Comment> findByAnalogyCreatedInRange(
+        @Param("analogyId") Long analogyId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
     
     /**
      * Returns all comments created within a specific date range.
@@ -193,9 +217,12 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     /**
      * Finds comments sorted by support count in descending order
      * Useful for displaying most supported comments
+     * Counts the supports in one join over the analogy's comments instead of a
+     * correlated subquery per comment
      * @param analogyId The ID of the analogy for which find comments
      */
-    @Query("SELECT c FROM Comment c WHERE c.analogy.id = :analogyId ORDER BY SIZE(c.supportEmails) DESC")
+    @Query("SELECT c FROM Comment c LEFT JOIN c.supportEmails e " +
+           "WHERE c.analogy.id = :analogyId GROUP BY c.id ORDER BY COUNT(e) DESC")
     List<Comment> findMostSupportedCommentsByAnalogyId(Pageable pageable, @Param("analogyId") Long analogyId);
 
     /**
@@ -220,4 +247,153 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c.id FROM Comment c JOIN c.supportEmails e WHERE e = :email")
     List<Long> findSupportedCommentIdsByEmail(@Param("email") String email);
 
-}
\ No newline at end of file
+    /**
+     * Inserts a single support row for a comment in one statement.
+     * Does nothing if the email already supports the comment or the comment does not exist,
+     * so repeated or concurrent calls never fail on the unique constraint.
+     *
+     * @param commentId the ID of the comment
+     * @param email the supporting email
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_supports"))
+    @Query(value = "INSERT IGNORE INTO comment_supports (comment_id, support_email) " +
+                   "SELECT c.id, :email FROM comments c WHERE c.id = :commentId",
+           nativeQuery = true)
+    int insertSupport(@Param("commentId") Long commentId, @Param("email") String email);
+
+    /**
+     * Deletes a single support row for a comment.
+     *
+     * @param commentId the ID of the comment
+     * @param email the supporting email
+     * @return the number of deleted rows (0 if the email had not supported the comment)
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_supports"))
+    @Query(value = "DELETE FROM comment_supports WHERE comment_id = :commentId AND support_email = :email",
+           nativeQuery = true)
+    int deleteSupport(@Param("commentId") Long commentId, @Param("email") String email);
+
+    /**
+     * Returns a page of root comments of an analogy as tree nodes,
+     * without loading the entities or their support emails.
+     *
+     * @param analogyId the ID of the analogy
+     * @param pageable  the pagination information
+     * @return a page of root-level tree nodes
+     */
+    @Query(
+        value = "SELECT new com.researchers_conicet.dto.comment.CommentTreeNodeDTO(" +
+                "c.id, c.userName, c.email, c.content, c.parent.id, c.createdAt) " +
+                "FROM Comment c WHERE c.analogy.id = :analogyId AND c.parent IS NULL",
+        countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.analogy.id = :analogyId AND c.parent IS NULL"
+    )
+    Page<CommentTreeNodeDTO> findRootNodesByAnalogyId(@Param("analogyId") Long analogyId, Pageable pageable);
+
+    /**
+     * Returns every reply in the threads of several top-level comments as tree nodes,
+     * oldest first, in one query whatever the depth of the threads.
+     *
+     * @param rootIds the IDs of the top-level comments
+     * @return the replies of those threads
+     */
+    @Query("SELECT new com.researchers_conicet.dto.comment.CommentTreeNodeDTO(" +
+           "c.id, c.userName, c.email, c.content, c.parent.id, c.createdAt) " +
+           "FROM Comment c WHERE c.rootId IN :rootIds " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentTreeNodeDTO> findReplyNodesByRootIds(@Param("rootIds") Collection<Long> rootIds);
+
+    /**
+     * Returns the IDs of the direct replies of several comments.
+     *
+     * @param parentIds the IDs of the parent comments
+     * @return the IDs of their replies
+     */
+    @Query("SELECT c.id FROM Comment c WHERE c.parent.id IN :parentIds")
+    List<Long> findIdsByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    /**
+     * Moves several replies to the thread of another top-level comment.
+     *
+     * @param commentIds the IDs of the replies
+     * @param rootId the ID of the top-level comment of their new thread
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Comment c SET c.rootId = :rootId WHERE c.id IN :commentIds")
+    int updateRootIds(@Param("commentIds") Collection<Long> commentIds, @Param("rootId") Long rootId);
+
+    /**
+     * Counts the supports of several comments in a single grouped query.
+     * Comments without supports are absent from the result.
+     *
+     * @param commentIds the IDs of the comments
+     * @return pairs of [comment ID, support count]
+     */
+    @Query("SELECT c.id, COUNT(e) FROM Comment c JOIN c.supportEmails e WHERE c.id IN :commentIds GROUP BY c.id")
+    List<Object[]> countSupportsByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    /**
+     * Returns which of the given comments have been supported by an email.
+     *
+     * @param email      the email to check
+     * @param commentIds the IDs of the comments
+     * @return the IDs of the supported comments
+     */
+    @Query("SELECT c.id FROM Comment c JOIN c.supportEmails e WHERE e = :email AND c.id IN :commentIds")
+    List<Long> findSupportedCommentIdsByEmailAndIds(
+        @Param("email") String email,
+        @Param("commentIds") Collection<Long> commentIds
+    );
+
+    /**
+     * Counts the supports of several comments in one grouped query,
+     * reporting 0 for comments without supports. Unknown ids are absent.
+     *
+     * @param commentIds the IDs of the comments
+     * @return pairs of [comment ID, support count]
+     */
+    @Query("SELECT c.id, COUNT(e) FROM Comment c LEFT JOIN c.supportEmails e " +
+           "WHERE c.id IN :commentIds GROUP BY c.id")
+    List<Object[]> findSupportCountsByIds(@Param("commentIds") Collection<Long> commentIds);
+
+    /**
+     * Counts the supports of several comments and checks whether an email
+     * supports each of them, in one grouped query. Unknown ids are absent.
+     *
+     * @param commentIds the IDs of the comments
+     * @param email      the email to check
+     * @return triples of [comment ID, support count, number of supports by the email]
+     */
+    @Query("SELECT c.id, COUNT(e), SUM(CASE WHEN e = :email THEN 1 ELSE 0 END) " +
+           "FROM Comment c LEFT JOIN c.supportEmails e " +
+           "WHERE c.id IN :commentIds GROUP BY c.id")
+    List<Object[]> findSupportStatusByIds(
+        @Param("commentIds") Collection<Long> commentIds,
+        @Param("email") String email
+    );
+
+    /**
+     * Streams every comment row for the export, in id order, without
+     * loading entities. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.researchers_conicet.dto.export.CommentExportDTO(" +
+           "c.id, c.analogy.id, p.id, c.userName, c.email, c.content, c.createdAt) " +
+           "FROM Comment c LEFT JOIN c.parent p ORDER BY c.id")
+    Stream<CommentExportDTO> streamAllForExport();
+
+    /**
+     * Returns (comment id, support email) pairs for a set of comments
+     */
+    @Query("SELECT c.id, e FROM Comment c JOIN c.supportEmails e WHERE c.id IN :ids")
+    List<Object[]> findSupportEmailsByIds(@Param("ids") Collection<Long> ids);
+}
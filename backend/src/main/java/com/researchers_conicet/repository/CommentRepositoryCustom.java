@@ -0,0 +1,21 @@
+package com.researchers_conicet.repository;
+
+import java.util.Collection;
+
+import com.researchers_conicet.dto.support.SupportChange;
+
+/**
+ * Batched support writes on comments that Spring Data cannot derive.
+ * Implemented by {@link CommentRepositoryImpl}.
+ */
+public interface CommentRepositoryCustom {
+
+    /**
+     * Applies a set of support toggles with JDBC batches.
+     * Adding an existing support or removing a missing one changes nothing,
+     * and toggles on comments that no longer exist are skipped.
+     *
+     * @param changes At most one change per (comment, email)
+     */
+    void applySupportChanges(Collection<SupportChange> changes);
+}
@@ -0,0 +1,37 @@
+package com.researchers_conicet.repository;
+
+import java.util.Collection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.researchers_conicet.dto.support.SupportChange;
+
+/**
+ * JDBC implementation of {@link CommentRepositoryCustom}.
+ * Runs inside the caller's JPA transaction.
+ */
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applySupportChanges(Collection<SupportChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+            "INSERT IGNORE INTO comment_supports (comment_id, support_email) " +
+            "SELECT c.id, ? FROM comments c WHERE c.id = ?",
+            changes.stream().filter(SupportChange::supported)
+                .map(change -> new Object[] {change.email(), change.targetId()}).toList());
+        jdbcTemplate.batchUpdate(
+            "DELETE FROM comment_supports WHERE comment_id = ? AND support_email = ?",
+            changes.stream().filter(change -> !change.supported())
+                .map(change -> new Object[] {change.targetId(), change.email()}).toList());
+    }
+}
@@ -1,5 +1,6 @@
 package com.researchers_conicet.repository;
 
+import com.researchers_conicet.dto.export.RegisteredEmailExportDTO;
 import com.researchers_conicet.entity.EmailVerification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -7,12 +8,17 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.lang.NonNull;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmailVerificationRepository extends JpaRepository<EmailVerification, String> {
+public interface EmailVerificationRepository
+        extends JpaRepository<EmailVerification, String>, EmailVerificationRepositoryCustom {
 
     /**
      * Checks if an email exists in the verification table
@@ -53,6 +59,14 @@ public interface EmailVerificationRepository extends JpaRepository<EmailVerifica
     @NonNull
     List<EmailVerification> findAll();
 
+    /**
+     * Retrieves only the email column of every entry
+     *
+     * @return List of all registered email addresses
+     */
+    @Query("SELECT e.email FROM EmailVerification e")
+    List<String> findAllEmails();
+
     /**
      * Deletes all email verification entries
      */
@@ -65,9 +79,31 @@ public interface EmailVerificationRepository extends JpaRepository<EmailVerifica
      * Deletes multiple emails by their email addresses
      *
      * @param emails List of email addresses to delete
+     * @return Number of deleted entries
      */
     @Modifying
     @Transactional
     @Query("DELETE FROM EmailVerification e WHERE e.email IN :emails")
-    void deleteMultipleEmails(List<String> emails);
-}
\ No newline at end of file
+    int deleteMultipleEmails(List<String> emails);
+
+    /**
+     * Returns which of the given emails are registered, in a single IN query
+     *
+     * @param emails The emails to look up
+     * @return The registered ones, as stored
+     */
+    @Query("SELECT e.email FROM EmailVerification e WHERE e.email IN :emails")
+    List<String> findExistingEmails(List<String> emails);
+
+    /**
+     * Streams every registered email for the export, in email order.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.researchers_conicet.dto.export.RegisteredEmailExportDTO(e.email, e.username, e.createdAt) " +
+           "FROM EmailVerification e ORDER BY e.email")
+    Stream<RegisteredEmailExportDTO> streamAllForExport();
+}
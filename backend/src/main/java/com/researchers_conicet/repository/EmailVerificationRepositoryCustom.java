@@ -0,0 +1,19 @@
+package com.researchers_conicet.repository;
+
+import java.util.List;
+
+/**
+ * Bulk operations on email_verifications that Spring Data cannot derive.
+ * Implemented by {@link EmailVerificationRepositoryImpl}.
+ */
+public interface EmailVerificationRepositoryCustom {
+
+    /**
+     * Inserts several emails with a single multi-row INSERT IGNORE.
+     * Emails that are already registered are skipped by the database.
+     *
+     * @param emails The emails to insert, all sent in one statement
+     * @return Number of rows actually inserted
+     */
+    int insertIgnoringDuplicates(List<String> emails);
+}
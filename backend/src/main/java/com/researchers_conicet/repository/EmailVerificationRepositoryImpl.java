@@ -0,0 +1,40 @@
+package com.researchers_conicet.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link EmailVerificationRepositoryCustom}.
+ * Runs inside the caller's JPA transaction.
+ */
+public class EmailVerificationRepositoryImpl implements EmailVerificationRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailVerificationRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(List<String> emails) {
+        if (emails.isEmpty()) {
+            return 0;
+        }
+
+        String rows = String.join(",", Collections.nCopies(emails.size(), "(?, ?)"));
+        String sql = "INSERT IGNORE INTO email_verifications (email, created_at) VALUES " + rows;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> params = new ArrayList<>(emails.size() * 2);
+        for (String email : emails) {
+            params.add(email);
+            params.add(now);
+        }
+        return jdbcTemplate.update(sql, params.toArray());
+    }
+}
@@ -0,0 +1,18 @@
+package com.researchers_conicet.repository;
+
+/**
+ * Query hint values shared by the streaming export queries
+ */
+public final class ExportHints {
+
+    /**
+     * Rows fetched per round trip by the export streams. With the driver's
+     * useCursorFetch, MySQL keeps the result on the server and hands it out
+     * this many rows at a time, so other queries can run on the connection
+     * while a stream is open.
+     */
+    public static final String FETCH_SIZE = "1000";
+
+    private ExportHints() {
+    }
+}
@@ -1,5 +1,6 @@
 package com.researchers_conicet.repository;
 
+import com.researchers_conicet.dto.export.GalleryImageExportDTO;
 import com.researchers_conicet.entity.GalleryImage;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -7,8 +8,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for GalleryImage entity.
@@ -41,6 +46,8 @@ public interface GalleryRepository extends JpaRepository<GalleryImage, String> {
      * @param urls List of URLs to delete
      * @return Number of deleted records
      */
+    @Modifying
+    @Transactional
     @Query("DELETE FROM GalleryImage g WHERE g.url IN :urls")
     int deleteByUrls(@Param("urls") List<String> urls);
 
@@ -53,4 +60,16 @@ public interface GalleryRepository extends JpaRepository<GalleryImage, String> {
     @Transactional
     @Query("UPDATE GalleryImage g SET g.caption = :newCaption WHERE g.url = :url")
     void updateImageCaption(@Param("url") String url, @Param("newCaption") String newCaption);
-}
\ No newline at end of file
+
+    /**
+     * Streams every gallery image for the export, oldest first.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.researchers_conicet.dto.export.GalleryImageExportDTO(g.url, g.caption, g.createdAt) " +
+           "FROM GalleryImage g ORDER BY g.createdAt, g.url")
+    Stream<GalleryImageExportDTO> streamAllForExport();
+}
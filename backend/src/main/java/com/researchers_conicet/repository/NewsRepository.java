@@ -1,15 +1,24 @@
 package com.researchers_conicet.repository;
 
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.dto.news.NewsSummaryDTO;
+import com.researchers_conicet.dto.export.NewsExportDTO;
 import com.researchers_conicet.entity.News;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for News entity.
@@ -25,7 +34,7 @@ public interface NewsRepository extends JpaRepository<News, Long> {
     /**
      * Finds all news articles by an exact author name.
      */
-    @Query("SELECT n FROM News n WHERE :authorName MEMBER OF n.authors")
+    @Query("SELECT n FROM News n JOIN n.authors author WHERE author = :authorName")
     List<News> findByAuthor(@Param("authorName") String authorName);
 
     /**
@@ -41,34 +50,52 @@ public interface NewsRepository extends JpaRepository<News, Long> {
 
     /**
      * Finds all news articles created today.
+     * Compares created_at against the bounds of the day rather than DATE(created_at),
+     * so that the index on created_at is used. created_at is written from the
+     * application clock, which is also the clock the bounds come from.
      */
-    @Query("SELECT n FROM News n WHERE DATE(n.createdAt) = CURRENT_DATE")
-    List<News> findTodayNews();
+    default List<News> findTodayNews() {
+        LocalDate today = LocalDate.now();
+        return findCreatedInRange(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Finds news articles created at or after start and before end.
+     */
+    @Query("SELECT n FROM News n WHERE n.createdAt >= :start AND n.createdAt < :end")
+    List<News> findCreatedInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     /**
      * Returns the most recent news articles.
+     * Ids are kept in the query cache, the articles themselves in the entity cache.
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.LATEST_PUBLICATIONS_REGION)
+    })
     @Query("SELECT n FROM News n ORDER BY n.createdAt DESC")
     List<News> findLatestNews(Pageable pageable);
 
     /**
      * Finds news articles that contain an exact URL in their links.
      */
-    @Query("SELECT n FROM News n WHERE :url MEMBER OF n.links")
+    @Query("SELECT n FROM News n JOIN n.links link WHERE link = :url")
     List<News> findByLink(@Param("url") String url);
 
     /**
-     * Finds news articles with links containing a specific domain.
+     * Finds news articles with links to a specific domain.
+     * Example: Finding all news articles with links to "nature.com".
+     * Only links starting with http(s)://domain or http(s)://www.domain match: prefixes
+     * can be looked up in the index on link, a domain anywhere in the URL cannot.
+     * Matching stays case-insensitive through the column collation.
      */
-    @Query("SELECT n FROM News n WHERE LOWER(n.links) LIKE LOWER(CONCAT('%', :domain, '%'))")
+    @Query("SELECT n FROM News n JOIN n.links link " +
+           "WHERE link LIKE CONCAT('https://', :domain, '%') " +
+           "OR link LIKE CONCAT('https://www.', :domain, '%') " +
+           "OR link LIKE CONCAT('http://', :domain, '%') " +
+           "OR link LIKE CONCAT('http://www.', :domain, '%')")
     List<News> findByLinkDomain(@Param("domain") String domain);
 
-    /**
-     * Full text search across title and authors.
-     */
-    @Query("SELECT DISTINCT n FROM News n WHERE LOWER(n.title) LIKE LOWER(CONCAT('%', :term, '%')) OR LOWER(n.authors) LIKE LOWER(CONCAT('%', :term, '%'))")
-    List<News> searchEverywhere(@Param("term") String term);
-
     /**
      * Counts news articles with more than X authors.
      */
@@ -86,4 +113,73 @@ public interface NewsRepository extends JpaRepository<News, Long> {
      */
     @Query("SELECT n FROM News n WHERE LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<News> findByKeywordInTitle(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * Returns the first page of a keyset listing, newest first
+     * Ordered by creation date with the id as tie-breaker, no count query is run
+     */
+    @Query("SELECT n FROM News n ORDER BY n.createdAt DESC, n.id DESC")
+    List<News> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Returns the page of a keyset listing that follows the given position
+     * Seeks on idx_new_created_at instead of skipping rows with an offset
+     */
+    @Query("SELECT n FROM News n " +
+           "WHERE n.createdAt <= :createdAt " +
+           "AND (n.createdAt < :createdAt OR n.id < :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<News> findKeysetPageAfter(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Paginated card view of news articles built by the database.
+     */
+    @Query(value = "SELECT new com.researchers_conicet.dto.news.NewsSummaryDTO(" +
+                   "n.id, n.title, n.createdAt, n.previewImage, " +
+                   "SUBSTRING(n.content, 1, " + NewsSummaryDTO.EXCERPT_LENGTH + "), LENGTH(n.content)) " +
+                   "FROM News n",
+           countQuery = "SELECT COUNT(n) FROM News n")
+    Page<NewsSummaryDTO> findSummaries(Pageable pageable);
+
+    /**
+     * Returns (news id, author name) pairs for a set of news articles.
+     */
+    @Query("SELECT n.id, author FROM News n JOIN n.authors author WHERE n.id IN :ids")
+    List<Object[]> findAuthorsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns (news id, image url) pairs with one image link of each news article,
+     * the smallest url when there are several; videos and other media are skipped.
+     */
+    @Query("SELECT n.id, MIN(media.url) FROM News n JOIN n.mediaLinks media " +
+           "WHERE n.id IN :ids AND media.mediaType LIKE 'image%' GROUP BY n.id")
+    List<Object[]> findPreviewImageUrlsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams every news row for the export, in id order, without
+     * loading entities. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.researchers_conicet.dto.export.NewsExportDTO(" +
+           "n.id, n.title, n.content, n.previewImage, n.createdAt) FROM News n ORDER BY n.id")
+    Stream<NewsExportDTO> streamAllForExport();
+
+    /**
+     * Returns (news id, link) pairs for a set of news articles.
+     */
+    @Query("SELECT n.id, link FROM News n JOIN n.links link WHERE n.id IN :ids")
+    List<Object[]> findLinksByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns (news id, media url, media type) triples for a set of news articles.
+     */
+    @Query("SELECT n.id, media.url, media.mediaType FROM News n JOIN n.mediaLinks media WHERE n.id IN :ids")
+    List<Object[]> findMediaLinksByIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,15 +1,24 @@
 package com.researchers_conicet.repository;
 
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.dto.research.ResearchSummaryDTO;
+import com.researchers_conicet.dto.export.ResearchExportDTO;
 import com.researchers_conicet.entity.Research;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 /**
@@ -48,15 +57,30 @@ public interface ResearchRepository extends JpaRepository<Research, Long> {
     
     /**
      * Finds all researches created today
-     * Uses database's current date for comparison
+     * Compares created_at against the bounds of the day rather than DATE(created_at),
+     * so that the index on created_at is used. created_at is written from the
+     * application clock, which is also the clock the bounds come from
      */
-    @Query("SELECT r FROM Research r WHERE DATE(r.createdAt) = CURRENT_DATE")
-    List<Research> findTodayResearches();
+    default List<Research> findTodayResearches() {
+        LocalDate today = LocalDate.now();
+        return findCreatedInRange(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Finds researches created at or after start and before end
+     */
+    @Query("SELECT r FROM Research r WHERE r.createdAt >= :start AND r.createdAt < :end")
+    List<Research> findCreatedInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     /**
      * Returns the most recent researches
      * Number of results limited by pageable parameter
+     * Ids are kept in the query cache, the researches themselves in the entity cache
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.LATEST_PUBLICATIONS_REGION)
+    })
     @Query("SELECT r FROM Research r ORDER BY r.createdAt DESC")
     List<Research> findLatestResearches(Pageable pageable);
 
@@ -68,24 +92,19 @@ public interface ResearchRepository extends JpaRepository<Research, Long> {
     List<Research> findByLink(@Param("url") String url);
 
     /**
-     * Finds researches with links containing a specific domain
+     * Finds researches with links to a specific domain
      * Example: Finding all researches with links to "nature.com"
+     * Only links starting with http(s)://domain or http(s)://www.domain match: prefixes
+     * can be looked up in the index on link, a domain anywhere in the URL cannot.
+     * Matching stays case-insensitive through the column collation
      */
     @Query("SELECT r FROM Research r JOIN r.links link " +
-           "WHERE LOWER(link) LIKE LOWER(CONCAT('%', :domain, '%'))")
+           "WHERE link LIKE CONCAT('https://', :domain, '%') " +
+           "OR link LIKE CONCAT('https://www.', :domain, '%') " +
+           "OR link LIKE CONCAT('http://', :domain, '%') " +
+           "OR link LIKE CONCAT('http://www.', :domain, '%')")
     List<Research> findByLinkDomain(@Param("domain") String domain);
 
-    /**
-     * Full text search across abstract and authors
-     * Most comprehensive search method
-     * Example: Searching for "climate" would find it in abstract or authors
-     */
-    @Query("SELECT DISTINCT r FROM Research r " +
-           "LEFT JOIN r.authors author " +
-           "WHERE LOWER(r.researchAbstract) LIKE LOWER(CONCAT('%', :term, '%')) OR " +
-           "LOWER(author) LIKE LOWER(CONCAT('%', :term, '%'))")
-    List<Research> searchEverywhere(@Param("term") String term);
-
     /**
      * Counts researches with more than X authors
      * Useful for finding collaborative research papers
@@ -108,4 +127,60 @@ public interface ResearchRepository extends JpaRepository<Research, Long> {
            "WHERE LOWER(r.researchAbstract) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Research> findByKeywordInAbstract(@Param("keyword") String keyword, Pageable pageable);
 
-}
\ No newline at end of file
+    /**
+     * Returns the first page of a keyset listing, newest first
+     * Ordered by creation date with the id as tie-breaker, no count query is run
+     */
+    @Query("SELECT r FROM Research r ORDER BY r.createdAt DESC, r.id DESC")
+    List<Research> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Returns the page of a keyset listing that follows the given position
+     * Seeks on idx_research_created_at instead of skipping rows with an offset
+     */
+    @Query("SELECT r FROM Research r " +
+           "WHERE r.createdAt <= :createdAt " +
+           "AND (r.createdAt < :createdAt OR r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Research> findKeysetPageAfter(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Paginated card view of researches with an abstract excerpt
+     * Built by the database without hydrating the entities
+     */
+    @Query(value = "SELECT new com.researchers_conicet.dto.research.ResearchSummaryDTO(" +
+                   "r.id, r.pdfPath, r.createdAt, " +
+                   "SUBSTRING(r.researchAbstract, 1, " + ResearchSummaryDTO.EXCERPT_LENGTH + "), " +
+                   "LENGTH(r.researchAbstract)) " +
+                   "FROM Research r",
+           countQuery = "SELECT COUNT(r) FROM Research r")
+    Page<ResearchSummaryDTO> findSummaries(Pageable pageable);
+
+    /**
+     * Returns (research id, author name) pairs for a set of researches
+     */
+    @Query("SELECT r.id, author FROM Research r JOIN r.authors author WHERE r.id IN :ids")
+    List<Object[]> findAuthorsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams every research row for the export, in id order, without
+     * loading entities. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.researchers_conicet.dto.export.ResearchExportDTO(" +
+           "r.id, r.researchAbstract, r.pdfPath, r.createdAt) FROM Research r ORDER BY r.id")
+    Stream<ResearchExportDTO> streamAllForExport();
+
+    /**
+     * Returns (research id, link) pairs for a set of researches
+     */
+    @Query("SELECT r.id, link FROM Research r JOIN r.links link WHERE r.id IN :ids")
+    List<Object[]> findLinksByIds(@Param("ids") Collection<Long> ids);
+}
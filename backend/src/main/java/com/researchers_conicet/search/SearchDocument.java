@@ -0,0 +1,48 @@
+package com.researchers_conicet.search;
+
+import com.researchers_conicet.entity.Analogy;
+import com.researchers_conicet.entity.News;
+import com.researchers_conicet.entity.Research;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Searchable fields of one publication, copied out of the entity
+ * so that the index can be updated after the transaction has ended.
+ *
+ * @param type Kind of publication
+ * @param id Entity identifier
+ * @param title Title, null for researches
+ * @param body Content or abstract
+ * @param authors Author names
+ * @param createdAt Creation timestamp
+ */
+public record SearchDocument(
+    SearchDocumentType type,
+    Long id,
+    String title,
+    String body,
+    Set<String> authors,
+    LocalDateTime createdAt
+) {
+
+    public SearchDocument {
+        authors = authors == null ? Set.of() : Set.copyOf(authors);
+    }
+
+    public static SearchDocument of(Analogy analogy) {
+        return new SearchDocument(SearchDocumentType.ANALOGY, analogy.getId(), analogy.getTitle(),
+            analogy.getContent(), analogy.getAuthors(), analogy.getCreatedAt());
+    }
+
+    public static SearchDocument of(News news) {
+        return new SearchDocument(SearchDocumentType.NEWS, news.getId(), news.getTitle(),
+            news.getContent(), news.getAuthors(), news.getCreatedAt());
+    }
+
+    public static SearchDocument of(Research research) {
+        return new SearchDocument(SearchDocumentType.RESEARCH, research.getId(), null,
+            research.getResearchAbstract(), research.getAuthors(), research.getCreatedAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.researchers_conicet.search;
+
+/**
+ * Kinds of publications held in the search index
+ */
+public enum SearchDocumentType {
+    ANALOGY,
+    NEWS,
+    RESEARCH
+}
@@ -0,0 +1,439 @@
+package com.researchers_conicet.search;
+
+import com.researchers_conicet.dto.search.SearchHitDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory full-text index over analogies, news and researches.
+ * Titles, contents, abstracts and author names are tokenized, lower cased and
+ * folded to ASCII, so "Atmósfera" and "atmosfera" find the same publications.
+ * The services push changes after their transaction commits and the whole index
+ * is rebuilt from the database at startup by {@link SearchIndexLoader}.
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    /** Largest page accepted by {@link #search} */
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Hits beyond this rank are never returned */
+    public static final int MAX_RESULTS = 1000;
+
+    /** Query terms beyond this many are ignored */
+    private static final int MAX_QUERY_TERMS = 16;
+    /** Terms at least this long also match as a prefix, so "clim" finds "climate" */
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String BODY = "body";
+    private static final String AUTHORS = "authors";
+    private static final String EXCERPT = "excerpt";
+    private static final String CREATED_AT = "createdAt";
+
+    private static final float TITLE_BOOST = 3f;
+    private static final float AUTHORS_BOOST = 2f;
+    private static final float BODY_BOOST = 1f;
+    /** Prefix matches rank below whole-word matches */
+    private static final float PREFIX_BOOST = 0.5f;
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /**
+     * A change pushed by a service
+     *
+     * @param document The new fields, null for a removal
+     */
+    private record Change(SearchDocumentType type, Long id, SearchDocument document) {}
+
+    /** Guards index writes and the swap at the end of a rebuild */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Only one rebuild reads the database at a time */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** Changes pushed while a rebuild reads the database, null otherwise; guarded by lock */
+    private List<Change> changesDuringRebuild;
+
+    public SearchIndex() {
+        try {
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), config);
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the search index", e);
+        }
+    }
+
+    /**
+     * Adds or replaces a publication once the current transaction commits,
+     * or right away when there is no transaction
+     *
+     * @param document Searchable fields of the publication
+     */
+    public void index(SearchDocument document) {
+        afterCommit(() -> apply(document.type(), document.id(), document));
+    }
+
+    /**
+     * Removes a publication once the current transaction commits,
+     * or right away when there is no transaction
+     *
+     * @param type Kind of publication
+     * @param id Entity identifier
+     */
+    public void delete(SearchDocumentType type, Long id) {
+        afterCommit(() -> apply(type, id, null));
+    }
+
+    /**
+     * Replaces the whole index with a fresh copy of the database.
+     * The database is read without holding the write lock; changes pushed meanwhile
+     * are recorded and applied again on top of the new index, so they are not lost.
+     *
+     * @param loader Reads every publication from the database
+     * @return Number of indexed publications
+     */
+    public int rebuild(Supplier<Collection<SearchDocument>> loader) {
+        rebuildLock.lock();
+        try {
+            recordChanges(new ArrayList<>());
+            Collection<SearchDocument> documents;
+            try {
+                documents = loader.get();
+            } catch (RuntimeException e) {
+                recordChanges(null);
+                throw e;
+            }
+
+            lock.lock();
+            try {
+                writer.deleteAll();
+                for (SearchDocument document : documents) {
+                    writer.addDocument(toDocument(document));
+                }
+                for (Change change : changesDuringRebuild) {
+                    write(change);
+                }
+                writer.commit();
+                searcherManager.maybeRefreshBlocking();
+                return documents.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to rebuild the search index", e);
+            } finally {
+                changesDuringRebuild = null;
+                lock.unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Searches every field of the selected kinds of publication, best matches first
+     *
+     * @param text Search text, every word must match
+     * @param types Kinds of publication to include, all of them when null or empty
+     * @param pageable Page number and size, the sort is always by relevance
+     * @return Page of ranked hits
+     * @throws IllegalArgumentException if the text is empty or the page is out of range
+     */
+    public Page<SearchHitDTO> search(String text, Set<SearchDocumentType> types, Pageable pageable) {
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULTS) {
+            throw new IllegalArgumentException("Only the first " + MAX_RESULTS + " results can be paged through");
+        }
+        Query query = buildQuery(text, types);
+
+        IndexSearcher searcher = acquire();
+        try {
+            int end = (int) pageable.getOffset() + pageable.getPageSize();
+            TopDocs top = searcher.search(query, end);
+
+            List<SearchHitDTO> hits = new ArrayList<>();
+            for (int i = (int) pageable.getOffset(); i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                hits.add(toHit(searcher.storedFields().document(scoreDoc.doc), scoreDoc.score));
+            }
+            long total = Math.min(searcher.count(query), MAX_RESULTS);
+            return new PageImpl<>(hits, pageable, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to search the index", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Searches one kind of publication and returns the matching ids, best matches first
+     *
+     * @param type Kind of publication
+     * @param text Search text, every word must match
+     * @param limit Maximum number of ids
+     * @return Ranked entity identifiers
+     * @throws IllegalArgumentException if the text is empty
+     */
+    public List<Long> searchIds(SearchDocumentType type, String text, int limit) {
+        Query query = buildQuery(text, EnumSet.of(type));
+
+        IndexSearcher searcher = acquire();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (ScoreDoc scoreDoc : searcher.search(query, limit).scoreDocs) {
+                ids.add(searcher.storedFields().document(scoreDoc.doc, Set.of(ID))
+                    .getField(ID).numericValue().longValue());
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to search the index", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * @return Number of publications in the index
+     */
+    public int size() {
+        IndexSearcher searcher = acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private void apply(SearchDocumentType type, Long id, SearchDocument document) {
+        Change change = new Change(type, id, document);
+        lock.lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            write(change);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            // The entity is already committed; the index catches up on the next rebuild
+            log.error("Failed to update the search index for {} {}", type, id, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Change change) throws IOException {
+        Term key = new Term(KEY, key(change.type(), change.id()));
+        if (change.document() == null) {
+            writer.deleteDocuments(key);
+        } else {
+            writer.updateDocument(key, toDocument(change.document()));
+        }
+    }
+
+    private void recordChanges(List<Change> changes) {
+        lock.lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Every word of the text must appear in the title, the authors or the body.
+     * Whole-word matches score higher than prefix matches and titles higher than bodies.
+     */
+    private Query buildQuery(String text, Set<SearchDocumentType> types) {
+        if (!StringUtils.hasText(text)) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        Set<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain letters or digits");
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            addField(anyField, TITLE, term, TITLE_BOOST);
+            addField(anyField, AUTHORS, term, AUTHORS_BOOST);
+            addField(anyField, BODY, term, BODY_BOOST);
+            query.add(anyField.build(), Occur.MUST);
+        }
+
+        if (types != null && !types.isEmpty() && types.size() < SearchDocumentType.values().length) {
+            BooleanQuery.Builder anyType = new BooleanQuery.Builder();
+            for (SearchDocumentType type : types) {
+                anyType.add(new TermQuery(new Term(TYPE, type.name())), Occur.SHOULD);
+            }
+            query.add(anyType.build(), Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private void addField(BooleanQuery.Builder builder, String field, String term, float boost) {
+        builder.add(new BoostQuery(new TermQuery(new Term(field, term)), boost), Occur.SHOULD);
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            builder.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost * PREFIX_BOOST), Occur.SHOULD);
+        }
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(BODY, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to analyze search text", e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(SearchDocument source) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(source.type(), source.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, source.type().name(), Field.Store.YES));
+        document.add(new StoredField(ID, source.id()));
+        if (source.title() != null) {
+            document.add(new TextField(TITLE, source.title(), Field.Store.YES));
+        }
+        if (source.body() != null) {
+            document.add(new TextField(BODY, source.body(), Field.Store.NO));
+            document.add(new StoredField(EXCERPT, excerpt(source.body())));
+        }
+        for (String author : source.authors()) {
+            document.add(new TextField(AUTHORS, author, Field.Store.YES));
+        }
+        if (source.createdAt() != null) {
+            document.add(new StoredField(CREATED_AT, source.createdAt().toString()));
+        }
+        return document;
+    }
+
+    private static SearchHitDTO toHit(Document document, float score) {
+        SearchHitDTO hit = new SearchHitDTO();
+        hit.setType(SearchDocumentType.valueOf(document.get(TYPE)));
+        hit.setId(document.getField(ID).numericValue().longValue());
+        hit.setTitle(document.get(TITLE));
+        hit.setExcerpt(document.get(EXCERPT));
+        hit.setAuthors(new HashSet<>(List.of(document.getValues(AUTHORS))));
+        String createdAt = document.get(CREATED_AT);
+        hit.setCreatedAt(createdAt == null ? null : LocalDateTime.parse(createdAt));
+        hit.setScore(score);
+        return hit;
+    }
+
+    private static String excerpt(String body) {
+        return body.length() <= SearchHitDTO.EXCERPT_LENGTH ? body : body.substring(0, SearchHitDTO.EXCERPT_LENGTH);
+    }
+
+    private static String key(SearchDocumentType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open an index searcher", e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release an index searcher", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Standard word splitting, then lower case and accent folding
+     */
+    private static class FoldingAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
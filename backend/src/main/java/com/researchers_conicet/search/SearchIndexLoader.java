@@ -0,0 +1,56 @@
+package com.researchers_conicet.search;
+
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.repository.ResearchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the search index from the database once the application has started
+ */
+@Slf4j
+@Component
+public class SearchIndexLoader {
+
+    private final SearchIndex searchIndex;
+    private final AnalogyRepository analogyRepository;
+    private final NewsRepository newsRepository;
+    private final ResearchRepository researchRepository;
+
+    public SearchIndexLoader(
+        SearchIndex searchIndex,
+        AnalogyRepository analogyRepository,
+        NewsRepository newsRepository,
+        ResearchRepository researchRepository
+    ) {
+        this.searchIndex = searchIndex;
+        this.analogyRepository = analogyRepository;
+        this.newsRepository = newsRepository;
+        this.researchRepository = researchRepository;
+    }
+
+    /**
+     * Rebuilds the index from every analogy, news article and research.
+     * Author collections are fetched in batches, so this costs a handful of queries per table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        int indexed = searchIndex.rebuild(() -> {
+            List<SearchDocument> documents = new ArrayList<>();
+            analogyRepository.findAll().forEach(analogy -> documents.add(SearchDocument.of(analogy)));
+            newsRepository.findAll().forEach(news -> documents.add(SearchDocument.of(news)));
+            researchRepository.findAll().forEach(research -> documents.add(SearchDocument.of(research)));
+            return documents;
+        });
+        log.info("Indexed {} publications for search in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+}
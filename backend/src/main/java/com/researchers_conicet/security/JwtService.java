@@ -1,39 +1,106 @@
 package com.researchers_conicet.security;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
     private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
     private static final long EXPIRATION_TIME = 24 * 60 * 60 * 1000; // 24 horas
 
+    /** Upper bound of remembered tokens; expired ones are dropped first when it is reached */
+    static final int MAX_VERIFIED_TOKENS = 1024;
+
+    private final Clock clock;
+
+    // The key and parser are immutable and thread safe, so they are built once
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    /** SHA-256 digest of each recently verified token -> its expiration in epoch millis */
+    private final Map<String, Long> verifiedTokens = new ConcurrentHashMap<>();
+
+    public JwtService() {
+        this(Clock.systemUTC());
+    }
+
+    JwtService(Clock clock) {
+        this.clock = clock;
+        this.signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+    }
+
     public String generateToken() {
+        long now = clock.millis();
         return Jwts.builder()
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + EXPIRATION_TIME))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Checks the signature and expiration of a token.
+     * Tokens verified before are answered from memory until their exp claim passes.
+     */
     public boolean validateToken(String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+
+        String digest = digest(token);
+        Long expiresAt = verifiedTokens.get(digest);
+        if (expiresAt != null) {
+            if (clock.millis() < expiresAt) {
+                return true;
+            }
+            verifiedTokens.remove(digest);
+        }
+
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token);
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                remember(digest, claims.getExpiration().getTime());
+            }
             return true;
         } catch (Exception e) {
             return false;
         }
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = java.util.Base64.getDecoder().decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private void remember(String digest, long expiresAt) {
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            long now = clock.millis();
+            verifiedTokens.values().removeIf(expiry -> expiry <= now);
+            if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(digest, expiresAt);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
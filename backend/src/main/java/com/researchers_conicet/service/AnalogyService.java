@@ -4,19 +4,44 @@ import com.researchers_conicet.entity.Analogy;
 import com.researchers_conicet.entity.MediaLink;
 import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
 import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.analogy.AnalogySummaryDTO;
+import com.researchers_conicet.dto.bulk_import.BulkImportResultDTO;
 import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
+import com.researchers_conicet.dto.pagination.KeysetCursor;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
 import com.researchers_conicet.repository.AnalogyRepository;
 import com.researchers_conicet.exception.ResourceNotFoundException;
+import com.researchers_conicet.search.SearchDocument;
+import com.researchers_conicet.search.SearchDocumentType;
+import com.researchers_conicet.search.SearchIndex;
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.service.ContentVersions.Content;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.hibernate.Hibernate;
 
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
@@ -32,26 +57,48 @@ public class AnalogyService {
 
     private final AnalogyRepository analogyRepository;
     private final EmailVerificationService emailVerificationService;
+    private final SearchIndex searchIndex;
+    private final SupportWriteBuffer supportWriteBuffer;
+    private final NdjsonImporter ndjsonImporter;
+    private final ContentVersions contentVersions;
+    private final SupportCacheEvictor supportCacheEvictor;
 
     /** Maximum number of authors allowed for an analogy */
     private static final int MAX_AUTHORS = 10;
     /** Maximum number of links allowed for an analogy */
     private static final int MAX_LINKS = 5;
-    /** Email validation regex */
-    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
+    /** Maximum number of analogies returned by a global search */
+    private static final int MAX_SEARCH_RESULTS = 100;
+    /** Email validation regex, compiled once instead of on every validation */
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
 
     /**
      * Constructor for dependency injection
      * 
      * @param analogyRepository Repository for analogy database operations
      * @param emailVerificationService Service for email verification
+     * @param searchIndex Full-text index kept in step with the analogies
+     * @param supportWriteBuffer Write-behind buffer for support clicks, when enabled
+     * @param ndjsonImporter Reader for bulk NDJSON imports
+     * @param contentVersions Version stamps behind the ETags of the public endpoints
+     * @param supportCacheEvictor Evicts supported analogies from the second-level cache
      */
     public AnalogyService(
         AnalogyRepository analogyRepository,
-        EmailVerificationService emailVerificationService
+        EmailVerificationService emailVerificationService,
+        SearchIndex searchIndex,
+        SupportWriteBuffer supportWriteBuffer,
+        NdjsonImporter ndjsonImporter,
+        ContentVersions contentVersions,
+        SupportCacheEvictor supportCacheEvictor
     ) {
         this.analogyRepository = analogyRepository;
         this.emailVerificationService = emailVerificationService;
+        this.searchIndex = searchIndex;
+        this.supportWriteBuffer = supportWriteBuffer;
+        this.ndjsonImporter = ndjsonImporter;
+        this.contentVersions = contentVersions;
+        this.supportCacheEvictor = supportCacheEvictor;
     }
 
     /**
@@ -71,7 +118,8 @@ public class AnalogyService {
      * @return Number of supports for the analogy
      */
     public int getSupportCount(Long analogyId) {
-        return analogyRepository.countSupportsByAnalogyId(analogyId);
+        return analogyRepository.findSupportCountById(analogyId)
+            .orElseThrow(() -> new ResourceNotFoundException("Analogy not found with id: " + analogyId));
     }
 
     /**
@@ -81,8 +129,53 @@ public class AnalogyService {
      * @return Set of support emails
      */
     public Set<String> getSupportEmails(Long analogyId) {
-        Analogy analogy = findAnalogyById(analogyId);
-        return analogy.getSupportEmails();
+        if (!analogyRepository.existsById(analogyId)) {
+            throw new ResourceNotFoundException("Analogy not found with id: " + analogyId);
+        }
+        return analogyRepository.findSupportEmailsById(analogyId);
+    }
+
+    /**
+     * Gets the support state of several analogies at once
+     * 
+     * @param analogyIds Analogy identifiers, unknown ones are left out of the result
+     * @param email Optional email whose support is checked
+     * @return Support count and supported flag by analogy ID, in request order
+     * @throws IllegalArgumentException if the ids or the email are invalid
+     */
+    public Map<Long, SupportStatusDTO> getSupportStatus(List<Long> analogyIds, String email) {
+        validateBatchIds(analogyIds);
+        boolean hasEmail = StringUtils.hasText(email);
+        if (hasEmail) {
+            validateEmail(email);
+        }
+
+        Map<Long, SupportStatusDTO> found = new HashMap<>();
+        List<Object[]> rows = hasEmail
+            ? analogyRepository.findSupportStatusByIds(analogyIds, email)
+            : analogyRepository.findSupportCountsByIds(analogyIds);
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            int count = ((Number) row[1]).intValue();
+            Boolean supported = hasEmail ? ((Number) row[2]).longValue() > 0 : null;
+            if (hasEmail) {
+                // The email sees its own clicks that are still in the write-behind buffer
+                Optional<Boolean> pending = supportWriteBuffer.pendingState(SupportWriteBuffer.Target.ANALOGY, id, email);
+                if (pending.isPresent()) {
+                    count = SupportWriteBuffer.countWithPending(count, supported, pending.get());
+                    supported = pending.get();
+                }
+            }
+            found.put(id, new SupportStatusDTO(count, supported));
+        }
+
+        Map<Long, SupportStatusDTO> result = new LinkedHashMap<>();
+        for (Long id : analogyIds) {
+            if (found.containsKey(id)) {
+                result.put(id, found.get(id));
+            }
+        }
+        return result;
     }
 
     /**
@@ -99,26 +192,15 @@ public class AnalogyService {
         validateAnalogyData(requestDTO);
 
         try {
-            Analogy analogy = new Analogy();
-            analogy.setTitle(requestDTO.getTitle());
-            analogy.setContent(requestDTO.getContent());
-            analogy.setAuthors(requestDTO.getAuthors());
-            analogy.setLinks(requestDTO.getLinks());
-
-            analogy.setMediaLinks(
-            requestDTO.getMediaLinks()
-                .stream()
-                .map(dto -> new MediaLink(dto.getUrl(), dto.getMediaType()))
-                .collect(Collectors.toSet())
-            );
-
-            Analogy savedAnalogy = analogyRepository.save(analogy);
+            Analogy savedAnalogy = analogyRepository.save(toNewAnalogy(requestDTO));
             log.info("Created analogy with ID: {}", savedAnalogy.getId());
             
             // Initialize lazy collections explicitly
             Hibernate.initialize(savedAnalogy.getAuthors());
             Hibernate.initialize(savedAnalogy.getLinks());
             Hibernate.initialize(savedAnalogy.getMediaLinks());
+            searchIndex.index(SearchDocument.of(savedAnalogy));
+            contentVersions.changed(Content.ANALOGIES);
 
             return mapToDTO(savedAnalogy);
         } catch (Exception e) {
@@ -128,13 +210,41 @@ public class AnalogyService {
     }
 
     /**
-     * Retrieves an analogy by its ID
+     * Imports analogies from an NDJSON stream, one AnalogyRequestDTO per line.
+     * Records are checked with the same rules as createAnalogy; rejected ones are
+     * reported by line and the rest are saved in chunks, each in its own transaction.
+     * 
+     * @param input NDJSON body
+     * @return Counts and the rejected lines
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResultDTO importAnalogies(InputStream input) {
+        log.info("Importing analogies");
+        return ndjsonImporter.importRecords(
+            input,
+            AnalogyRequestDTO.class,
+            requestDTO -> {
+                validateAnalogyData(requestDTO);
+                return toNewAnalogy(requestDTO);
+            },
+            analogies -> {
+                analogyRepository.saveAll(analogies)
+                    .forEach(analogy -> searchIndex.index(SearchDocument.of(analogy)));
+                contentVersions.changed(Content.ANALOGIES);
+            }
+        );
+    }
+
+    /**
+     * Retrieves an analogy by its ID.
+     * Served from the analogy cache; concurrent misses for the same id load it once.
      * 
      * @param id Analogy identifier
      * @return Response DTO with analogy details
      * @throws ResourceNotFoundException if analogy not found
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ANALOGIES, key = "#id", sync = true)
     public AnalogyResponseDTO getAnalogy(Long id) {
         Analogy analogy = findAnalogyById(id);
         // Initialize lazy collections
@@ -164,6 +274,75 @@ public class AnalogyService {
             });
     }
 
+    /**
+     * Retrieves lightweight analogy summaries for list views
+     * Costs one page query, one count query and two batched collection queries
+     * 
+     * @param pageable Pagination information
+     * @return Page of analogy summary DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<AnalogySummaryDTO> getAnalogySummaries(Pageable pageable) {
+        Page<AnalogySummaryDTO> summaries = analogyRepository.findSummaries(pageable);
+        List<Long> ids = summaries.map(AnalogySummaryDTO::getId).getContent();
+        if (ids.isEmpty()) {
+            return summaries;
+        }
+
+        Map<Long, Set<String>> authors = new HashMap<>();
+        for (Object[] row : analogyRepository.findAuthorsByIds(ids)) {
+            authors.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+
+        Map<Long, String> previews = new HashMap<>();
+        for (Object[] row : analogyRepository.findPreviewImageUrlsByIds(ids)) {
+            previews.put((Long) row[0], (String) row[1]);
+        }
+
+        summaries.forEach(summary -> {
+            summary.setAuthors(authors.getOrDefault(summary.getId(), new HashSet<>()));
+            summary.setPreviewImage(previews.get(summary.getId()));
+        });
+        return summaries;
+    }
+
+    /**
+     * Retrieves analogies with keyset pagination, newest first.
+     * Seeks past the given cursor instead of using an offset and skips the count query.
+     *
+     * @param cursor Opaque cursor returned by the previous page, null for the first page
+     * @param size Maximum number of elements in the page
+     * @return Page of response DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed or the size is out of range
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AnalogyResponseDTO> getAnalogiesByCursor(String cursor, int size) {
+        if (size < 1 || size > CursorPageDTO.MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + CursorPageDTO.MAX_SIZE);
+        }
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<Analogy> rows;
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = analogyRepository.findKeysetPageAfter(position.createdAt(), position.id(), limit);
+        } else {
+            rows = analogyRepository.findFirstKeysetPage(limit);
+        }
+
+        return CursorPageDTO.of(
+            rows,
+            size,
+            row -> new KeysetCursor(row.getCreatedAt(), row.getId()),
+            row -> {
+                Hibernate.initialize(row.getAuthors());
+                Hibernate.initialize(row.getLinks());
+                Hibernate.initialize(row.getMediaLinks());
+                return mapToDTO(row);
+            }
+        );
+    }
+
     /**
      * Updates an existing analogy
      * 
@@ -174,6 +353,7 @@ public class AnalogyService {
      * @throws IllegalArgumentException if validation fails
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ANALOGIES, key = "#id")
         public AnalogyResponseDTO updateAnalogy(Long id, AnalogyRequestDTO requestDTO) {
             log.info("Updating analogy with ID: {}", id);
             
@@ -201,6 +381,8 @@ public class AnalogyService {
                 Hibernate.initialize(updatedAnalogy.getAuthors());
                 Hibernate.initialize(updatedAnalogy.getLinks());
                 Hibernate.initialize(updatedAnalogy.getMediaLinks());
+                searchIndex.index(SearchDocument.of(updatedAnalogy));
+                contentVersions.changed(Content.ANALOGIES);
 
                 return mapToDTO(updatedAnalogy);
             } catch (Exception e) {
@@ -217,6 +399,7 @@ public class AnalogyService {
      * @throws ResourceNotFoundException if analogy not found
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ANALOGIES, key = "#id")
     public void deleteAnalogy(Long id) {
         log.info("Deleting analogy with ID: {}", id);
         
@@ -224,6 +407,8 @@ public class AnalogyService {
 
         try {
             analogyRepository.delete(analogy);
+            searchIndex.delete(SearchDocumentType.ANALOGY, id);
+            contentVersions.changed(Content.ANALOGIES);
             log.info("Deleted analogy with ID: {}", id);
         } catch (Exception e) {
             log.error("Error deleting analogy with ID: {}", id, e);
@@ -280,10 +465,11 @@ public class AnalogyService {
     }
 
     /**
-     * Performs a global search across all fields
+     * Performs a global search across title, content and authors.
+     * Matching ids come ranked from the search index and are loaded in a single query.
      * 
      * @param term Search term
-     * @return List of matching analogy response DTOs
+     * @return List of matching analogy response DTOs, best matches first
      * @throws IllegalArgumentException if search term is empty
      */
     @Transactional(readOnly = true)
@@ -291,8 +477,17 @@ public class AnalogyService {
         if (!StringUtils.hasText(term)) {
             throw new IllegalArgumentException("Search term cannot be empty");
         }
-        return analogyRepository.searchEverywhere(term)
+        List<Long> ids = searchIndex.searchIds(SearchDocumentType.ANALOGY, term, MAX_SEARCH_RESULTS);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Analogy> analogies = analogyRepository.findAllById(ids)
             .stream()
+            .collect(Collectors.toMap(Analogy::getId, Function.identity()));
+        return ids.stream()
+            .map(analogies::get)
+            .filter(Objects::nonNull)
             .map(analogy -> {
                 Hibernate.initialize(analogy.getAuthors());
                 Hibernate.initialize(analogy.getLinks());
@@ -305,6 +500,7 @@ public class AnalogyService {
 
     /**
      * Adds support to an analogy
+     * Idempotent: supporting twice, or from concurrent requests, counts once
      * 
      * @param analogyId Analogy identifier
      * @param email User's email
@@ -313,6 +509,7 @@ public class AnalogyService {
      * @throws IllegalArgumentException if email is invalid
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ANALOGIES, key = "#analogyId")
     public AnalogyResponseDTO addSupport(Long analogyId, String email) {
         log.info("Adding support to analogy with ID: {}", analogyId);
 
@@ -324,28 +521,34 @@ public class AnalogyService {
             throw new IllegalArgumentException("Email is not registered");
         }
 
-        // Find the analogy
-        Analogy analogy = findAnalogyById(analogyId);
+        if (supportWriteBuffer.isEnabled()) {
+            return bufferSupport(analogyId, email, true);
+        }
+
+        lockAnalogyForSupport(analogyId);
 
         try {
-            // Use the method from the entity to add support email
-            if (analogy.addSupportEmail(email)) {
-                // Only save if the email was not already present
-                analogyRepository.save(analogy);
+            // INSERT IGNORE reports 0 rows when the email had already supported it
+            if (analogyRepository.insertSupport(analogyId, email) > 0) {
+                analogyRepository.incrementSupportCount(analogyId);
+                supportCacheEvictor.evictSupportState(analogyId);
+                contentVersions.changed(Content.ANALOGIES);
                 log.info("Added support to analogy with ID: {}", analogyId);
             } else {
                 log.warn("Email {} has already supported this analogy", email);
             }
-
-            return mapToDTO(analogy);
         } catch (Exception e) {
             log.error("Error adding support to analogy with ID: {}", analogyId, e);
             throw new RuntimeException("Failed to add support to analogy", e);
         }
+
+        // Read after the writes, so the counter includes them
+        return mapToDTO(findAnalogyById(analogyId));
     }
 
     /**
      * Removes support from an analogy
+     * Idempotent: removing a support that does not exist changes nothing
      * 
      * @param analogyId Analogy identifier
      * @param email User's email
@@ -354,30 +557,102 @@ public class AnalogyService {
      * @throws IllegalArgumentException if email is invalid
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ANALOGIES, key = "#analogyId")
     public AnalogyResponseDTO removeSupport(Long analogyId, String email) {
         log.info("Removing support from analogy with ID: {}", analogyId);
 
         // Validate email input
         validateEmail(email);
 
-        // Find the analogy
-        Analogy analogy = findAnalogyById(analogyId);
+        if (supportWriteBuffer.isEnabled()) {
+            return bufferSupport(analogyId, email, false);
+        }
+
+        lockAnalogyForSupport(analogyId);
 
         try {
-            // Use the method from the entity to remove support email
-            if (analogy.removeSupportEmail(email)) {
-                // Only save if the email was present
-                analogyRepository.save(analogy);
+            // Only decrement if a support row was actually deleted
+            if (analogyRepository.deleteSupport(analogyId, email) > 0) {
+                analogyRepository.decrementSupportCount(analogyId);
+                supportCacheEvictor.evictSupportState(analogyId);
+                contentVersions.changed(Content.ANALOGIES);
                 log.info("Removed support from analogy with ID: {}", analogyId);
             } else {
                 log.warn("Email {} has not supported this analogy", email);
             }
-
-            return mapToDTO(analogy);
         } catch (Exception e) {
             log.error("Error removing support from analogy with ID: {}", analogyId, e);
             throw new RuntimeException("Failed to remove support from analogy", e);
         }
+
+        return mapToDTO(findAnalogyById(analogyId));
+    }
+
+    /**
+     * Repairs the counters once the application has started, so that a database that
+     * just got the support_count column (defaulting to 0) shows the real counts and
+     * most-supported order right away instead of after the nightly run
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileSupportCountsOnStartup() {
+        reconcileSupportCounts();
+    }
+
+    /**
+     * Repairs drift between the denormalized support counters and the
+     * 'analogy_supports' table. Runs periodically according to
+     * {@code analogies.support-count.reconcile-cron}.
+     *
+     * @return Number of analogies whose counter was corrected
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ANALOGIES, allEntries = true)
+    @Scheduled(cron = "${analogies.support-count.reconcile-cron:0 0 3 * * *}")
+    public int reconcileSupportCounts() {
+        int repaired = analogyRepository.reconcileSupportCounts();
+        if (repaired > 0) {
+            contentVersions.changed(Content.ANALOGIES);
+            log.warn("Repaired support count of {} analogies", repaired);
+        } else {
+            log.info("Analogy support counts are consistent");
+        }
+        return repaired;
+    }
+
+    /**
+     * Write-behind variant of the support toggles: records the click without writing
+     * and answers with the analogy as the clicking email will see it once written.
+     * Neither the analogy row nor the support row is locked.
+     *
+     * @param analogyId Analogy identifier
+     * @param email User's email
+     * @param supported true to add the support, false to remove it
+     * @return Analogy response DTO including the email's own change
+     * @throws ResourceNotFoundException if analogy not found
+     */
+    private AnalogyResponseDTO bufferSupport(Long analogyId, String email, boolean supported) {
+        Analogy analogy = findAnalogyById(analogyId);
+        boolean stored = analogyRepository.hasEmailSupportedAnalogy(analogyId, email);
+        supportWriteBuffer.record(SupportWriteBuffer.Target.ANALOGY, analogyId, email, supported);
+
+        AnalogyResponseDTO dto = mapToDTO(analogy);
+        dto.setSupportCount(SupportWriteBuffer.countWithPending(analogy.getSupportCount(), stored, supported));
+        return dto;
+    }
+
+    /**
+     * Locks the analogy row for the rest of the transaction without loading the entity.
+     * Both support toggles take this lock before touching 'analogy_supports', so they
+     * always lock in the same order and serialize per analogy instead of deadlocking.
+     *
+     * @param analogyId Analogy identifier
+     * @throws ResourceNotFoundException if analogy not found
+     */
+    private void lockAnalogyForSupport(Long analogyId) {
+        if (analogyRepository.lockById(analogyId).isEmpty()) {
+            throw new ResourceNotFoundException("Analogy not found with id: " + analogyId);
+        }
     }
 
     /**
@@ -413,6 +688,40 @@ public class AnalogyService {
         }
     }
 
+    /**
+     * Builds a new, unsaved analogy from request data
+     */
+    private Analogy toNewAnalogy(AnalogyRequestDTO requestDTO) {
+        Analogy analogy = new Analogy();
+        analogy.setTitle(requestDTO.getTitle());
+        analogy.setContent(requestDTO.getContent());
+        analogy.setAuthors(requestDTO.getAuthors());
+        analogy.setLinks(requestDTO.getLinks() == null ? new HashSet<>() : requestDTO.getLinks());
+        analogy.setMediaLinks(
+            requestDTO.getMediaLinks() == null ? new HashSet<>() : requestDTO.getMediaLinks()
+                .stream()
+                .map(dto -> new MediaLink(dto.getUrl(), dto.getMediaType()))
+                .collect(Collectors.toSet())
+        );
+        return analogy;
+    }
+
+    /**
+     * Validates the ids of a batch support lookup
+     * 
+     * @param ids Requested identifiers
+     * @throws IllegalArgumentException if the list is empty or too large
+     */
+    private void validateBatchIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (ids.size() > SupportStatusDTO.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                "At most %d ids can be requested at once".formatted(SupportStatusDTO.MAX_BATCH_SIZE));
+        }
+    }
+
     /**
      * Validates email format
      * 
@@ -424,7 +733,7 @@ public class AnalogyService {
             throw new IllegalArgumentException("Email is required");
         }
         
-        if (!Pattern.matches(EMAIL_REGEX, email)) {
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
             throw new IllegalArgumentException("Invalid email format");
         }
     }
@@ -444,8 +753,8 @@ public class AnalogyService {
         dto.setAuthors(analogy.getAuthors());
         dto.setLinks(analogy.getLinks());
         
-        // Dynamically get support count
-        dto.setSupportCount(analogy.getSupportEmails().size());
+        // Denormalized counter, avoids loading the support emails
+        dto.setSupportCount(analogy.getSupportCount());
         
         dto.setMediaLinks(
         analogy.getMediaLinks()
@@ -471,7 +780,10 @@ public class AnalogyService {
      * @return Boolean indicating if the email has supported the analogy
      */
     public boolean hasEmailSupported(Long analogyId, String email) {
-        Analogy analogy = findAnalogyById(analogyId);
-        return analogy.getSupportEmails().contains(email);
+        if (!analogyRepository.existsById(analogyId)) {
+            throw new ResourceNotFoundException("Analogy not found with id: " + analogyId);
+        }
+        return supportWriteBuffer.pendingState(SupportWriteBuffer.Target.ANALOGY, analogyId, email)
+            .orElseGet(() -> analogyRepository.hasEmailSupportedAnalogy(analogyId, email));
     }
 }
\ No newline at end of file
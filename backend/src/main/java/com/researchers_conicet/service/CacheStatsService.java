@@ -0,0 +1,50 @@
+package com.researchers_conicet.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.researchers_conicet.dto.cache.CacheStatsDTO;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the counters of the Caffeine-backed detail caches
+ */
+@Service
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    public CacheStatsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @return One entry per cache, in declaration order
+     */
+    public List<CacheStatsDTO> getCacheStats() {
+        List<CacheStatsDTO> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                result.add(toDTO(name, caffeine.estimatedSize(), caffeine.stats()));
+            }
+        }
+        return result;
+    }
+
+    static CacheStatsDTO toDTO(String name, long size, CacheStats stats) {
+        CacheStatsDTO dto = new CacheStatsDTO();
+        dto.setName(name);
+        dto.setSize(size);
+        dto.setHits(stats.hitCount());
+        dto.setMisses(stats.missCount());
+        dto.setHitRatio(stats.hitRate());
+        dto.setEvictions(stats.evictionCount());
+        dto.setLoads(stats.loadCount());
+        dto.setAverageLoadMillis(stats.averageLoadPenalty() / 1_000_000d);
+        return dto;
+    }
+}
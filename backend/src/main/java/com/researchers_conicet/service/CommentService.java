@@ -4,6 +4,8 @@ import com.researchers_conicet.entity.Analogy;
 import com.researchers_conicet.entity.Comment;
 import com.researchers_conicet.dto.comment.CommentRequestDTO;
 import com.researchers_conicet.dto.comment.CommentResponseDTO;
+import com.researchers_conicet.dto.comment.CommentTreeNodeDTO;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
 import com.researchers_conicet.repository.AnalogyRepository;
 import com.researchers_conicet.repository.CommentRepository;
 
@@ -15,7 +17,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -30,19 +39,22 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final AnalogyRepository analogyRepository;
     private final EmailVerificationService emailVerificationService;
+    private final SupportWriteBuffer supportWriteBuffer;
 
-    /** Email validation regex */
-    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
+    /** Email validation regex, compiled once instead of on every validation */
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
 
     // Constructor to inject dependencies
     public CommentService(
         CommentRepository commentRepository, 
         AnalogyRepository analogyRepository,
-        EmailVerificationService emailVerificationService
+        EmailVerificationService emailVerificationService,
+        SupportWriteBuffer supportWriteBuffer
     ) {
         this.commentRepository = commentRepository;
         this.analogyRepository = analogyRepository;
         this.emailVerificationService = emailVerificationService;
+        this.supportWriteBuffer = supportWriteBuffer;
     }
 
     /**
@@ -87,8 +99,60 @@ public class CommentService {
      * @return Boolean indicating if the email has supported the comment
      */
     public boolean hasEmailSupported(Long commentId, String email) {
-        Comment comment = findCommentById(commentId);
-        return comment.getSupportEmails().contains(email);
+        if (!commentRepository.existsById(commentId)) {
+            throw new ResourceNotFoundException("Comment not found with id: " + commentId);
+        }
+        return supportWriteBuffer.pendingState(SupportWriteBuffer.Target.COMMENT, commentId, email)
+            .orElseGet(() -> commentRepository.hasEmailSupportedAnalogy(commentId, email));
+    }
+
+    /**
+     * Gets the support state of several comments at once
+     * 
+     * @param commentIds Comment identifiers, unknown ones are left out of the result
+     * @param email Optional email whose support is checked
+     * @return Support count and supported flag by comment ID, in request order
+     * @throws IllegalArgumentException if the ids or the email are invalid
+     */
+    public Map<Long, SupportStatusDTO> getSupportStatus(List<Long> commentIds, String email) {
+        if (commentIds == null || commentIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (commentIds.size() > SupportStatusDTO.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                "At most %d ids can be requested at once".formatted(SupportStatusDTO.MAX_BATCH_SIZE));
+        }
+        boolean hasEmail = StringUtils.hasText(email);
+        if (hasEmail) {
+            validateEmail(email);
+        }
+
+        Map<Long, SupportStatusDTO> found = new HashMap<>();
+        List<Object[]> rows = hasEmail
+            ? commentRepository.findSupportStatusByIds(commentIds, email)
+            : commentRepository.findSupportCountsByIds(commentIds);
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            int count = ((Number) row[1]).intValue();
+            Boolean supported = hasEmail ? ((Number) row[2]).longValue() > 0 : null;
+            if (hasEmail) {
+                // The email sees its own clicks that are still in the write-behind buffer
+                Optional<Boolean> pending = supportWriteBuffer.pendingState(SupportWriteBuffer.Target.COMMENT, id, email);
+                if (pending.isPresent()) {
+                    count = SupportWriteBuffer.countWithPending(count, supported, pending.get());
+                    supported = pending.get();
+                }
+            }
+            found.put(id, new SupportStatusDTO(count, supported));
+        }
+
+        Map<Long, SupportStatusDTO> result = new LinkedHashMap<>();
+        for (Long id : commentIds) {
+            if (found.containsKey(id)) {
+                result.put(id, found.get(id));
+            }
+        }
+        return result;
     }
 
     /**
@@ -165,9 +229,13 @@ public class CommentService {
             comment.setUserName(requestDTO.getUserName());
             comment.setContent(requestDTO.getContent());
             comment.setEmail(requestDTO.getEmail());
+            Long previousRootId = comment.getRootId();
             optParent.ifPresent(comment::setParent);
 
             Comment updatedComment = commentRepository.save(comment);
+            if (!Objects.equals(previousRootId, updatedComment.getRootId())) {
+                moveRepliesToThread(updatedComment);
+            }
             log.info("Updated comment with ID: {}", id);
             
             return mapToDTO(updatedComment);
@@ -261,7 +329,78 @@ public class CommentService {
     }
 
     /**
-     * Adds support to a comment
+     * Retrieves a page of root comments of an analogy with all their replies nested,
+     * each node carrying its support count and, if an email is given, whether that
+     * email supports it. Replies are read one level at a time from the roots of the
+     * page, so the number of queries grows with the depth of the threads only.
+     *
+     * @param analogyId ID of the analogy
+     * @param email Optional viewer email
+     * @param pageable Pagination of the root comments
+     * @return Page of root comments with nested replies
+     */
+    @Transactional(readOnly = true)
+    public Page<CommentTreeNodeDTO> getCommentTree(Long analogyId, String email, Pageable pageable) {
+        if (!analogyRepository.existsById(analogyId)) {
+            throw new ResourceNotFoundException("Analogy not found with ID: " + analogyId);
+        }
+        boolean hasViewer = StringUtils.hasText(email);
+        if (hasViewer) {
+            validateEmail(email);
+        }
+
+        Page<CommentTreeNodeDTO> roots = commentRepository.findRootNodesByAnalogyId(analogyId, pageable);
+        if (roots.isEmpty()) {
+            return roots;
+        }
+
+        // Every reply of the threads on this page in one query, whatever their depth,
+        // linked to its parent in memory
+        Map<Long, CommentTreeNodeDTO> nodes = new HashMap<>();
+        roots.forEach(root -> nodes.put(root.getId(), root));
+        List<CommentTreeNodeDTO> replies = commentRepository.findReplyNodesByRootIds(List.copyOf(nodes.keySet()));
+        replies.forEach(reply -> nodes.put(reply.getId(), reply));
+
+        List<CommentTreeNodeDTO> visible = new ArrayList<>(roots.getContent());
+        for (CommentTreeNodeDTO reply : replies) {
+            CommentTreeNodeDTO parent = nodes.get(reply.getParentId());
+            if (parent != null) {
+                parent.getReplies().add(reply);
+                visible.add(reply);
+            }
+        }
+        List<Long> visibleIds = visible.stream().map(CommentTreeNodeDTO::getId).toList();
+
+        Map<Long, Integer> supportCounts = new HashMap<>();
+        for (Object[] row : commentRepository.countSupportsByCommentIds(visibleIds)) {
+            supportCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        Set<Long> supportedIds = hasViewer
+            ? new HashSet<>(commentRepository.findSupportedCommentIdsByEmailAndIds(email, visibleIds))
+            : Set.of();
+
+        // The viewer sees their own clicks that are still in the write-behind buffer
+        Map<Long, Boolean> pendingStates = hasViewer
+            ? supportWriteBuffer.pendingStates(SupportWriteBuffer.Target.COMMENT, email)
+            : Map.of();
+
+        for (CommentTreeNodeDTO node : visible) {
+            int count = supportCounts.getOrDefault(node.getId(), 0);
+            Boolean supported = hasViewer ? supportedIds.contains(node.getId()) : null;
+            Boolean pendingState = pendingStates.get(node.getId());
+            if (pendingState != null) {
+                count = SupportWriteBuffer.countWithPending(count, supported, pendingState);
+                supported = pendingState;
+            }
+            node.setSupportCount(count);
+            node.setSupported(supported);
+        }
+        return roots;
+    }
+
+    /**
+     * Adds support to a comment.
+     * Idempotent: supporting twice, or from concurrent requests, counts once.
      * 
      * @param commentId Comment identifier
      * @param email User's email
@@ -281,28 +420,29 @@ public class CommentService {
             throw new IllegalArgumentException("Email is not registered");
         }
 
-        // Find the comment
-        Comment comment = findCommentById(commentId);
+        if (supportWriteBuffer.isEnabled()) {
+            return bufferSupport(commentId, email, true);
+        }
 
         try {
-            // Use the method from the entity to add support email
-            if (comment.addSupportEmail(email)) {
-                // Only save if the email was not already present
-                commentRepository.save(comment);
+            // INSERT IGNORE reports 0 rows when the email had already supported it
+            if (commentRepository.insertSupport(commentId, email) > 0) {
                 log.info("Added support to comment with ID: {}", commentId);
             } else {
-                log.warn("Email {} has already supported this comment", email);
+                log.warn("Email {} has already supported comment {} or it does not exist", email, commentId);
             }
-
-            return mapToDTO(comment);
         } catch (Exception e) {
             log.error("Error adding support to comment with ID: {}", commentId, e);
             throw new RuntimeException("Failed to add support to comment", e);
         }
+
+        // Read after the write, so the support count includes it
+        return mapToDTO(findCommentById(commentId));
     }
 
     /**
-     * Removes support from a comment
+     * Removes support from a comment.
+     * Idempotent: removing a support that does not exist changes nothing.
      * 
      * @param commentId Comment identifier
      * @param email User's email
@@ -317,24 +457,42 @@ public class CommentService {
         // Validate email input
         validateEmail(email);
 
-        // Find the comment
-        Comment comment = findCommentById(commentId);
+        if (supportWriteBuffer.isEnabled()) {
+            return bufferSupport(commentId, email, false);
+        }
 
         try {
-            // Use the method from the entity to remove support email
-            if (comment.removeSupportEmail(email)) {
-                // Only save if the email was present
-                commentRepository.save(comment);
+            if (commentRepository.deleteSupport(commentId, email) > 0) {
                 log.info("Removed support from comment with ID: {}", commentId);
-                return mapToDTO(comment);
+            } else {
+                log.warn("Email {} has not supported comment {}", email, commentId);
             }
         } catch (Exception e) {
             log.error("Error removing support from comment with ID: {}", commentId, e);
             throw new RuntimeException("Failed to remove support from comment", e);
         }
-        
-        log.warn("Email {} has not supported this comment", email);
-        throw new IllegalArgumentException("Email %s has not given support to comment %d".formatted(email, commentId));
+
+        return mapToDTO(findCommentById(commentId));
+    }
+
+    /**
+     * Write-behind variant of the support toggles: records the click without writing
+     * and answers with the comment as the clicking email will see it once written.
+     *
+     * @param commentId Comment identifier
+     * @param email User's email
+     * @param supported true to add the support, false to remove it
+     * @return Comment response DTO including the email's own change
+     * @throws ResourceNotFoundException if comment not found
+     */
+    private CommentResponseDTO bufferSupport(Long commentId, String email, boolean supported) {
+        Comment comment = findCommentById(commentId);
+        boolean stored = comment.getSupportEmails().contains(email);
+        supportWriteBuffer.record(SupportWriteBuffer.Target.COMMENT, commentId, email, supported);
+
+        CommentResponseDTO dto = mapToDTO(comment);
+        dto.setSupportCount(SupportWriteBuffer.countWithPending(dto.getSupportCount(), stored, supported));
+        return dto;
     }
 
     /**
@@ -362,6 +520,26 @@ public class CommentService {
         return Optional.ofNullable(parent);
     }
 
+    /**
+     * Points the replies below a re-parented comment at the root of its new thread.
+     * Walks the subtree one level at a time; moving a comment is rare, unlike reading a tree.
+     *
+     * @param comment The comment whose parent changed
+     */
+    private void moveRepliesToThread(Comment comment) {
+        Long rootId = comment.getRootId() != null ? comment.getRootId() : comment.getId();
+        Set<Long> moved = new HashSet<>(List.of(comment.getId()));
+        List<Long> level = List.of(comment.getId());
+        while (!level.isEmpty()) {
+            level = commentRepository.findIdsByParentIds(level).stream()
+                .filter(moved::add)
+                .toList();
+            if (!level.isEmpty()) {
+                commentRepository.updateRootIds(level, rootId);
+            }
+        }
+    }
+
     /**
      * Validates the data for a comment and ensures the analogy exists.
      */
@@ -410,7 +588,21 @@ public class CommentService {
     @Transactional(readOnly = true)
     public List<Long> getSupportedCommentIdsByEmail(String email) {
         validateEmail(email);
-        return commentRepository.findSupportedCommentIdsByEmail(email);
+        List<Long> stored = commentRepository.findSupportedCommentIdsByEmail(email);
+        Map<Long, Boolean> pendingStates = supportWriteBuffer.pendingStates(SupportWriteBuffer.Target.COMMENT, email);
+        if (pendingStates.isEmpty()) {
+            return stored;
+        }
+        // Clicks still in the write-behind buffer take precedence over the stored rows
+        Set<Long> supported = new LinkedHashSet<>(stored);
+        pendingStates.forEach((id, state) -> {
+            if (state) {
+                supported.add(id);
+            } else {
+                supported.remove(id);
+            }
+        });
+        return new ArrayList<>(supported);
     }
 
 
@@ -425,7 +617,7 @@ public class CommentService {
             throw new IllegalArgumentException("Email is required");
         }
         
-        if (!Pattern.matches(EMAIL_REGEX, email)) {
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
             throw new IllegalArgumentException("Invalid email format");
         }
     }
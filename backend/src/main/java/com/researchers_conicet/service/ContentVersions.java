@@ -0,0 +1,162 @@
+package com.researchers_conicet.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Version stamp of each public collection, used as the validator of conditional GETs.
+ * A stamp changes after every committed write to its collection, so a request whose
+ * If-None-Match still matches can be answered with 304 without a query. Versions
+ * start from the boot time, so tags handed out before a restart never match again.
+ * <p>
+ * Stamps live in memory, so writes made by other nodes are picked up from the database:
+ * every {@code content-versions.refresh-ms} a fingerprint of each table (row count, last
+ * updated_at and the sum of the version columns) is read, and the stamp moves when it
+ * differs from the previous one. A change made elsewhere can therefore be answered with
+ * 304 for up to refresh-ms. Writes that none of these columns reflect are covered by
+ * {@code content-versions.max-age-ms}, after which a stamp moves anyway, as the detail
+ * DTO caches expire after their TTL. A local write moves the stamp right away and
+ * again at the next refresh.
+ */
+@Slf4j
+@Component
+public class ContentVersions {
+
+    public enum Content {
+        ANALOGIES("SELECT COUNT(*), MAX(updated_at), SUM(version), SUM(support_count) FROM analogies"),
+        NEWS("SELECT COUNT(*), MAX(updated_at), SUM(version) FROM news"),
+        RESEARCHES("SELECT COUNT(*), MAX(updated_at), SUM(version) FROM researches"),
+        GALLERY("SELECT COUNT(*), MAX(updated_at) FROM gallery_images");
+
+        /** Single-row query whose columns change with every write to the table */
+        private final String fingerprintSql;
+
+        Content(String fingerprintSql) {
+            this.fingerprintSql = fingerprintSql;
+        }
+    }
+
+    /**
+     * Version and last change of a collection
+     *
+     * @param version Increases with every change
+     * @param lastModified Epoch millis of the last change, truncated to seconds as in HTTP dates
+     */
+    public record Stamp(Content content, long version, long lastModified) {
+
+        /**
+         * Strong entity tag of a response built from this stamp and the given request parameters
+         */
+        public String etag(Object... params) {
+            CRC32 crc = new CRC32();
+            crc.update(Arrays.deepToString(params).getBytes(StandardCharsets.UTF_8));
+            return "\"" + content.name().toLowerCase() + "-" + Long.toHexString(version)
+                + "-" + Long.toHexString(crc.getValue()) + "\"";
+        }
+    }
+
+    private final Map<Content, AtomicReference<Stamp>> stamps = new EnumMap<>(Content.class);
+    /** Table fingerprints seen by the last refresh */
+    private final Map<Content, String> fingerprints = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxAgeMillis;
+
+    public ContentVersions(
+        JdbcTemplate jdbcTemplate,
+        @Value("${content-versions.max-age-ms:600000}") long maxAgeMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAgeMillis = maxAgeMillis;
+        long now = System.currentTimeMillis();
+        for (Content content : Content.values()) {
+            stamps.put(content, new AtomicReference<>(new Stamp(content, now, truncateToSeconds(now))));
+        }
+    }
+
+    /**
+     * @return The current stamp of a collection. Read it before loading the data it describes
+     */
+    public Stamp current(Content content) {
+        return stamps.get(content).get();
+    }
+
+    /**
+     * Marks a collection as changed once the current transaction commits, or right away
+     * when there is none. Readers that load the data between the write and the commit
+     * still see the old stamp, so a stale body is never tagged with the new version.
+     *
+     * @param content Collection that was written
+     */
+    public void changed(Content content) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(content);
+                }
+            });
+        } else {
+            bump(content);
+        }
+    }
+
+    /**
+     * Moves the stamp of every collection whose table changed since the last refresh,
+     * whoever wrote it, or whose stamp is older than max-age-ms
+     */
+    @Scheduled(fixedDelayString = "${content-versions.refresh-ms:5000}")
+    public void refresh() {
+        for (Content content : Content.values()) {
+            String fingerprint;
+            try {
+                fingerprint = jdbcTemplate.queryForObject(content.fingerprintSql, ContentVersions::fingerprint);
+            } catch (DataAccessException e) {
+                log.warn("Could not read the fingerprint of {}, keeping its stamp", content, e);
+                continue;
+            }
+            String previous = fingerprints.put(content, fingerprint);
+            if (!fingerprint.equals(previous)) {
+                bump(content);
+            } else if (System.currentTimeMillis() - current(content).lastModified() >= maxAgeMillis) {
+                log.debug("{} stamp reached its maximum age", content);
+                bump(content);
+            }
+        }
+    }
+
+    private static String fingerprint(ResultSet row, int rowNum) throws SQLException {
+        StringBuilder fingerprint = new StringBuilder();
+        for (int column = 1; column <= row.getMetaData().getColumnCount(); column++) {
+            fingerprint.append(row.getString(column)).append('|');
+        }
+        return fingerprint.toString();
+    }
+
+    private void bump(Content content) {
+        long now = truncateToSeconds(System.currentTimeMillis());
+        Stamp stamp = stamps.get(content).updateAndGet(previous ->
+            new Stamp(content, previous.version() + 1, Math.max(now, previous.lastModified())));
+        log.debug("{} changed, version {}", content, stamp.version());
+    }
+
+    private static long truncateToSeconds(long millis) {
+        return millis - millis % 1000;
+    }
+}
@@ -1,15 +1,31 @@
 package com.researchers_conicet.service;
 
+import com.researchers_conicet.dto.email_verification.BulkEmailResultDTO;
+import com.researchers_conicet.dto.email_verification.EmailCacheStatsDTO;
 import com.researchers_conicet.entity.EmailVerification;
 import com.researchers_conicet.exception.ResourceNotFoundException;
 import com.researchers_conicet.repository.EmailVerificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -19,8 +35,18 @@ public class EmailVerificationService {
 
     private final EmailVerificationRepository emailVerificationRepository;
 
-    public EmailVerificationService(EmailVerificationRepository emailVerificationRepository) {
+    /** Emails sent per statement by the bulk methods */
+    static final int BULK_CHUNK_SIZE = 500;
+
+    /** Registered emails kept in memory; only changed through this service */
+    private final RegisteredEmailCache registeredEmails = new RegisteredEmailCache();
+
+    public EmailVerificationService(
+        EmailVerificationRepository emailVerificationRepository,
+        MeterRegistry meterRegistry
+    ) {
         this.emailVerificationRepository = emailVerificationRepository;
+        registeredEmails.bindTo(meterRegistry);
     }
 
     /**
@@ -34,9 +60,46 @@ public class EmailVerificationService {
         if (!StringUtils.hasText(email)) {
             throw new IllegalArgumentException("Email cannot be empty");
         }
+        if (registeredEmails.isLoaded()) {
+            return registeredEmails.contains(email);
+        }
+        registeredEmails.recordMiss();
         return emailVerificationRepository.existsByEmail(email);
     }
 
+    /**
+     * Loads the registered email cache once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpRegisteredEmails() {
+        refreshRegisteredEmails();
+    }
+
+    /**
+     * Reloads the registered email cache from the database.
+     * Runs periodically so that changes made by other nodes are picked up.
+     *
+     * @return Number of registered emails
+     */
+    @Scheduled(
+        fixedDelayString = "${email-verification.cache.refresh-ms:300000}",
+        initialDelayString = "${email-verification.cache.refresh-ms:300000}"
+    )
+    public int refreshRegisteredEmails() {
+        int size = registeredEmails.reload(emailVerificationRepository::findAllEmails);
+        log.info("Loaded {} registered emails into the cache", size);
+        return size;
+    }
+
+    /**
+     * Gets the hit and miss counters of the registered email cache
+     *
+     * @return Cache statistics
+     */
+    public EmailCacheStatsDTO getCacheStats() {
+        return registeredEmails.stats();
+    }
+
     /**
      * Registers a new email for verification
      *
@@ -63,6 +126,7 @@ public class EmailVerificationService {
             verification.setEmail(email);
 
             EmailVerification savedVerification = emailVerificationRepository.save(verification);
+            afterCommit(() -> registeredEmails.add(email));
             log.info("Registered new email: {}", email);
             
             return savedVerification;
@@ -88,6 +152,7 @@ public class EmailVerificationService {
         try {
             if (isEmailRegistered(email)) {
                 emailVerificationRepository.deleteByEmail(email);
+                afterCommit(() -> registeredEmails.remove(email));
                 log.info("Removed email: {}", email);
             } else {
                 log.warn("Attempted to remove non-existent email: {}", email);
@@ -133,6 +198,9 @@ public class EmailVerificationService {
         if (!StringUtils.hasText(email)) {
             throw new IllegalArgumentException("Email cannot be empty");
         }
+        if (registeredEmails.isLoaded() && !registeredEmails.contains(email)) {
+            return Optional.empty();
+        }
         return emailVerificationRepository.findByEmail(email);
     }
 
@@ -140,36 +208,61 @@ public class EmailVerificationService {
      * Registers multiple emails
      *
      * @param emails List of emails to register
-     * @return List of registered EmailVerification entities
+     * @return List of registered EmailVerification entities, in request order
      * @throws IllegalArgumentException if email list is empty
      */
     @Transactional
     public List<EmailVerification> registerMultipleEmails(List<String> emails) {
-        if (emails == null || emails.isEmpty()) {
-            throw new IllegalArgumentException("Email list cannot be empty");
-        }
+        List<String> distinct = distinctEmails(emails);
+        registerEmailsInChunks(distinct);
 
-        return emails.stream()
-            .map(this::registerEmail)
+        Map<String, EmailVerification> stored = new HashMap<>();
+        for (List<String> chunk : chunks(distinct)) {
+            emailVerificationRepository.findAllById(chunk)
+                .forEach(verification -> stored.put(lowerCase(verification.getEmail()), verification));
+        }
+        return distinct.stream()
+            .map(email -> stored.get(lowerCase(email)))
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Registers a large list of emails with one multi-row insert per chunk,
+     * skipping the ones already registered
+     *
+     * @param emails List of emails to register
+     * @return Inserted rows per chunk
+     * @throws IllegalArgumentException if email list is empty
+     * @throws RuntimeException if registration fails
+     */
+    @Transactional
+    public BulkEmailResultDTO importEmails(List<String> emails) {
+        return registerEmailsInChunks(distinctEmails(emails));
+    }
+
     /**
      * Removes multiple emails
      *
      * @param emails List of emails to remove
+     * @return Deleted rows per chunk
      * @throws IllegalArgumentException if email list is empty
      * @throws RuntimeException if removal fails
      */
     @Transactional
-    public void removeMultipleEmails(List<String> emails) {
-        if (emails == null || emails.isEmpty()) {
-            throw new IllegalArgumentException("Email list cannot be empty");
-        }
+    public BulkEmailResultDTO removeMultipleEmails(List<String> emails) {
+        List<String> distinct = distinctEmails(emails);
+        BulkEmailResultDTO result = new BulkEmailResultDTO();
 
         try {
-            emails.forEach(this::removeEmail);
-            log.info("Removed multiple emails: {}", emails);
+            for (List<String> chunk : chunks(distinct)) {
+                int deleted = emailVerificationRepository.deleteMultipleEmails(chunk);
+                result.addChunk(chunk.size(), deleted);
+                log.info("Removed {} of {} emails in chunk {}", deleted, chunk.size(), result.getChunks().size() - 1);
+            }
+            afterCommit(() -> distinct.forEach(registeredEmails::remove));
+            log.info("Removed {} of {} emails", result.getAffected(), result.getRequested());
+            return result;
         } catch (Exception e) {
             log.error("Error removing multiple emails", e);
             throw new RuntimeException("Failed to remove multiple emails", e);
@@ -184,10 +277,8 @@ public class EmailVerificationService {
      */
     public List<String> getAllRegisteredEmails() {
         try {
-            List<EmailVerification> verifications = emailVerificationRepository.findAll();
-            return verifications.stream()
-                .map(EmailVerification::getEmail)
-                .collect(Collectors.toList());
+            // Only the email column; the full export streams every field instead
+            return emailVerificationRepository.findAllEmails();
         } catch (Exception e) {
             log.error("Error retrieving all registered emails", e);
             throw new RuntimeException("Failed to retrieve registered emails", e);
@@ -204,6 +295,7 @@ public class EmailVerificationService {
         try {
             long count = emailVerificationRepository.count();
             emailVerificationRepository.deleteAll();
+            afterCommit(registeredEmails::clear);
             log.info("Removed all {} email registrations", count);
         } catch (Exception e) {
             log.error("Error removing all emails", e);
@@ -232,14 +324,102 @@ public class EmailVerificationService {
             throw new IllegalArgumentException("Email list cannot be empty");
         }
 
+        Set<String> registered = new HashSet<>();
+        if (registeredEmails.isLoaded()) {
+            emails.stream()
+                .filter(email -> StringUtils.hasText(email) && registeredEmails.contains(email))
+                .forEach(email -> registered.add(lowerCase(email)));
+        } else {
+            registeredEmails.recordMiss();
+            for (List<String> chunk : chunks(distinctEmails(emails))) {
+                emailVerificationRepository.findExistingEmails(chunk)
+                    .forEach(email -> registered.add(lowerCase(email)));
+            }
+        }
+
         return emails.stream()
             .map(email -> new EmailRegistrationStatus(
-                email, 
-                isEmailRegistered(email)
+                email,
+                email != null && registered.contains(lowerCase(email))
             ))
             .collect(Collectors.toList());
     }
 
+    /**
+     * Inserts the emails chunk by chunk and schedules the cache update
+     */
+    private BulkEmailResultDTO registerEmailsInChunks(List<String> emails) {
+        BulkEmailResultDTO result = new BulkEmailResultDTO();
+
+        try {
+            for (List<String> chunk : chunks(emails)) {
+                int inserted = emailVerificationRepository.insertIgnoringDuplicates(chunk);
+                result.addChunk(chunk.size(), inserted);
+                log.info("Registered {} of {} emails in chunk {}", inserted, chunk.size(), result.getChunks().size() - 1);
+            }
+            afterCommit(() -> emails.forEach(registeredEmails::add));
+            log.info("Registered {} new emails out of {}", result.getAffected(), result.getRequested());
+            return result;
+        } catch (Exception e) {
+            log.error("Error registering multiple emails", e);
+            throw new RuntimeException("Failed to register multiple emails", e);
+        }
+    }
+
+    /**
+     * Trims the emails and drops repeated ones, keeping the first occurrence
+     *
+     * @throws IllegalArgumentException if the list or any email is empty
+     */
+    private List<String> distinctEmails(List<String> emails) {
+        if (emails == null || emails.isEmpty()) {
+            throw new IllegalArgumentException("Email list cannot be empty");
+        }
+
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String email : emails) {
+            if (!StringUtils.hasText(email)) {
+                throw new IllegalArgumentException("Email cannot be empty");
+            }
+            String trimmed = email.trim();
+            distinct.putIfAbsent(lowerCase(trimmed), trimmed);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    /**
+     * Splits a list into chunks of at most BULK_CHUNK_SIZE elements
+     */
+    private static List<List<String>> chunks(List<String> emails) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(emails.subList(from, Math.min(from + BULK_CHUNK_SIZE, emails.size())));
+        }
+        return chunks;
+    }
+
+    /** Emails are compared case-insensitively, like the column collation */
+    private static String lowerCase(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Applies a cache change once the current transaction commits,
+     * or right away when there is no transaction
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /**
      * Represents the registration status of an email
      */
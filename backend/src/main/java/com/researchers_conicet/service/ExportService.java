@@ -0,0 +1,250 @@
+package com.researchers_conicet.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.researchers_conicet.dto.export.AnalogyExportDTO;
+import com.researchers_conicet.dto.export.CommentExportDTO;
+import com.researchers_conicet.dto.export.NewsExportDTO;
+import com.researchers_conicet.dto.export.ResearchExportDTO;
+import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.CommentRepository;
+import com.researchers_conicet.repository.EmailVerificationRepository;
+import com.researchers_conicet.repository.GalleryRepository;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.repository.ResearchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes full copies of the site's content as NDJSON, one record per line.
+ * <p>
+ * Rows are read through forward-only repository streams and never become entities.
+ * Element collections are looked up for {@link #CHUNK_SIZE} rows at a time with one
+ * IN query per collection, and each chunk is written and flushed before the next one
+ * is read, so memory use does not depend on the size of the tables.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    /** Rows whose collections are looked up together */
+    static final int CHUNK_SIZE = 500;
+
+    private final AnalogyRepository analogyRepository;
+    private final CommentRepository commentRepository;
+    private final NewsRepository newsRepository;
+    private final ResearchRepository researchRepository;
+    private final GalleryRepository galleryRepository;
+    private final EmailVerificationRepository emailVerificationRepository;
+    private final ObjectWriter lineWriter;
+
+    public ExportService(
+        AnalogyRepository analogyRepository,
+        CommentRepository commentRepository,
+        NewsRepository newsRepository,
+        ResearchRepository researchRepository,
+        GalleryRepository galleryRepository,
+        EmailVerificationRepository emailVerificationRepository,
+        ObjectMapper objectMapper
+    ) {
+        this.analogyRepository = analogyRepository;
+        this.commentRepository = commentRepository;
+        this.newsRepository = newsRepository;
+        this.researchRepository = researchRepository;
+        this.galleryRepository = galleryRepository;
+        this.emailVerificationRepository = emailVerificationRepository;
+        // The caller owns the output stream, e.g. to finish a gzip trailer after the last line
+        this.lineWriter = objectMapper.writer()
+            .withRootValueSeparator("\n")
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes every analogy with its authors, links, media links and support emails
+     *
+     * @param out Destination, left open
+     * @return Number of analogies written
+     */
+    public long exportAnalogies(OutputStream out) throws IOException {
+        try (Stream<AnalogyExportDTO> rows = analogyRepository.streamAllForExport()) {
+            return writeInChunks(rows, out, AnalogyExportDTO::getId, (chunk, ids) -> {
+                Map<Long, AnalogyExportDTO> byId = byId(chunk, AnalogyExportDTO::getId);
+                fill(analogyRepository.findAuthorsByIds(ids), byId, (dto, row) -> dto.getAuthors().add((String) row[1]));
+                fill(analogyRepository.findLinksByIds(ids), byId, (dto, row) -> dto.getLinks().add((String) row[1]));
+                fill(analogyRepository.findMediaLinksByIds(ids), byId, (dto, row) -> dto.getMediaLinks().add(mediaLink(row)));
+                fill(analogyRepository.findSupportEmailsByIds(ids), byId, (dto, row) -> dto.getSupportEmails().add((String) row[1]));
+            }, "analogies");
+        }
+    }
+
+    /**
+     * Writes every comment with its analogy id, parent id and support emails
+     *
+     * @param out Destination, left open
+     * @return Number of comments written
+     */
+    public long exportComments(OutputStream out) throws IOException {
+        try (Stream<CommentExportDTO> rows = commentRepository.streamAllForExport()) {
+            return writeInChunks(rows, out, CommentExportDTO::getId, (chunk, ids) -> {
+                Map<Long, CommentExportDTO> byId = byId(chunk, CommentExportDTO::getId);
+                fill(commentRepository.findSupportEmailsByIds(ids), byId, (dto, row) -> dto.getSupportEmails().add((String) row[1]));
+            }, "comments");
+        }
+    }
+
+    /**
+     * Writes every news article with its authors, links and media links
+     *
+     * @param out Destination, left open
+     * @return Number of news articles written
+     */
+    public long exportNews(OutputStream out) throws IOException {
+        try (Stream<NewsExportDTO> rows = newsRepository.streamAllForExport()) {
+            return writeInChunks(rows, out, NewsExportDTO::getId, (chunk, ids) -> {
+                Map<Long, NewsExportDTO> byId = byId(chunk, NewsExportDTO::getId);
+                fill(newsRepository.findAuthorsByIds(ids), byId, (dto, row) -> dto.getAuthors().add((String) row[1]));
+                fill(newsRepository.findLinksByIds(ids), byId, (dto, row) -> dto.getLinks().add((String) row[1]));
+                fill(newsRepository.findMediaLinksByIds(ids), byId, (dto, row) -> dto.getMediaLinks().add(mediaLink(row)));
+            }, "news articles");
+        }
+    }
+
+    /**
+     * Writes every research with its authors and links
+     *
+     * @param out Destination, left open
+     * @return Number of researches written
+     */
+    public long exportResearches(OutputStream out) throws IOException {
+        try (Stream<ResearchExportDTO> rows = researchRepository.streamAllForExport()) {
+            return writeInChunks(rows, out, ResearchExportDTO::getId, (chunk, ids) -> {
+                Map<Long, ResearchExportDTO> byId = byId(chunk, ResearchExportDTO::getId);
+                fill(researchRepository.findAuthorsByIds(ids), byId, (dto, row) -> dto.getAuthors().add((String) row[1]));
+                fill(researchRepository.findLinksByIds(ids), byId, (dto, row) -> dto.getLinks().add((String) row[1]));
+            }, "researches");
+        }
+    }
+
+    /**
+     * Writes every gallery image
+     *
+     * @param out Destination, left open
+     * @return Number of images written
+     */
+    public long exportGalleryImages(OutputStream out) throws IOException {
+        try (Stream<?> rows = galleryRepository.streamAllForExport()) {
+            return writeAll(rows, out, "gallery images");
+        }
+    }
+
+    /**
+     * Writes every registered email with its username and registration date
+     *
+     * @param out Destination, left open
+     * @return Number of emails written
+     */
+    public long exportRegisteredEmails(OutputStream out) throws IOException {
+        try (Stream<?> rows = emailVerificationRepository.streamAllForExport()) {
+            return writeAll(rows, out, "registered emails");
+        }
+    }
+
+    /**
+     * Writes rows that need no further lookups, flushing every CHUNK_SIZE lines
+     */
+    private long writeAll(Stream<?> rows, OutputStream out, String what) throws IOException {
+        long start = System.currentTimeMillis();
+        long written = 0;
+        try (SequenceWriter lines = lineWriter.writeValues(out)) {
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                lines.write(iterator.next());
+                if (++written % CHUNK_SIZE == 0) {
+                    lines.flush();
+                }
+            }
+        }
+        endExport(out, written, what, start);
+        return written;
+    }
+
+    /**
+     * Reads rows CHUNK_SIZE at a time, lets the caller fill their collections
+     * with the ids of the chunk, then writes and flushes the chunk
+     */
+    private <T> long writeInChunks(
+        Stream<T> rows,
+        OutputStream out,
+        Function<T, Long> id,
+        BiConsumer<List<T>, List<Long>> fillChunk,
+        String what
+    ) throws IOException {
+        long start = System.currentTimeMillis();
+        long written = 0;
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (SequenceWriter lines = lineWriter.writeValues(out)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    fillChunk.accept(chunk, chunk.stream().map(id).collect(Collectors.toList()));
+                    lines.writeAll(chunk);
+                    lines.flush();
+                    written += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        endExport(out, written, what, start);
+        return written;
+    }
+
+    private void endExport(OutputStream out, long written, String what, long start) throws IOException {
+        if (written > 0) {
+            // NDJSON ends every line, including the last one
+            out.write('\n');
+        }
+        out.flush();
+        log.info("Exported {} {} in {} ms", written, what, System.currentTimeMillis() - start);
+    }
+
+    private static <T> Map<Long, T> byId(Collection<T> chunk, Function<T, Long> id) {
+        return chunk.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    /**
+     * Adds each (owner id, ...) row to the DTO of its owner
+     */
+    private static <T> void fill(List<Object[]> rows, Map<Long, T> byId, BiConsumer<T, Object[]> add) {
+        for (Object[] row : rows) {
+            T dto = byId.get((Long) row[0]);
+            if (dto != null) {
+                add.accept(dto, row);
+            }
+        }
+    }
+
+    private static MediaLinkDTO mediaLink(Object[] row) {
+        MediaLinkDTO dto = new MediaLinkDTO();
+        dto.setUrl((String) row[1]);
+        dto.setMediaType((String) row[2]);
+        return dto;
+    }
+}
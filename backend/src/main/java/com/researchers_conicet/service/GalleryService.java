@@ -8,6 +8,7 @@ import com.researchers_conicet.dto.gallery.GalleryUpdateDTO;
 import com.researchers_conicet.entity.GalleryImage;
 import com.researchers_conicet.exception.ResourceNotFoundException;
 import com.researchers_conicet.repository.GalleryRepository;
+import com.researchers_conicet.service.ContentVersions.Content;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -24,9 +25,11 @@ import org.springframework.data.domain.Pageable;
 public class GalleryService {
 
     private GalleryRepository repository;
+    private final ContentVersions contentVersions;
     
-    public GalleryService(GalleryRepository repository) {
+    public GalleryService(GalleryRepository repository, ContentVersions contentVersions) {
         this.repository = repository;
+        this.contentVersions = contentVersions;
     }
 
     /**
@@ -43,6 +46,7 @@ public class GalleryService {
 
         try {
             GalleryImage savedImage = repository.save(image);
+            contentVersions.changed(Content.GALLERY);
             log.info("Created gallery image with url: {}", savedImage.getUrl());
             return savedImage;
         } catch (Exception e) {
@@ -58,6 +62,7 @@ public class GalleryService {
         image.setCaption(update.getCaption());
         try {
             GalleryImage updatedImage = repository.save(image);
+            contentVersions.changed(Content.GALLERY);
             log.info("Updated caption for image with url: {}", updatedImage.getUrl());
             return updatedImage;
         } catch (Exception e) {
@@ -73,6 +78,7 @@ public class GalleryService {
         }
         try {
             repository.deleteById(url);
+            contentVersions.changed(Content.GALLERY);
             log.info("Deleted gallery image with url: {}", url);
         } catch (Exception e) {
             log.error("Error deleting gallery image", e);
@@ -0,0 +1,147 @@
+package com.researchers_conicet.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.researchers_conicet.dto.bulk_import.BulkImportResultDTO;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads newline-delimited JSON records from a stream and saves them in chunks.
+ * <p>
+ * Each non-blank line is parsed into a request DTO and turned into an entity by the
+ * caller, which also applies its validation rules; the entity's own Bean Validation
+ * constraints are checked before it joins a chunk, so a record that would fail at flush
+ * time cannot sink the records saved with it. A record that cannot be parsed or fails
+ * validation is reported with its line number and skipped. Valid records are
+ * saved {@link #CHUNK_SIZE} at a time, each chunk in its own transaction, so a failed
+ * chunk only loses its own records. At most one chunk is held in memory.
+ */
+@Slf4j
+@Component
+public class NdjsonImporter {
+
+    /** Records saved per transaction, a multiple of the JDBC batch size */
+    static final int CHUNK_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    public NdjsonImporter(
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        Validator validator
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Imports every record of an NDJSON stream
+     *
+     * @param input UTF-8 NDJSON body, one record per line
+     * @param type Class each line is parsed into
+     * @param toEntity Validates a record and builds the entity to save;
+     *                 any exception it throws rejects the record
+     * @param saveChunk Saves a list of entities; runs inside a new transaction
+     * @return Counts and the rejected lines
+     * @throws UncheckedIOException if the stream cannot be read; chunks already committed stay saved
+     */
+    public <T, E> BulkImportResultDTO importRecords(
+        InputStream input,
+        Class<T> type,
+        Function<T, E> toEntity,
+        Consumer<List<E>> saveChunk
+    ) {
+        ObjectReader reader = objectMapper.readerFor(type);
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Integer> chunkLines = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            int lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setReceived(result.getReceived() + 1);
+
+                try {
+                    T record = reader.readValue(line);
+                    if (record == null) {
+                        throw new IllegalArgumentException("Record is null");
+                    }
+                    E entity = toEntity.apply(record);
+                    Set<ConstraintViolation<E>> violations = validator.validate(entity);
+                    if (!violations.isEmpty()) {
+                        throw new IllegalArgumentException(violations.iterator().next().getMessage());
+                    }
+                    chunk.add(entity);
+                    chunkLines.add(lineNumber);
+                } catch (JsonProcessingException e) {
+                    result.addError(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                } catch (RuntimeException e) {
+                    result.addError(lineNumber, e.getMessage());
+                    continue;
+                }
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    saveChunk(chunk, chunkLines, saveChunk, result);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import stream", e);
+        }
+
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, chunkLines, saveChunk, result);
+        }
+        log.info("Imported {} of {} {} records in {} chunks, {} failed",
+            result.getImported(), result.getReceived(), type.getSimpleName(), result.getChunks(), result.getFailed());
+        return result;
+    }
+
+    private <E> void saveChunk(
+        List<E> chunk,
+        List<Integer> chunkLines,
+        Consumer<List<E>> saveChunk,
+        BulkImportResultDTO result
+    ) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveChunk.accept(chunk));
+            result.addChunk(chunk.size());
+        } catch (RuntimeException e) {
+            log.error("Error saving import chunk of {} records starting at line {}", chunk.size(), chunkLines.get(0), e);
+            String message = "Chunk could not be saved: " + e.getMessage();
+            chunkLines.forEach(line -> result.addError(line, message));
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+}
@@ -2,21 +2,40 @@ package com.researchers_conicet.service;
 
 import com.researchers_conicet.entity.News;
 import com.researchers_conicet.entity.MediaLink;
+import com.researchers_conicet.dto.bulk_import.BulkImportResultDTO;
 import com.researchers_conicet.dto.news.NewsRequestDTO;
 import com.researchers_conicet.dto.news.NewsResponseDTO;
+import com.researchers_conicet.dto.news.NewsSummaryDTO;
 import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
+import com.researchers_conicet.dto.pagination.KeysetCursor;
 import com.researchers_conicet.repository.NewsRepository;
 import com.researchers_conicet.exception.ResourceNotFoundException;
+import com.researchers_conicet.search.SearchDocument;
+import com.researchers_conicet.search.SearchDocumentType;
+import com.researchers_conicet.search.SearchIndex;
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.service.ContentVersions.Content;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.hibernate.Hibernate;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,14 +49,27 @@ import java.util.stream.Collectors;
 public class NewsService {
 
     private final NewsRepository newsRepository;
+    private final SearchIndex searchIndex;
+    private final NdjsonImporter ndjsonImporter;
+    private final ContentVersions contentVersions;
 
     /** Maximum number of authors allowed for a news article */
     private static final int MAX_AUTHORS = 10;
     /** Maximum number of links allowed for a news article */
     private static final int MAX_LINKS = 5;
+    /** Maximum number of news articles returned by a global search */
+    private static final int MAX_SEARCH_RESULTS = 100;
 
-    public NewsService(NewsRepository newsRepository) {
+    public NewsService(
+        NewsRepository newsRepository,
+        SearchIndex searchIndex,
+        NdjsonImporter ndjsonImporter,
+        ContentVersions contentVersions
+    ) {
         this.newsRepository = newsRepository;
+        this.searchIndex = searchIndex;
+        this.ndjsonImporter = ndjsonImporter;
+        this.contentVersions = contentVersions;
     }
 
     /**
@@ -50,26 +82,15 @@ public class NewsService {
         validateNewsData(requestDTO);
 
         try {
-            News news = new News();
-            news.setTitle(requestDTO.getTitle());
-            news.setContent(requestDTO.getContent());
-            news.setAuthors(requestDTO.getAuthors());
-            news.setLinks(requestDTO.getLinks());
-            news.setMediaLinks(
-                requestDTO.getMediaLinks() == null ? new HashSet<>() : requestDTO.getMediaLinks()
-                    .stream()
-                    .map(dto -> new MediaLink(dto.getUrl(), dto.getMediaType()))
-                    .collect(Collectors.toSet())
-            );
-            news.setPreviewImage(requestDTO.getPreviewImage());
-
-            News savedNews = newsRepository.save(news);
+            News savedNews = newsRepository.save(toNewNews(requestDTO));
             newsRepository.flush();
             log.info("Created news article with ID: {}", savedNews.getId());
 
             Hibernate.initialize(savedNews.getAuthors());
             Hibernate.initialize(savedNews.getLinks());
             Hibernate.initialize(savedNews.getMediaLinks());
+            searchIndex.index(SearchDocument.of(savedNews));
+            contentVersions.changed(Content.NEWS);
 
             return mapToDTO(savedNews);
         } catch (Exception e) {
@@ -79,9 +100,33 @@ public class NewsService {
     }
 
     /**
-     * Retrieves a news article by its ID
+     * Imports news articles from an NDJSON stream, one NewsRequestDTO per line.
+     * Records are checked with the same rules as createNews; rejected ones are
+     * reported by line and the rest are saved in chunks, each in its own transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResultDTO importNews(InputStream input) {
+        log.info("Importing news articles");
+        return ndjsonImporter.importRecords(
+            input,
+            NewsRequestDTO.class,
+            requestDTO -> {
+                validateNewsData(requestDTO);
+                return toNewNews(requestDTO);
+            },
+            news -> {
+                newsRepository.saveAll(news)
+                    .forEach(article -> searchIndex.index(SearchDocument.of(article)));
+                contentVersions.changed(Content.NEWS);
+            }
+        );
+    }
+
+    /**
+     * Retrieves a news article by its ID, through the news cache
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.NEWS, key = "#id", sync = true)
     public NewsResponseDTO getNews(Long id) {
         News news = findNewsById(id);
         Hibernate.initialize(news.getAuthors());
@@ -104,10 +149,72 @@ public class NewsService {
             });
     }
 
+    /**
+     * Retrieves lightweight news summaries for list views
+     */
+    @Transactional(readOnly = true)
+    public Page<NewsSummaryDTO> getNewsSummaries(Pageable pageable) {
+        Page<NewsSummaryDTO> summaries = newsRepository.findSummaries(pageable);
+        List<Long> ids = summaries.map(NewsSummaryDTO::getId).getContent();
+        if (ids.isEmpty()) {
+            return summaries;
+        }
+
+        Map<Long, Set<String>> authors = new HashMap<>();
+        for (Object[] row : newsRepository.findAuthorsByIds(ids)) {
+            authors.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+
+        Map<Long, String> previews = new HashMap<>();
+        for (Object[] row : newsRepository.findPreviewImageUrlsByIds(ids)) {
+            previews.put((Long) row[0], (String) row[1]);
+        }
+
+        summaries.forEach(summary -> {
+            summary.setAuthors(authors.getOrDefault(summary.getId(), new HashSet<>()));
+            if (summary.getPreviewImage() == null) {
+                summary.setPreviewImage(previews.get(summary.getId()));
+            }
+        });
+        return summaries;
+    }
+
+    /**
+     * Retrieves news articles with keyset pagination, newest first, without a count query
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NewsResponseDTO> getNewsByCursor(String cursor, int size) {
+        if (size < 1 || size > CursorPageDTO.MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + CursorPageDTO.MAX_SIZE);
+        }
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<News> rows;
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = newsRepository.findKeysetPageAfter(position.createdAt(), position.id(), limit);
+        } else {
+            rows = newsRepository.findFirstKeysetPage(limit);
+        }
+
+        return CursorPageDTO.of(
+            rows,
+            size,
+            row -> new KeysetCursor(row.getCreatedAt(), row.getId()),
+            row -> {
+                Hibernate.initialize(row.getAuthors());
+                Hibernate.initialize(row.getLinks());
+                Hibernate.initialize(row.getMediaLinks());
+                return mapToDTO(row);
+            }
+        );
+    }
+
     /**
      * Updates an existing news article
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.NEWS, key = "#id")
     public NewsResponseDTO updateNews(Long id, NewsRequestDTO requestDTO) {
         log.info("Updating news article with ID: {}", id);
         validateNewsData(requestDTO);
@@ -133,6 +240,8 @@ public class NewsService {
             Hibernate.initialize(updatedNews.getAuthors());
             Hibernate.initialize(updatedNews.getLinks());
             Hibernate.initialize(updatedNews.getMediaLinks());
+            searchIndex.index(SearchDocument.of(updatedNews));
+            contentVersions.changed(Content.NEWS);
 
             return mapToDTO(updatedNews);
         } catch (Exception e) {
@@ -142,10 +251,13 @@ public class NewsService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.NEWS, key = "#id")
     public void deleteNews(Long id) {
         log.info("Deleting news article with ID: {}", id);
         News news = findNewsById(id);
         newsRepository.delete(news);
+        searchIndex.delete(SearchDocumentType.NEWS, id);
+        contentVersions.changed(Content.NEWS);
         log.info("Deleted news article with ID: {}", id);
     }
 
@@ -169,13 +281,25 @@ public class NewsService {
     }
 
     /**
-     * Performs a global search across title and authors
+     * Performs a global search across title, content and authors, best matches first
      */
     @Transactional(readOnly = true)
     public List<NewsResponseDTO> searchEverywhere(String query) {
         log.info("Searching news articles everywhere: {}", query);
-        return newsRepository.searchEverywhere(query)
+        if (!StringUtils.hasText(query)) {
+            throw new IllegalArgumentException("Search term cannot be empty");
+        }
+        List<Long> ids = searchIndex.searchIds(SearchDocumentType.NEWS, query, MAX_SEARCH_RESULTS);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, News> news = newsRepository.findAllById(ids)
             .stream()
+            .collect(Collectors.toMap(News::getId, Function.identity()));
+        return ids.stream()
+            .map(news::get)
+            .filter(Objects::nonNull)
             .map(this::mapToDTO)
             .collect(Collectors.toList());
     }
@@ -188,6 +312,25 @@ public class NewsService {
             .orElseThrow(() -> new ResourceNotFoundException("News article not found with id: " + id));
     }
 
+    /**
+     * Builds a new, unsaved news article from request data
+     */
+    private News toNewNews(NewsRequestDTO requestDTO) {
+        News news = new News();
+        news.setTitle(requestDTO.getTitle());
+        news.setContent(requestDTO.getContent());
+        news.setAuthors(requestDTO.getAuthors());
+        news.setLinks(requestDTO.getLinks() == null ? new HashSet<>() : requestDTO.getLinks());
+        news.setMediaLinks(
+            requestDTO.getMediaLinks() == null ? new HashSet<>() : requestDTO.getMediaLinks()
+                .stream()
+                .map(dto -> new MediaLink(dto.getUrl(), dto.getMediaType()))
+                .collect(Collectors.toSet())
+        );
+        news.setPreviewImage(requestDTO.getPreviewImage());
+        return news;
+    }
+
     /**
      * Validates news data constraints
      */
@@ -0,0 +1,183 @@
+package com.researchers_conicet.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.researchers_conicet.dto.email_verification.EmailCacheStatsDTO;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * In-memory copy of the registered email set.
+ * Reads are lock free. A reload reads the table without holding the write lock;
+ * writes made meanwhile are recorded and replayed on the new set before it is
+ * swapped in, so they are not lost.
+ * Until the first reload the cache is not loaded and callers must ask the database.
+ * The counters are published as registered.emails.cache.* meters.
+ */
+class RegisteredEmailCache implements MeterBinder {
+
+    private volatile Set<String> emails = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded = false;
+    private volatile LocalDateTime lastRefresh;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** Guards writes and the swap at the end of a reload */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Only one reload reads the table at a time */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    /** Writes made while a reload reads the table, null otherwise; guarded by lock */
+    private List<Consumer<Set<String>>> writesDuringReload;
+
+    /**
+     * @return true once the cache holds the full table
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Answers a lookup from memory. Only valid while the cache is loaded.
+     *
+     * @param email Email to look up
+     * @return true if the email is registered
+     */
+    boolean contains(String email) {
+        boolean found = emails.contains(normalize(email));
+        (found ? hits : negativeHits).incrementAndGet();
+        return found;
+    }
+
+    /**
+     * Records a lookup that had to go to the database
+     */
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void add(String email) {
+        String normalized = normalize(email);
+        write(set -> set.add(normalized));
+    }
+
+    void remove(String email) {
+        String normalized = normalize(email);
+        write(set -> set.remove(normalized));
+    }
+
+    void clear() {
+        write(Set::clear);
+    }
+
+    /**
+     * Replaces the cached set with a fresh copy of the table
+     *
+     * @param loader Reads every registered email from the database
+     * @return Number of cached emails after the reload
+     */
+    int reload(Supplier<Collection<String>> loader) {
+        reloadLock.lock();
+        try {
+            recordWrites(new ArrayList<>());
+            Set<String> fresh = ConcurrentHashMap.newKeySet();
+            try {
+                for (String email : loader.get()) {
+                    fresh.add(normalize(email));
+                }
+            } catch (RuntimeException e) {
+                recordWrites(null);
+                throw e;
+            }
+
+            lock.lock();
+            try {
+                writesDuringReload.forEach(write -> write.accept(fresh));
+                writesDuringReload = null;
+                emails = fresh;
+                loaded = true;
+                lastRefresh = LocalDateTime.now();
+                return fresh.size();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    EmailCacheStatsDTO stats() {
+        EmailCacheStatsDTO stats = new EmailCacheStatsDTO();
+        stats.setLoaded(loaded);
+        stats.setSize(emails.size());
+        stats.setHits(hits.get());
+        stats.setNegativeHits(negativeHits.get());
+        stats.setMisses(misses.get());
+        stats.setLastRefresh(lastRefresh);
+        return stats;
+    }
+
+    /**
+     * Publishes lookups by result (hit, negative_hit when the email is not registered,
+     * miss when the database had to answer), the size and whether the cache is loaded
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lookups(registry, "hit", hits);
+        lookups(registry, "negative_hit", negativeHits);
+        lookups(registry, "miss", misses);
+        Gauge.builder("registered.emails.cache.size", this, cache -> cache.emails.size())
+            .description("Registered emails held in memory")
+            .register(registry);
+        Gauge.builder("registered.emails.cache.loaded", this, cache -> cache.loaded ? 1 : 0)
+            .description("1 once the registered email cache holds the full table")
+            .register(registry);
+    }
+
+    private static void lookups(MeterRegistry registry, String result, AtomicLong counter) {
+        FunctionCounter.builder("registered.emails.cache.lookups", counter, AtomicLong::get)
+            .description("Registered email lookups by how they were answered")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void write(Consumer<Set<String>> write) {
+        lock.lock();
+        try {
+            write.accept(emails);
+            if (writesDuringReload != null) {
+                writesDuringReload.add(write);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordWrites(List<Consumer<Set<String>>> writes) {
+        lock.lock();
+        try {
+            writesDuringReload = writes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The email column uses a case-insensitive collation, so the cache does too */
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,19 +1,39 @@
 package com.researchers_conicet.service;
 
+import com.researchers_conicet.dto.bulk_import.BulkImportResultDTO;
 import com.researchers_conicet.dto.research.ResearchRequestDTO;
 import com.researchers_conicet.dto.research.ResearchResponseDTO;
+import com.researchers_conicet.dto.research.ResearchSummaryDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
+import com.researchers_conicet.dto.pagination.KeysetCursor;
 import com.researchers_conicet.entity.Research;
 import com.researchers_conicet.exception.ResourceNotFoundException;
 import com.researchers_conicet.repository.ResearchRepository;
+import com.researchers_conicet.search.SearchDocument;
+import com.researchers_conicet.search.SearchDocumentType;
+import com.researchers_conicet.search.SearchIndex;
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.service.ContentVersions.Content;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,12 +42,24 @@ import java.util.stream.Collectors;
 public class ResearchService {
 
     private final ResearchRepository researchRepository;
+    private final SearchIndex searchIndex;
+    private final NdjsonImporter ndjsonImporter;
+    private final ContentVersions contentVersions;
 
     private static final int MAX_AUTHORS = 10;
     private static final int MAX_LINKS = 5;
+    private static final int MAX_SEARCH_RESULTS = 100;
 
-    public ResearchService(ResearchRepository researchRepository) {
+    public ResearchService(
+        ResearchRepository researchRepository,
+        SearchIndex searchIndex,
+        NdjsonImporter ndjsonImporter,
+        ContentVersions contentVersions
+    ) {
         this.researchRepository = researchRepository;
+        this.searchIndex = searchIndex;
+        this.ndjsonImporter = ndjsonImporter;
+        this.contentVersions = contentVersions;
     }
 
     @Transactional
@@ -37,15 +69,11 @@ public class ResearchService {
         validateResearchData(requestDTO);
 
         try {
-            Research research = new Research();
-            research.setResearchAbstract(requestDTO.getResearchAbstract());
-            research.setAuthors(requestDTO.getAuthors());
-            research.setLinks(requestDTO.getLinks());
-            research.setPdfPath(requestDTO.getPdfPath());
-
-            Research savedResearch = researchRepository.save(research);
+            Research savedResearch = researchRepository.save(toNewResearch(requestDTO));
             Hibernate.initialize(savedResearch.getAuthors());
             Hibernate.initialize(savedResearch.getLinks());
+            searchIndex.index(SearchDocument.of(savedResearch));
+            contentVersions.changed(Content.RESEARCHES);
 
             return mapToDTO(savedResearch);
         } catch (Exception e) {
@@ -54,7 +82,31 @@ public class ResearchService {
         }
     }
 
+    /**
+     * Imports researches from an NDJSON stream, one ResearchRequestDTO per line.
+     * Records are checked with the same rules as createResearch; rejected ones are
+     * reported by line and the rest are saved in chunks, each in its own transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResultDTO importResearches(InputStream input) {
+        log.info("Importing researches");
+        return ndjsonImporter.importRecords(
+            input,
+            ResearchRequestDTO.class,
+            requestDTO -> {
+                validateResearchData(requestDTO);
+                return toNewResearch(requestDTO);
+            },
+            researches -> {
+                researchRepository.saveAll(researches)
+                    .forEach(research -> searchIndex.index(SearchDocument.of(research)));
+                contentVersions.changed(Content.RESEARCHES);
+            }
+        );
+    }
+
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.RESEARCHES, key = "#id", sync = true)
     public ResearchResponseDTO getResearch(Long id) {
         Research research = findResearchById(id);
         Hibernate.initialize(research.getAuthors());
@@ -71,7 +123,54 @@ public class ResearchService {
         });
     }
 
+    @Transactional(readOnly = true)
+    public Page<ResearchSummaryDTO> getResearchSummaries(Pageable pageable) {
+        Page<ResearchSummaryDTO> summaries = researchRepository.findSummaries(pageable);
+        List<Long> ids = summaries.map(ResearchSummaryDTO::getId).getContent();
+        if (ids.isEmpty()) {
+            return summaries;
+        }
+
+        Map<Long, Set<String>> authors = new HashMap<>();
+        for (Object[] row : researchRepository.findAuthorsByIds(ids)) {
+            authors.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+
+        summaries.forEach(summary -> {
+            summary.setAuthors(authors.getOrDefault(summary.getId(), new HashSet<>()));
+        });
+        return summaries;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ResearchResponseDTO> getResearchesByCursor(String cursor, int size) {
+        if (size < 1 || size > CursorPageDTO.MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + CursorPageDTO.MAX_SIZE);
+        }
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<Research> rows;
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = researchRepository.findKeysetPageAfter(position.createdAt(), position.id(), limit);
+        } else {
+            rows = researchRepository.findFirstKeysetPage(limit);
+        }
+
+        return CursorPageDTO.of(
+            rows,
+            size,
+            row -> new KeysetCursor(row.getCreatedAt(), row.getId()),
+            row -> {
+                Hibernate.initialize(row.getAuthors());
+                Hibernate.initialize(row.getLinks());
+                return mapToDTO(row);
+            }
+        );
+    }
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.RESEARCHES, key = "#id")
     public ResearchResponseDTO updateResearch(Long id, ResearchRequestDTO requestDTO) {
         log.info("Updating research with ID: {}", id);
 
@@ -87,6 +186,8 @@ public class ResearchService {
             Research updatedResearch = researchRepository.save(research);
             Hibernate.initialize(updatedResearch.getAuthors());
             Hibernate.initialize(updatedResearch.getLinks());
+            searchIndex.index(SearchDocument.of(updatedResearch));
+            contentVersions.changed(Content.RESEARCHES);
 
             return mapToDTO(updatedResearch);
         } catch (Exception e) {
@@ -96,6 +197,7 @@ public class ResearchService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.RESEARCHES, key = "#id")
     public void deleteResearch(Long id) {
         log.info("Deleting research with ID: {}", id);
 
@@ -103,6 +205,8 @@ public class ResearchService {
 
         try {
             researchRepository.delete(research);
+            searchIndex.delete(SearchDocumentType.RESEARCH, id);
+            contentVersions.changed(Content.RESEARCHES);
             log.info("Successfully deleted research with ID: {}", id);
         } catch (Exception e) {
             log.error("Failed to delete research with ID: {}. Error: {}", id, e.getMessage(), e);
@@ -145,8 +249,17 @@ public class ResearchService {
         if (!StringUtils.hasText(term)) {
             throw new IllegalArgumentException("Search term cannot be empty");
         }
-        return researchRepository.searchEverywhere(term)
+        List<Long> ids = searchIndex.searchIds(SearchDocumentType.RESEARCH, term, MAX_SEARCH_RESULTS);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Research> researches = researchRepository.findAllById(ids)
                 .stream()
+                .collect(Collectors.toMap(Research::getId, Function.identity()));
+        return ids.stream()
+                .map(researches::get)
+                .filter(Objects::nonNull)
                 .map(research -> {
                     Hibernate.initialize(research.getAuthors());
                     Hibernate.initialize(research.getLinks());
@@ -160,6 +273,15 @@ public class ResearchService {
                 .orElseThrow(() -> new ResourceNotFoundException("Research not found with id: " + id));
     }
 
+    private Research toNewResearch(ResearchRequestDTO requestDTO) {
+        Research research = new Research();
+        research.setResearchAbstract(requestDTO.getResearchAbstract());
+        research.setAuthors(requestDTO.getAuthors());
+        research.setLinks(requestDTO.getLinks() == null ? new HashSet<>() : requestDTO.getLinks());
+        research.setPdfPath(requestDTO.getPdfPath());
+        return research;
+    }
+
     private void validateResearchData(ResearchRequestDTO requestDTO) {
         if (!StringUtils.hasText(requestDTO.getResearchAbstract())) {
             log.error("Invalid request: research abstract is required");
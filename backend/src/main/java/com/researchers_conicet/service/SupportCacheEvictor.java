@@ -0,0 +1,69 @@
+package com.researchers_conicet.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.researchers_conicet.entity.Analogy;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Drops analogies and their support emails from the Hibernate second-level cache.
+ * <p>
+ * Support clicks are written with native statements or JDBC batches that bypass
+ * Hibernate, so both the direct path in {@link AnalogyService} and the flush of
+ * {@link SupportWriteBuffer} evict the touched analogies through here.
+ */
+@Component
+public class SupportCacheEvictor {
+
+    /** Collection cache role of the support emails of an analogy */
+    private static final String SUPPORT_EMAILS_ROLE = Analogy.class.getName() + ".supportEmails";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SupportCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts the given analogies right away
+     *
+     * @param analogyIds Analogies whose support state changed
+     */
+    public void evict(Collection<Long> analogyIds) {
+        if (analogyIds.isEmpty()) {
+            return;
+        }
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long id : analogyIds) {
+            secondLevelCache.evictEntityData(Analogy.class, id);
+            secondLevelCache.evictCollectionData(SUPPORT_EMAILS_ROLE, id);
+        }
+    }
+
+    /**
+     * Evicts one analogy right away, so the read that follows sees the new counter,
+     * and again when the current transaction ends, in case a concurrent request
+     * cached the old row in between
+     *
+     * @param analogyId Analogy whose support state changed
+     */
+    public void evictSupportState(Long analogyId) {
+        List<Long> ids = List.of(analogyId);
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+}
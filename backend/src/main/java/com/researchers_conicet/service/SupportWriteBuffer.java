@@ -0,0 +1,308 @@
+package com.researchers_conicet.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.dto.support.SupportChange;
+import com.researchers_conicet.exception.SupportBufferFullException;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.CommentRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional write-behind buffer for analogy and comment support clicks.
+ * <p>
+ * When enabled ({@code supports.write-behind.enabled}), a click only records the
+ * state its email wants for the item; repeated clicks on the same item coalesce into
+ * the last one. Every {@code flush-interval-ms} the recorded states are written in one
+ * transaction with JDBC batches. The buffer holds at most {@code max-pending} distinct
+ * (item, email) pairs; once full, new clicks wait up to {@code offer-timeout-ms} for a
+ * flush and are then rejected. Pending changes are flushed on shutdown.
+ * <p>
+ * Until its change is written, the clicking email sees it through {@link #pendingState}.
+ * <p>
+ * Waits use locks rather than monitors, so a click waiting on a virtual thread
+ * does not pin its carrier thread.
+ */
+@Slf4j
+@Component
+public class SupportWriteBuffer {
+
+    public enum Target { ANALOGY, COMMENT }
+
+    private record Key(Target target, Long id, String email) {
+    }
+
+    private final boolean enabled;
+    private final int maxPending;
+    private final long offerTimeoutNanos;
+
+    private final AnalogyRepository analogyRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SupportCacheEvictor supportCacheEvictor;
+    private final CacheManager cacheManager;
+    private final ContentVersions contentVersions;
+
+    /** Guards pending and flushing */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when a flush empties the buffer */
+    private final Condition drained = lock.newCondition();
+
+    /** Changes not yet picked up by a flush, in arrival order; guarded by lock */
+    private Map<Key, Boolean> pending = new LinkedHashMap<>();
+    /** Changes being written by the running flush; guarded by lock */
+    private Map<Key, Boolean> flushing = Map.of();
+
+    /** Only one flush writes at a time */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public SupportWriteBuffer(
+        @Value("${supports.write-behind.enabled:false}") boolean enabled,
+        @Value("${supports.write-behind.max-pending:10000}") int maxPending,
+        @Value("${supports.write-behind.offer-timeout-ms:1000}") long offerTimeoutMillis,
+        AnalogyRepository analogyRepository,
+        CommentRepository commentRepository,
+        PlatformTransactionManager transactionManager,
+        SupportCacheEvictor supportCacheEvictor,
+        CacheManager cacheManager,
+        ContentVersions contentVersions
+    ) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.analogyRepository = analogyRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.supportCacheEvictor = supportCacheEvictor;
+        this.cacheManager = cacheManager;
+        this.contentVersions = contentVersions;
+    }
+
+    /**
+     * @return true if support toggles should be recorded here instead of written directly
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the support state an email wants for an item, replacing any earlier
+     * pending state for the same pair.
+     *
+     * @param target Kind of item
+     * @param id ID of the analogy or comment
+     * @param email The supporting email
+     * @param supported true to add the support, false to remove it
+     * @throws SupportBufferFullException if no room frees up within the offer timeout
+     */
+    public void record(Target target, Long id, String email, boolean supported) {
+        Key key = new Key(target, id, email);
+        long remaining = offerTimeoutNanos;
+        lock.lock();
+        try {
+            while (pending.size() >= maxPending && !pending.containsKey(key)) {
+                if (remaining <= 0) {
+                    log.warn("Support buffer is full with {} pending changes", pending.size());
+                    throw new SupportBufferFullException("Too many support requests, please retry shortly");
+                }
+                try {
+                    remaining = drained.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SupportBufferFullException("Interrupted while waiting for the support buffer");
+                }
+            }
+            pending.put(key, supported);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the state an email asked for on an item if it has not been written yet
+     *
+     * @param target Kind of item
+     * @param id ID of the analogy or comment
+     * @param email The supporting email
+     * @return The pending state, empty if the database is up to date for this pair
+     */
+    public Optional<Boolean> pendingState(Target target, Long id, String email) {
+        Key key = new Key(target, id, email);
+        lock.lock();
+        try {
+            Boolean state = pending.get(key);
+            return Optional.ofNullable(state != null ? state : flushing.get(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns every state an email asked for on one kind of item that has not been written yet
+     *
+     * @param target Kind of item
+     * @param email The supporting email
+     * @return Pending state by ID of the analogy or comment, empty if the database is up to date
+     */
+    public Map<Long, Boolean> pendingStates(Target target, String email) {
+        Map<Long, Boolean> states = new HashMap<>();
+        lock.lock();
+        try {
+            // Newer clicks in pending win over the ones being written
+            for (Map<Key, Boolean> changes : List.of(flushing, pending)) {
+                changes.forEach((key, state) -> {
+                    if (key.target() == target && key.email().equals(email)) {
+                        states.put(key.id(), state);
+                    }
+                });
+            }
+        } finally {
+            lock.unlock();
+        }
+        return states;
+    }
+
+    /**
+     * @return Number of changes waiting to be written
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size() + flushing.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Support count as seen by one email: the stored count corrected by that
+     * email's own pending change.
+     *
+     * @param storedCount Count read from the database
+     * @param storedSupported Whether the database has the email's support
+     * @param pending The email's pending state
+     * @return The corrected count
+     */
+    public static int countWithPending(int storedCount, boolean storedSupported, boolean pending) {
+        if (pending == storedSupported) {
+            return storedCount;
+        }
+        return pending ? storedCount + 1 : Math.max(storedCount - 1, 0);
+    }
+
+    /**
+     * Writes every pending change in one transaction.
+     * On failure the changes go back to the buffer, behind any newer click
+     * for the same pair, and are retried on the next run.
+     *
+     * @return Number of changes written
+     */
+    @Scheduled(fixedDelayString = "${supports.write-behind.flush-interval-ms:250}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            Map<Key, Boolean> batch;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                batch = pending;
+                flushing = batch;
+                pending = new LinkedHashMap<>();
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                long start = System.currentTimeMillis();
+                List<Long> analogyIds = write(batch);
+                evictAnalogies(analogyIds);
+                log.info("Flushed {} support changes in {} ms", batch.size(), System.currentTimeMillis() - start);
+                return batch.size();
+            } catch (Exception e) {
+                log.error("Error flushing {} support changes, retrying on the next run", batch.size(), e);
+                lock.lock();
+                try {
+                    batch.forEach(pending::putIfAbsent);
+                } finally {
+                    lock.unlock();
+                }
+                return 0;
+            } finally {
+                lock.lock();
+                try {
+                    flushing = Map.of();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes what is still pending before the database connections close
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int remaining = pendingCount();
+        if (remaining > 0) {
+            log.info("Flushing {} pending support changes before shutdown", remaining);
+            flush();
+        }
+    }
+
+    private List<Long> write(Map<Key, Boolean> batch) {
+        List<SupportChange> analogyChanges = new ArrayList<>();
+        List<SupportChange> commentChanges = new ArrayList<>();
+        batch.forEach((key, supported) -> {
+            SupportChange change = new SupportChange(key.id(), key.email(), supported);
+            (key.target() == Target.ANALOGY ? analogyChanges : commentChanges).add(change);
+        });
+
+        return transactionTemplate.execute(status -> {
+            List<Long> analogyIds = analogyRepository.applySupportChanges(analogyChanges);
+            commentRepository.applySupportChanges(commentChanges);
+            return analogyIds;
+        });
+    }
+
+    /**
+     * The batches bypass Hibernate, so the cached analogies and their
+     * detail DTOs still hold the old counters and support sets, and the
+     * analogy ETags still describe them
+     */
+    private void evictAnalogies(List<Long> analogyIds) {
+        if (analogyIds.isEmpty()) {
+            return;
+        }
+        supportCacheEvictor.evict(analogyIds);
+        Cache details = cacheManager.getCache(CacheConfig.ANALOGIES);
+        if (details != null) {
+            analogyIds.forEach(details::evict);
+        }
+        contentVersions.changed(ContentVersions.Content.ANALOGIES);
+    }
+}
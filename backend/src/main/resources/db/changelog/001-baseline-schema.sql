@@ -0,0 +1,195 @@
+--liquibase formatted sql
+
+-- Tables as mapped by the entities, with the indexes they have always declared.
+-- Column types are the ones Hibernate generated with ddl-auto=update.
+
+--changeset researchers-conicet:1-analogies
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'analogies'
+CREATE TABLE analogies (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    content TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    version BIGINT DEFAULT 0 NOT NULL,
+    support_count INT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_analogy_created_at (created_at)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-analogy-authors
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'analogy_authors'
+CREATE TABLE analogy_authors (
+    analogy_id BIGINT NOT NULL,
+    author_name VARCHAR(255),
+    CONSTRAINT fk_analogy_authors_analogy FOREIGN KEY (analogy_id) REFERENCES analogies (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-analogy-links
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'analogy_links'
+CREATE TABLE analogy_links (
+    analogy_id BIGINT NOT NULL,
+    link VARCHAR(255),
+    CONSTRAINT fk_analogy_links_analogy FOREIGN KEY (analogy_id) REFERENCES analogies (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-analogy-media-links
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'analogy_media_links'
+CREATE TABLE analogy_media_links (
+    analogy_id BIGINT NOT NULL,
+    media_type VARCHAR(50) NOT NULL,
+    url VARCHAR(512) NOT NULL,
+    CONSTRAINT fk_analogy_media_links_analogy FOREIGN KEY (analogy_id) REFERENCES analogies (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-analogy-supports
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'analogy_supports'
+CREATE TABLE analogy_supports (
+    analogy_id BIGINT NOT NULL,
+    support_email VARCHAR(255),
+    UNIQUE KEY uk_analogy_supports_email (analogy_id, support_email),
+    CONSTRAINT fk_analogy_supports_analogy FOREIGN KEY (analogy_id) REFERENCES analogies (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-comments
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'comments'
+CREATE TABLE comments (
+    id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    user_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    parent_id BIGINT,
+    analogy_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_comment_created_at (created_at),
+    KEY idx_comment_email (email),
+    -- Replies of a comment, and the cascade when it is deleted
+    KEY idx_comment_parent_id (parent_id),
+    CONSTRAINT fk_parent_comment FOREIGN KEY (parent_id) REFERENCES comments (id) ON DELETE CASCADE,
+    CONSTRAINT fk_commented_analogy FOREIGN KEY (analogy_id) REFERENCES analogies (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-comment-supports
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'comment_supports'
+CREATE TABLE comment_supports (
+    comment_id BIGINT NOT NULL,
+    support_email VARCHAR(255),
+    UNIQUE KEY uk_comment_supports_email (comment_id, support_email),
+    CONSTRAINT fk_comment_supports_comment FOREIGN KEY (comment_id) REFERENCES comments (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-news
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'news'
+CREATE TABLE news (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    content TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    version BIGINT DEFAULT 0 NOT NULL,
+    preview_image VARCHAR(255),
+    PRIMARY KEY (id),
+    KEY idx_new_created_at (created_at)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-new-authors
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'new_authors'
+CREATE TABLE new_authors (
+    new_id BIGINT NOT NULL,
+    author_name VARCHAR(255),
+    CONSTRAINT fk_new_authors_new FOREIGN KEY (new_id) REFERENCES news (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-new-links
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'new_links'
+CREATE TABLE new_links (
+    new_id BIGINT NOT NULL,
+    link VARCHAR(255),
+    CONSTRAINT fk_new_links_new FOREIGN KEY (new_id) REFERENCES news (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-new-media-links
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'new_media_links'
+CREATE TABLE new_media_links (
+    new_id BIGINT NOT NULL,
+    media_type VARCHAR(50) NOT NULL,
+    url VARCHAR(512) NOT NULL,
+    CONSTRAINT fk_new_media_links_new FOREIGN KEY (new_id) REFERENCES news (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-researches
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'researches'
+CREATE TABLE researches (
+    id BIGINT NOT NULL,
+    research_abstract TEXT NOT NULL,
+    pdf_path VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    version BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_research_created_at (created_at)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-research-authors
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'research_authors'
+CREATE TABLE research_authors (
+    research_id BIGINT NOT NULL,
+    author_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (research_id, author_name),
+    CONSTRAINT fk_research_authors_research FOREIGN KEY (research_id) REFERENCES researches (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-research-links
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'research_links'
+CREATE TABLE research_links (
+    research_id BIGINT NOT NULL,
+    link VARCHAR(255),
+    CONSTRAINT fk_research_links_research FOREIGN KEY (research_id) REFERENCES researches (id)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-gallery-images
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'gallery_images'
+CREATE TABLE gallery_images (
+    url VARCHAR(512) NOT NULL,
+    caption VARCHAR(512),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (url),
+    KEY idx_image_created_at (created_at)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-email-verifications
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'email_verifications'
+CREATE TABLE email_verifications (
+    email VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    username VARCHAR(255),
+    PRIMARY KEY (email)
+) ENGINE=InnoDB;
+
+--changeset researchers-conicet:1-id-generators
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'id_generators'
+-- One row per entity; IdGeneratorInitializer moves each past the highest stored id at startup
+CREATE TABLE id_generators (
+    entity VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (entity)
+) ENGINE=InnoDB;
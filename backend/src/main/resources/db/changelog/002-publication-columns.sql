@@ -0,0 +1,49 @@
+--liquibase formatted sql
+
+-- Columns added to the publication tables after their first release. Only databases
+-- created before them by ddl-auto=update lack them; new ones get them from 001.
+
+--changeset researchers-conicet:2-analogies-support-count
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'analogies' AND column_name = 'support_count'
+ALTER TABLE analogies ADD COLUMN support_count INT DEFAULT 0 NOT NULL;
+
+-- Without a precondition, so that databases which got the column from ddl-auto=update,
+-- at 0 for every row, are backfilled as well
+--changeset researchers-conicet:2-analogies-support-count-backfill
+UPDATE analogies a SET support_count = (SELECT COUNT(*) FROM analogy_supports s WHERE s.analogy_id = a.id);
+
+--changeset researchers-conicet:2-analogies-updated-at
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'analogies' AND column_name = 'updated_at'
+ALTER TABLE analogies ADD COLUMN updated_at DATETIME(6);
+
+--changeset researchers-conicet:2-analogies-version
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'analogies' AND column_name = 'version'
+ALTER TABLE analogies ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+--changeset researchers-conicet:2-news-updated-at
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'news' AND column_name = 'updated_at'
+ALTER TABLE news ADD COLUMN updated_at DATETIME(6);
+
+--changeset researchers-conicet:2-news-version
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'news' AND column_name = 'version'
+ALTER TABLE news ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+--changeset researchers-conicet:2-researches-updated-at
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'researches' AND column_name = 'updated_at'
+ALTER TABLE researches ADD COLUMN updated_at DATETIME(6);
+
+--changeset researchers-conicet:2-researches-version
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'researches' AND column_name = 'version'
+ALTER TABLE researches ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+--changeset researchers-conicet:2-gallery-images-updated-at
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'gallery_images' AND column_name = 'updated_at'
+ALTER TABLE gallery_images ADD COLUMN updated_at DATETIME(6);
@@ -0,0 +1,55 @@
+--liquibase formatted sql
+
+-- Indexes for the repository queries, designed from their EXPLAIN plans (see QueryPlanE2ETest).
+-- InnoDB builds them in place without blocking writes. analogy_supports needs none:
+-- it is only looked up by analogy, which its unique key (analogy_id, support_email) covers.
+
+--changeset researchers-conicet:3-idx-analogy-support-count
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'analogies' AND index_name = 'idx_analogy_support_count'
+-- Most supported analogies, read in index order
+CREATE INDEX idx_analogy_support_count ON analogies (support_count);
+
+--changeset researchers-conicet:3-idx-analogy-author-name
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'analogy_authors' AND index_name = 'idx_analogy_author_name'
+-- Exact author lookups
+CREATE INDEX idx_analogy_author_name ON analogy_authors (author_name);
+
+--changeset researchers-conicet:3-idx-analogy-link
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'analogy_links' AND index_name = 'idx_analogy_link'
+-- Exact link and link-prefix (domain) lookups
+CREATE INDEX idx_analogy_link ON analogy_links (link);
+
+--changeset researchers-conicet:3-idx-new-author-name
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'new_authors' AND index_name = 'idx_new_author_name'
+CREATE INDEX idx_new_author_name ON new_authors (author_name);
+
+--changeset researchers-conicet:3-idx-new-link
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'new_links' AND index_name = 'idx_new_link'
+CREATE INDEX idx_new_link ON new_links (link);
+
+--changeset researchers-conicet:3-idx-research-author-name
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'research_authors' AND index_name = 'idx_research_author_name'
+CREATE INDEX idx_research_author_name ON research_authors (author_name);
+
+--changeset researchers-conicet:3-idx-research-link
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'research_links' AND index_name = 'idx_research_link'
+CREATE INDEX idx_research_link ON research_links (link);
+
+--changeset researchers-conicet:3-idx-comment-analogy-created-at
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'comments' AND index_name = 'idx_comment_analogy_created_at'
+-- Comments of an analogy in creation order, and within a day
+CREATE INDEX idx_comment_analogy_created_at ON comments (analogy_id, created_at);
+
+--changeset researchers-conicet:3-idx-comment-support-email
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'comment_supports' AND index_name = 'idx_comment_support_email'
+-- Comments supported by an email
+CREATE INDEX idx_comment_support_email ON comment_supports (support_email);
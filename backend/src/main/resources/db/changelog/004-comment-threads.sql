@@ -0,0 +1,35 @@
+--liquibase formatted sql
+
+-- Top-level comment of every reply, so that the comment tree reads all the replies of a
+-- page of threads in one indexed query. MySQL 5.7 has no recursive CTE to walk parent_id.
+
+--changeset researchers-conicet:4-comments-root-id
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'comments' AND column_name = 'root_id'
+ALTER TABLE comments ADD COLUMN root_id BIGINT;
+
+--changeset researchers-conicet:4-idx-comment-root-created-at
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'comments' AND index_name = 'idx_comment_root_created_at'
+-- Replies of a page of threads in creation order
+CREATE INDEX idx_comment_root_created_at ON comments (root_id, created_at);
+
+-- Without a precondition, like every backfill. Replies of top-level comments are set
+-- first, then each pass sets the next level down until a pass finds nothing to set.
+--changeset researchers-conicet:4-comments-root-id-backfill endDelimiter://
+DROP PROCEDURE IF EXISTS backfill_comment_root_ids//
+CREATE PROCEDURE backfill_comment_root_ids()
+BEGIN
+    DECLARE updated INT DEFAULT 1;
+    UPDATE comments c JOIN comments p ON p.id = c.parent_id
+        SET c.root_id = p.id
+        WHERE c.root_id IS NULL AND p.parent_id IS NULL;
+    WHILE updated > 0 DO
+        UPDATE comments c JOIN comments p ON p.id = c.parent_id
+            SET c.root_id = p.root_id
+            WHERE c.root_id IS NULL AND p.root_id IS NOT NULL;
+        SET updated = ROW_COUNT();
+    END WHILE;
+END//
+CALL backfill_comment_root_ids()//
+DROP PROCEDURE backfill_comment_root_ids//
@@ -0,0 +1,49 @@
+package com.researchers_conicet.benchmark;
+
+import java.io.File;
+import java.util.Collection;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package and writes their results as JSON, the format
+ * read by JMH Visualizer and jmh-compare tools, so runs on different commits can be
+ * diffed. The file is target/jmh/result.json unless -Djmh.result=path is given.
+ *
+ * Run from backend/ with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       com.researchers_conicet.benchmark.BenchmarkRunner [regex of benchmarks to include]
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT = "target/jmh/result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * @param include Regex matched against benchmark names, e.g. a class simple name
+     * @return Results, also written to the JSON file
+     */
+    public static Collection<RunResult> run(String include) throws RunnerException {
+        String result = System.getProperty("jmh.result", DEFAULT_RESULT);
+        File parent = new File(result).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        return new Runner(new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result)
+            .build()).run();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        run(args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".*");
+    }
+}
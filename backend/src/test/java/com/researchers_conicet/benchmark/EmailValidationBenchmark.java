@@ -0,0 +1,73 @@
+package com.researchers_conicet.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.researchers_conicet.service.CommentService;
+
+/**
+ * Email validation done by every support, comment and verification request.
+ * "legacy" compiles the regex on each call through Pattern.matches, as the services
+ * used to; "current" is the service's validateEmail with the precompiled pattern.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailValidationBenchmark {
+
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
+
+    private static final MethodHandle VALIDATE_EMAIL;
+
+    static {
+        try {
+            VALIDATE_EMAIL = MethodHandles.privateLookupIn(CommentService.class, MethodHandles.lookup())
+                .findVirtual(CommentService.class, "validateEmail", MethodType.methodType(void.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"reader@example.com", "maria.lopez+analogias@conicet.gov.ar"})
+    private String email;
+
+    private CommentService commentService;
+
+    @Setup
+    public void setUp() {
+        commentService = new CommentService(null, null, null, null);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        return Pattern.matches(EMAIL_REGEX, email);
+    }
+
+    @Benchmark
+    public void current() throws Throwable {
+        VALIDATE_EMAIL.invokeExact(commentService, email);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(EmailValidationBenchmark.class.getSimpleName());
+    }
+}
@@ -0,0 +1,95 @@
+package com.researchers_conicet.benchmark;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.researchers_conicet.security.JwtAuthFilter;
+import com.researchers_conicet.security.JwtService;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request cost of JwtAuthFilter for a request carrying a Bearer token.
+ * "legacy" rebuilds the key and parser on every call, as JwtService used to;
+ * "current" uses the shared parser and the verified-token cache.
+ *
+ * Run through its main method or {@link BenchmarkRunner}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    /** Reproduces the validation done before the key, parser and token cache were shared */
+    private static class LegacyJwtService extends JwtService {
+        @Override
+        public boolean validateToken(String token) {
+            try {
+                Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY)))
+                    .build()
+                    .parseClaimsJws(token);
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    private JwtAuthFilter legacyFilter;
+    private JwtAuthFilter currentFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtService current = new JwtService();
+        token = current.generateToken();
+        legacyFilter = new JwtAuthFilter(new LegacyJwtService());
+        currentFilter = new JwtAuthFilter(current);
+    }
+
+    private MockHttpServletResponse filter(JwtAuthFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/dashboard");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacy() throws Exception {
+        return filter(legacyFilter);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse current() throws Exception {
+        return filter(currentFilter);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(JwtAuthFilterBenchmark.class.getSimpleName());
+    }
+}
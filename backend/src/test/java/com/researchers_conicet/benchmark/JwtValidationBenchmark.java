@@ -0,0 +1,80 @@
+package com.researchers_conicet.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.researchers_conicet.security.JwtService;
+
+/**
+ * JwtService.validateToken on its own, without the filter around it:
+ * a token seen before (answered from the verified-token cache), a token seen
+ * for the first time (full signature check) and a token with a broken signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        token = jwtService.generateToken();
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        jwtService.validateToken(token);
+    }
+
+    /** A service with an empty cache for each call, so every validation parses and verifies */
+    @State(Scope.Thread)
+    public static class Cold {
+        JwtService jwtService;
+        String token;
+
+        @Setup(Level.Trial)
+        public void createToken() {
+            token = new JwtService().generateToken();
+        }
+
+        @Setup(Level.Invocation)
+        public void resetCache() {
+            jwtService = new JwtService();
+        }
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean uncached(Cold cold) {
+        return cold.jwtService.validateToken(cold.token);
+    }
+
+    @Benchmark
+    public boolean tampered() {
+        return jwtService.validateToken(tamperedToken);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(JwtValidationBenchmark.class.getSimpleName());
+    }
+}
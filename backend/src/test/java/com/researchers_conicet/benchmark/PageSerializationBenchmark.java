@@ -0,0 +1,99 @@
+package com.researchers_conicet.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+
+/**
+ * Jackson serialization of a page of analogies, the body of GET /api/analogies.
+ * The mapper is configured like Spring Boot's (java.time module, ISO dates).
+ * "mapper" goes through ObjectMapper.writeValueAsBytes as the message converter
+ * does; "writer" reuses an ObjectWriter bound to the page type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private ObjectWriter writer;
+    private Page<AnalogyResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        writer = mapper.writerFor(Page.class);
+
+        List<AnalogyResponseDTO> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(analogy(i));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")), 1_000);
+    }
+
+    private static AnalogyResponseDTO analogy(int i) {
+        MediaLinkDTO media = new MediaLinkDTO();
+        media.setUrl("https://example.com/media/" + i + ".png");
+        media.setMediaType("image");
+
+        AnalogyResponseDTO dto = new AnalogyResponseDTO();
+        dto.setId((long) i);
+        dto.setTitle("Analogy " + i);
+        dto.setContent(("Explains a concept with an everyday comparison, number " + i + ". ").repeat(15));
+        dto.setCreatedAt(LocalDateTime.now().minusDays(i));
+        dto.setAuthors(Set.of("Author " + i, "Coauthor " + i));
+        dto.setLinks(Set.of("https://example.com/a/" + i));
+        dto.setMediaLinks(Set.of(media));
+        dto.setSupportCount(i * 3);
+        return dto;
+    }
+
+    @Benchmark
+    public byte[] mapper() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writer() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(PageSerializationBenchmark.class.getSimpleName());
+    }
+}
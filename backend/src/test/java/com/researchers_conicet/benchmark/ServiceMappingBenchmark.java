@@ -0,0 +1,109 @@
+package com.researchers_conicet.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.comment.CommentResponseDTO;
+import com.researchers_conicet.entity.Analogy;
+import com.researchers_conicet.entity.Comment;
+import com.researchers_conicet.entity.MediaLink;
+import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.CommentService;
+
+/**
+ * Entity to response DTO mapping of AnalogyService and CommentService, run for
+ * every row of every listing. The private mapToDTO methods are called through
+ * method handles, which add a few nanoseconds at most.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceMappingBenchmark {
+
+    private static final MethodHandle ANALOGY_TO_DTO = mapToDTO(AnalogyService.class, Analogy.class, AnalogyResponseDTO.class);
+    private static final MethodHandle COMMENT_TO_DTO = mapToDTO(CommentService.class, Comment.class, CommentResponseDTO.class);
+
+    private static MethodHandle mapToDTO(Class<?> service, Class<?> entity, Class<?> dto) {
+        try {
+            return MethodHandles.privateLookupIn(service, MethodHandles.lookup())
+                .findVirtual(service, "mapToDTO", MethodType.methodType(dto, entity));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private AnalogyService analogyService;
+    private CommentService commentService;
+    private Analogy analogy;
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        // mapToDTO touches none of the collaborators
+        analogyService = new AnalogyService(null, null, null, null, null, null, null);
+        commentService = new CommentService(null, null, null, null);
+
+        analogy = new Analogy(
+            "Photosynthesis as a solar kitchen",
+            "Plants cook sugar with sunlight the way a solar oven cooks food. ".repeat(20),
+            Set.of("Ana Pérez", "Juan Gómez", "María López"),
+            Set.of("https://example.com/a/1", "https://example.com/a/2"),
+            new HashSet<>());
+        analogy.setId(1L);
+        analogy.setCreatedAt(LocalDateTime.now());
+        analogy.setSupportCount(42);
+        analogy.setMediaLinks(Set.of(media("https://example.com/img.png", "image"),
+            media("https://example.com/video", "video")));
+
+        comment = new Comment("Lector", "Great analogy, it helped my students.", "reader@example.com",
+            Optional.empty(), analogy);
+        comment.setId(1L);
+        comment.setCreatedAt(LocalDateTime.now());
+        for (int i = 0; i < 20; i++) {
+            comment.getSupportEmails().add("supporter" + i + "@example.com");
+        }
+    }
+
+    private static MediaLink media(String url, String type) {
+        MediaLink media = new MediaLink();
+        media.setUrl(url);
+        media.setMediaType(type);
+        return media;
+    }
+
+    @Benchmark
+    public AnalogyResponseDTO analogyToDTO() throws Throwable {
+        return (AnalogyResponseDTO) ANALOGY_TO_DTO.invokeExact(analogyService, analogy);
+    }
+
+    @Benchmark
+    public CommentResponseDTO commentToDTO() throws Throwable {
+        return (CommentResponseDTO) COMMENT_TO_DTO.invokeExact(commentService, comment);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(ServiceMappingBenchmark.class.getSimpleName());
+    }
+}
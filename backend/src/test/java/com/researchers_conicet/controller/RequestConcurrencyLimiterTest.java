@@ -0,0 +1,87 @@
+package com.researchers_conicet.controller;
+
+import com.researchers_conicet.exception.ConcurrencyLimitExceededException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimiterTest {
+
+    private MeterRegistry registry;
+    private RequestConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        limiter = new RequestConcurrencyLimiter(true, 2, 50, registry);
+    }
+
+    private double available() {
+        return registry.get("requests.concurrency.available").gauge().value();
+    }
+
+    @Test
+    void preHandle_shouldHoldSlotUntilCompletion() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/analogies");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(limiter.preHandle(request, response, null));
+        assertEquals(1, available());
+
+        limiter.afterCompletion(request, response, null, null);
+        assertEquals(2, available());
+
+        // A second completion of the same request must not free a slot it no longer holds
+        limiter.afterCompletion(request, response, null, null);
+        assertEquals(2, available());
+    }
+
+    @Test
+    void preHandle_shouldRejectWhenNoSlotFreesUp() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        limiter.preHandle(new MockHttpServletRequest(), response, null);
+        limiter.preHandle(new MockHttpServletRequest(), response, null);
+
+        MockHttpServletRequest rejected = new MockHttpServletRequest();
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.preHandle(rejected, response, null));
+
+        // Nothing was taken, so completing the rejected request frees nothing
+        limiter.afterCompletion(rejected, response, null, null);
+        assertEquals(0, available());
+    }
+
+    @Test
+    void preHandle_shouldServeWaitingRequestOnceSlotIsFreed() throws Exception {
+        limiter = new RequestConcurrencyLimiter(true, 1, 5_000, registry = new SimpleMeterRegistry());
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        limiter.preHandle(first, response, null);
+
+        Thread waiting = Thread.ofVirtual().start(() -> limiter.preHandle(new MockHttpServletRequest(), response, null));
+        while (registry.get("requests.concurrency.queued").gauge().value() == 0) {
+            Thread.sleep(5);
+        }
+        limiter.afterCompletion(first, response, null, null);
+        waiting.join(5_000);
+
+        assertFalse(waiting.isAlive());
+        assertEquals(0, available());
+    }
+
+    @Test
+    void preHandle_shouldNotLimitWhenDisabled() {
+        limiter = new RequestConcurrencyLimiter(false, 1, 50, new SimpleMeterRegistry());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.preHandle(new MockHttpServletRequest(), response, null));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.researchers_conicet.e2e;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -31,7 +32,9 @@ import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
 import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
 import com.researchers_conicet.dto.email_verification.EmailVerificationRequestDTO;
 import com.researchers_conicet.dto.email_verification.EmailVerificationResponseDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
 import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.search.SearchIndexLoader;
 import com.researchers_conicet.utils.RestResponsePage;
 
 import org.testcontainers.junit.jupiter.Container;
@@ -56,7 +59,7 @@ public class AnalogyE2ETest {
         registry.add("spring.datasource.username", mysql::getUsername);
         registry.add("spring.datasource.password", mysql::getPassword);
         // Si es necesario, configurar más propiedades de Hibernate
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
     }
 
     @LocalServerPort
@@ -68,6 +71,9 @@ public class AnalogyE2ETest {
     @Autowired
     private AnalogyRepository analogyRepository;
 
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
     @BeforeAll
     static void setUp() {
         mysql.start();
@@ -76,6 +82,8 @@ public class AnalogyE2ETest {
     @BeforeEach
     void cleanDatabase() {
         analogyRepository.deleteAll();
+        // The repository bypasses the search index
+        searchIndexLoader.rebuildIndex();
     }
 
     @AfterAll
@@ -209,6 +217,33 @@ public class AnalogyE2ETest {
         }
     }
 
+    @Test
+    void shouldWalkAllAnalogiesByCursor() {
+        for (String title : List.of("A1", "A2", "A3", "A4", "A5")) {
+            createAnalogy(title, null, null, null, null);
+        }
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = baseUrl() + "/cursor?size=2" + (cursor != null ? "&cursor=" + cursor : "");
+            ResponseEntity<CursorPageDTO<AnalogyResponseDTO>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<CursorPageDTO<AnalogyResponseDTO>>() {}
+            );
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().getContent()).hasSizeLessThanOrEqualTo(2);
+            response.getBody().getContent().forEach(a -> titles.add(a.getTitle()));
+            cursor = response.getBody().getNextCursor();
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("A5", "A4", "A3", "A2", "A1");
+    }
+
     @Test
     void shouldDeleteAnalogy() {
         var created = createAnalogy();
@@ -254,9 +289,10 @@ public class AnalogyE2ETest {
 
     @Test
     void shouldSearchEverywhere() {
-        createAnalogy("Test analogy", null, Set.of("Author 1"), null, null);
-        createAnalogy("Just analogy", null, Set.of("Author 1", "Test"), null, null);
-        createAnalogy("Just analogy", null, Set.of("Author 1"), null, null);
+        // the search also covers the content, so keep the default "Test content" out of it
+        createAnalogy("Test analogy", "Plain content", Set.of("Author 1"), null, null);
+        createAnalogy("Just analogy", "Plain content", Set.of("Author 1", "Test"), null, null);
+        createAnalogy("Just analogy", "Plain content", Set.of("Author 1"), null, null);
 
         var response = restTemplate.getForEntity(baseUrl() + "/search?query=Test", AnalogyResponseDTO[].class);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -0,0 +1,178 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.config.IdGeneratorInitializer;
+import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
+import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.entity.Analogy;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.service.AnalogyService;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures inserts with the table-based id generators and JDBC batching,
+ * and checks that existing AUTO_INCREMENT rows are never reused as ids.
+ */
+@Slf4j
+@SpringBootTest
+@Testcontainers
+public class BatchInsertBenchmarkE2ETest {
+
+    private static final int ANALOGIES = 500;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AnalogyService analogyService;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private IdGeneratorInitializer idGeneratorInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        analogyRepository.deleteAll();
+    }
+
+    private Set<String> values(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).collect(Collectors.toSet());
+    }
+
+    private AnalogyRequestDTO request(int i) {
+        AnalogyRequestDTO request = new AnalogyRequestDTO();
+        request.setTitle("Analogy " + i);
+        request.setContent("Content " + i);
+        request.setAuthors(values("Author " + i + "-", 10));
+        request.setLinks(values("https://example.com/" + i + "/", 5));
+        return request;
+    }
+
+    private Analogy entity(int i) {
+        return new Analogy("Imported " + i, "Content " + i,
+            values("Author " + i + "-", 10), values("https://example.com/" + i + "/", 5), new HashSet<>());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void creatingAnAnalogyShouldTakeAHandfulOfStatements() {
+        // the first create may read the id_generators row
+        analogyService.createAnalogy(request(-1));
+
+        Statistics statistics = statistics();
+        analogyService.createAnalogy(request(0));
+
+        // analogy + authors batch + links batch, no per-row inserts
+        log.info("Creating an analogy with 10 authors and 5 links: {} statements",
+            statistics.getPrepareStatementCount());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void bulkImportInsertsPerSecond() {
+        List<Analogy> analogies = new ArrayList<>();
+        for (int i = 0; i < ANALOGIES; i++) {
+            analogies.add(entity(i));
+        }
+
+        Statistics statistics = statistics();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> analogyRepository.saveAll(analogies));
+        long millis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        // one analogy row, 10 author rows and 5 link rows each
+        long rows = ANALOGIES * 16L;
+        log.info("Imported {} analogies ({} rows) in {} ms: {} rows/s over {} statements",
+            ANALOGIES, rows, millis, rows * 1000 / millis, statistics.getPrepareStatementCount());
+
+        assertThat(analogyRepository.count()).isEqualTo(ANALOGIES);
+        // ids are reserved 50 at a time and rows go out in batches of 50
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ANALOGIES / 2);
+    }
+
+    @Test
+    void generatorsShouldSkipIdsAlreadyUsedByIdentityRows() {
+        AnalogyResponseDTO before = analogyService.createAnalogy(request(1));
+
+        // a row written through AUTO_INCREMENT far ahead of the generator
+        long legacyId = before.getId() + 10_000;
+        jdbcTemplate.update("INSERT INTO analogies (id, title, content, support_count) VALUES (?, 'Legacy', 'Legacy', 0)",
+            legacyId);
+
+        idGeneratorInitializer.afterSingletonsInstantiated();
+
+        Long next = jdbcTemplate.queryForObject(
+            "SELECT next_val FROM id_generators WHERE entity = 'analogies'", Long.class);
+        assertThat(next).isGreaterThan(legacyId);
+    }
+}
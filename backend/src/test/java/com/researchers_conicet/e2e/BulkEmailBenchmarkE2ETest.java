@@ -0,0 +1,133 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.email_verification.BulkEmailResultDTO;
+import com.researchers_conicet.repository.EmailVerificationRepository;
+import com.researchers_conicet.service.EmailVerificationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the set-based bulk email operations with the previous
+ * one-round-trip-per-address path on a faculty-sized list.
+ */
+@Slf4j
+@SpringBootTest
+@Testcontainers
+public class BulkEmailBenchmarkE2ETest {
+
+    private static final int EMAILS = 2_000;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        emailVerificationRepository.deleteAll();
+        emailVerificationService.refreshRegisteredEmails();
+    }
+
+    private List<String> emails(String prefix) {
+        return IntStream.range(0, EMAILS)
+            .mapToObj(i -> prefix + i + "@faculty.example.com")
+            .toList();
+    }
+
+    private long millis(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @Test
+    void bulkRegistrationShouldBeatOneRoundTripPerEmail() {
+        List<String> perEmail = emails("single");
+        long perEmailMillis = millis(() -> perEmail.forEach(emailVerificationService::registerEmail));
+
+        List<String> bulk = emails("bulk");
+        List<BulkEmailResultDTO> results = new ArrayList<>();
+        long bulkMillis = millis(() -> results.add(emailVerificationService.importEmails(bulk)));
+
+        log.info("Registering {} emails: {} ms one by one, {} ms in bulk", EMAILS, perEmailMillis, bulkMillis);
+
+        BulkEmailResultDTO result = results.get(0);
+        assertThat(result.getAffected()).isEqualTo(EMAILS);
+        assertThat(result.getChunks()).hasSize((EMAILS + 499) / 500);
+        assertThat(emailVerificationRepository.count()).isEqualTo(2L * EMAILS);
+        assertThat(bulkMillis).isLessThan(perEmailMillis);
+
+        // re-importing the same list inserts nothing
+        assertThat(emailVerificationService.importEmails(bulk).getAffected()).isZero();
+    }
+
+    @Test
+    void bulkRemovalAndChecksShouldMatchRegisteredEmails() {
+        List<String> registered = emails("member");
+        emailVerificationService.importEmails(registered);
+
+        List<String> checked = new ArrayList<>(registered.subList(0, 10));
+        checked.add("stranger@example.com");
+        assertThat(emailVerificationService.checkEmailsRegistration(checked))
+            .filteredOn(EmailVerificationService.EmailRegistrationStatus::isRegistered)
+            .hasSize(10);
+
+        long removeMillis = millis(() -> {
+            BulkEmailResultDTO removed = emailVerificationService.removeMultipleEmails(registered);
+            assertThat(removed.getAffected()).isEqualTo(EMAILS);
+        });
+        log.info("Removing {} emails in bulk: {} ms", EMAILS, removeMillis);
+
+        assertThat(emailVerificationRepository.count()).isZero();
+        assertThat(emailVerificationService.isEmailRegistered(registered.get(0))).isFalse();
+    }
+}
@@ -2,10 +2,13 @@ package com.researchers_conicet.e2e;
 
 import com.researchers_conicet.dto.comment.CommentRequestDTO;
 import com.researchers_conicet.dto.comment.CommentResponseDTO;
+import com.researchers_conicet.dto.comment.CommentTreeNodeDTO;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
 import com.researchers_conicet.repository.CommentRepository;
 import com.researchers_conicet.repository.EmailVerificationRepository;
 import com.researchers_conicet.utils.RestResponsePage;
 import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.service.EmailVerificationService;
 import com.researchers_conicet.entity.Analogy;
 import com.researchers_conicet.entity.EmailVerification;
 
@@ -46,7 +49,7 @@ class CommentE2ETest {
         registry.add("spring.datasource.url", mysql::getJdbcUrl);
         registry.add("spring.datasource.username", mysql::getUsername);
         registry.add("spring.datasource.password", mysql::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
     }
 
     @LocalServerPort
@@ -64,6 +67,9 @@ class CommentE2ETest {
     @Autowired
     AnalogyRepository analogyRepo;
 
+    @Autowired
+    EmailVerificationService emailService;
+
     static final String EMAIL = "user@example.com";
     static final String USERNAME = "User";
 
@@ -85,6 +91,8 @@ class CommentE2ETest {
         emailVerification.setEmail(EMAIL);
         emailVerification.setUsername(USERNAME);
         emailRepo.save(emailVerification);
+        // Emails saved through the repository bypass the registered email cache
+        emailService.refreshRegisteredEmails();
     
         // Create analogy
         Analogy analogy = new Analogy();
@@ -102,6 +110,7 @@ class CommentE2ETest {
     void cleanDatabase() {
         commentRepository.deleteAll();
         emailRepo.deleteAll();
+        emailService.refreshRegisteredEmails();
     }
 
     @AfterAll
@@ -258,6 +267,7 @@ class CommentE2ETest {
         emailVerification3.setEmail("othermario@gmail.com");
         emailVerification3.setUsername("Mario");
         emailRepo.save(emailVerification3);
+        emailService.refreshRegisteredEmails();
 
         // Create comments
         createComment("Mario", "Mario’s comment", "mario@gmail.com", null);
@@ -364,6 +374,7 @@ class CommentE2ETest {
         emailVerification1.setEmail("mario@gmail.com");
         emailVerification1.setUsername("Mario");
         emailRepo.save(emailVerification1);
+        emailService.refreshRegisteredEmails();
 
         CommentResponseDTO comment = createComment();
 
@@ -387,4 +398,57 @@ class CommentE2ETest {
         assertThat(supportedCommentIds.getBody()).isNotEmpty();
         assertThat(supportedCommentIds.getBody()).contains(comment.getId());
     }
+
+    @Test
+    void shouldRetreiveCommentTreeWithSupportData() {
+        CommentResponseDTO root = createComment(null, "Root", null, null);
+        CommentResponseDTO reply = createComment(null, "Reply", null, root.getId());
+        createComment(null, "Nested reply", null, reply.getId());
+        createComment(null, "Another root", null, null);
+
+        restTemplate.postForEntity(baseUrl() + "/comments/" + reply.getId() + "/support?email=" + EMAIL, null, CommentResponseDTO.class);
+
+        ResponseEntity<RestResponsePage<CommentTreeNodeDTO>> response = restTemplate.exchange(
+            baseUrl() + "/analogies/" + analogyId + "/comments/tree?direction=ASC&email=" + EMAIL,
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<RestResponsePage<CommentTreeNodeDTO>>() {}
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<CommentTreeNodeDTO> roots = response.getBody().getContent();
+        assertThat(roots).hasSize(2);
+        assertThat(response.getBody().getTotalElements()).isEqualTo(2);
+
+        CommentTreeNodeDTO first = roots.get(0);
+        assertThat(first.getId()).isEqualTo(root.getId());
+        assertThat(first.getSupported()).isFalse();
+        assertThat(first.getReplies()).hasSize(1);
+
+        CommentTreeNodeDTO firstReply = first.getReplies().get(0);
+        assertThat(firstReply.getId()).isEqualTo(reply.getId());
+        assertThat(firstReply.getSupportCount()).isEqualTo(1);
+        assertThat(firstReply.getSupported()).isTrue();
+        assertThat(firstReply.getReplies()).extracting(CommentTreeNodeDTO::getContent).containsExactly("Nested reply");
+    }
+
+    @Test
+    void shouldRetreiveSupportStatusInBatch() {
+        CommentResponseDTO supported = createComment();
+        CommentResponseDTO unsupported = createComment();
+        restTemplate.postForEntity(baseUrl() + "/comments/" + supported.getId() + "/support?email=" + EMAIL, null, CommentResponseDTO.class);
+
+        ResponseEntity<Map<Long, SupportStatusDTO>> response = restTemplate.exchange(
+            baseUrl() + "/comments/support-status?ids=" + supported.getId() + "," + unsupported.getId() + ",999999&email=" + EMAIL,
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<Map<Long, SupportStatusDTO>>() {}
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsOnly(
+            Map.entry(supported.getId(), new SupportStatusDTO(1, true)),
+            Map.entry(unsupported.getId(), new SupportStatusDTO(0, false))
+        );
+    }
 }
@@ -0,0 +1,178 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.news.NewsRequestDTO;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.service.ContentVersions;
+import com.researchers_conicet.service.ContentVersions.Content;
+import com.researchers_conicet.service.NewsService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares GET /api/news answered from the compressed response cache with the same
+ * request rebuilt every time (queried, serialized and compressed per request).
+ * Reports process CPU per request and bytes on the wire for both.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class CompressedResponseCacheBenchmarkE2ETest {
+
+    private static final int NEWS = 20;
+    private static final int REQUESTS = 300;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.web", () -> "INFO");
+        // Only the writes of the benchmark move the stamps
+        registry.add("content-versions.refresh-ms", () -> "3600000");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    // Does not decompress, so body sizes are the bytes on the wire
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        newsRepository.deleteAll();
+        for (int i = 0; i < NEWS; i++) {
+            createNews(i);
+        }
+    }
+
+    private void createNews(int i) {
+        NewsRequestDTO news = new NewsRequestDTO();
+        news.setTitle("News " + i);
+        news.setContent(("Content of the news article number " + i + ". ").repeat(40));
+        news.setAuthors(Set.of("Author " + i, "Coauthor " + i));
+        news.setLinks(Set.of("https://example.com/n/" + i));
+        newsService.createNews(news);
+    }
+
+    private HttpResponse<byte[]> get(String path, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+            .getProcessCpuTime();
+    }
+
+    /**
+     * @param rebuild Moves the news stamp before each request, so none is served from the cache
+     * @return Process CPU microseconds per request
+     */
+    private long cpuMicrosPerRequest(boolean rebuild) throws Exception {
+        long start = processCpuNanos();
+        for (int i = 0; i < REQUESTS; i++) {
+            if (rebuild) {
+                contentVersions.changed(Content.NEWS);
+            }
+            assertThat(get("/api/news", true).statusCode()).isEqualTo(200);
+        }
+        return (processCpuNanos() - start) / REQUESTS / 1_000;
+    }
+
+    @Test
+    void newsListFromTheCacheShouldBeSmallerAndCheaper() throws Exception {
+        // warm up both paths
+        cpuMicrosPerRequest(true);
+        cpuMicrosPerRequest(false);
+
+        long rebuiltCpu = cpuMicrosPerRequest(true);
+        long cachedCpu = cpuMicrosPerRequest(false);
+
+        HttpResponse<byte[]> plain = get("/api/news", false);
+        HttpResponse<byte[]> compressed = get("/api/news", true);
+        assertThat(compressed.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(compressed.headers().allValues("Vary")).contains("Accept-Encoding");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(compressed.body())).readAllBytes())
+            .isEqualTo(plain.body());
+
+        log.info("GET /api/news, {} articles: rebuilt per request {} us CPU, from cache {} us CPU; "
+                + "{} bytes plain, {} bytes gzip",
+            NEWS, rebuiltCpu, cachedCpu, plain.body().length, compressed.body().length);
+
+        assertThat(compressed.body().length).isLessThan(plain.body().length / 3);
+    }
+
+    @Test
+    void writesShouldReplaceTheCachedBody() throws Exception {
+        assertThat(new String(get("/api/news", false).body())).doesNotContain("News 99");
+
+        createNews(99);
+
+        assertThat(new String(get("/api/news", false).body())).contains("News 99");
+    }
+
+    @Test
+    void onlyTheFirstAnalogyPageShouldBeCached() throws Exception {
+        assertThat(get("/api/analogies?page=0", true).headers().allValues("Vary")).contains("Accept-Encoding");
+        assertThat(get("/api/analogies?page=1", true).headers().allValues("Vary")).doesNotContain("Accept-Encoding");
+    }
+}
@@ -0,0 +1,206 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
+import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.news.NewsRequestDTO;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.ContentVersions;
+import com.researchers_conicet.service.NewsService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Revalidates the public listings with If-None-Match and checks that a
+ * current tag is answered with 304 without a single SQL statement.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class ConditionalGetE2ETest {
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        // The tests refresh the stamps themselves
+        registry.add("content-versions.refresh-ms", () -> "3600000");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private AnalogyService analogyService;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        newsRepository.deleteAll();
+        analogyRepository.deleteAll();
+    }
+
+    private void createNews(int i) {
+        NewsRequestDTO news = new NewsRequestDTO();
+        news.setTitle("News " + i);
+        news.setContent("Content " + i);
+        news.setAuthors(Set.of("Author " + i));
+        news.setLinks(Set.of("https://example.com/n/" + i));
+        newsService.createNews(news);
+    }
+
+    private AnalogyRequestDTO analogyRequest(String title) {
+        AnalogyRequestDTO analogy = new AnalogyRequestDTO();
+        analogy.setTitle(title);
+        analogy.setContent("Content");
+        analogy.setAuthors(Set.of("Author"));
+        analogy.setLinks(Set.of("https://example.com/a"));
+        return analogy;
+    }
+
+    private ResponseEntity<String> get(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return restTemplate.exchange(
+            "http://localhost:" + port + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void newsListShouldBeRevalidatedWithoutQueries() {
+        createNews(0);
+
+        ResponseEntity<String> first = get("/api/news", null);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).startsWith("\"news-");
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache");
+
+        Statistics statistics = statistics();
+        ResponseEntity<String> revalidated = get("/api/news", etag);
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getBody()).isNull();
+        assertThat(revalidated.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // Other parameters select another body, so they carry another tag
+        assertThat(get("/api/news?page=1", etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        createNews(1);
+        ResponseEntity<String> changed = get("/api/news", etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(changed.getBody()).contains("News 1");
+    }
+
+    @Test
+    void analogyDetailShouldChangeTagWhenItIsUpdated() {
+        AnalogyResponseDTO analogy = analogyService.createAnalogy(analogyRequest("Before"));
+        String path = "/api/analogies/" + analogy.getId();
+
+        String etag = get(path, null).getHeaders().getETag();
+        assertThat(get(path, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        analogyService.updateAnalogy(analogy.getId(), analogyRequest("After"));
+
+        ResponseEntity<String> changed = get(path, etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getBody()).contains("After");
+    }
+
+    @Test
+    void newsSummariesShouldChangeTagAfterAWriteByAnotherNode() {
+        createNews(0);
+        contentVersions.refresh();
+
+        String etag = get("/api/news/summaries", null).getHeaders().getETag();
+        assertThat(get("/api/news/summaries", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // Written straight to the table, as another node would, without touching this node's stamp
+        jdbcTemplate.update("UPDATE news SET title = 'Edited elsewhere', version = version + 1");
+        assertThat(get("/api/news/summaries", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        contentVersions.refresh();
+        ResponseEntity<String> changed = get("/api/news/summaries", etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getBody()).contains("Edited elsewhere");
+    }
+}
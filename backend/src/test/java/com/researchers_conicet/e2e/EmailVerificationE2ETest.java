@@ -25,6 +25,7 @@ import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import com.researchers_conicet.dto.email_verification.BulkEmailResultDTO;
 import com.researchers_conicet.dto.email_verification.EmailVerificationRequestDTO;
 import com.researchers_conicet.dto.email_verification.EmailVerificationResponseDTO;
 import com.researchers_conicet.entity.EmailVerification;
@@ -51,7 +52,7 @@ public class EmailVerificationE2ETest {
         registry.add("spring.datasource.username", mysql::getUsername);
         registry.add("spring.datasource.password", mysql::getPassword);
         // Si es necesario, configurar más propiedades de Hibernate
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
     }
 
     @LocalServerPort
@@ -63,6 +64,9 @@ public class EmailVerificationE2ETest {
     @Autowired
     private EmailVerificationRepository emailVerificationRepository;
 
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
 
     @BeforeAll
     static void setUp() {
@@ -72,6 +76,8 @@ public class EmailVerificationE2ETest {
     @BeforeEach
     void cleanDatabase() {
         emailVerificationRepository.deleteAll();
+        // The repository bypasses the registered email cache
+        emailVerificationService.refreshRegisteredEmails();
     }
 
     @AfterAll
@@ -139,6 +145,24 @@ public class EmailVerificationE2ETest {
         assertThat(emailVerificationRepository.findByEmail(email)).isEmpty();
     }
 
+    @Test
+    void shouldReportChunksWhenDeletingMultipleEmails() {
+        emailVerificationService.importEmails(List.of("first@example.com", "second@example.com"));
+
+        ResponseEntity<BulkEmailResultDTO> response = restTemplate.exchange(
+            baseUrl() + "/remove-multiple",
+            HttpMethod.DELETE,
+            new HttpEntity<>(List.of("first@example.com", "second@example.com", "unknown@example.com")),
+            BulkEmailResultDTO.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getRequested()).isEqualTo(3);
+        assertThat(response.getBody().getAffected()).isEqualTo(2);
+        assertThat(response.getBody().getChunks()).isNotEmpty();
+        assertThat(emailVerificationRepository.count()).isZero();
+    }
+
     @Test
     void shouldUpdateUsername() {
         String email = "update@example.com";
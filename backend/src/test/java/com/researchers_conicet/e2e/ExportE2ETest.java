@@ -0,0 +1,181 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
+import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.comment.CommentRequestDTO;
+import com.researchers_conicet.dto.comment.CommentResponseDTO;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.EmailVerificationRepository;
+import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.CommentService;
+import com.researchers_conicet.service.EmailVerificationService;
+import com.researchers_conicet.service.ExportService;
+
+/**
+ * Exports more rows than one collection chunk through the cursor-backed
+ * streams and checks that every line carries its collections.
+ */
+@SpringBootTest
+@Testcontainers
+public class ExportE2ETest {
+
+    private static final int ANALOGIES = 1_201;
+    private static final String EMAIL = "reader@example.com";
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?useCursorFetch=true");
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AnalogyService analogyService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        analogyRepository.deleteAll();
+        emailVerificationRepository.deleteAll();
+        emailVerificationService.refreshRegisteredEmails();
+        emailVerificationService.registerEmail(EMAIL);
+    }
+
+    private AnalogyResponseDTO createAnalogy(int i) {
+        AnalogyRequestDTO request = new AnalogyRequestDTO();
+        request.setTitle("Analogy " + i);
+        request.setContent("Content " + i);
+        request.setAuthors(Set.of("Author " + i, "Coauthor " + i));
+        request.setLinks(Set.of("https://example.com/" + i));
+        return analogyService.createAnalogy(request);
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Test
+    void analogyExportShouldIncludeEveryRowWithItsCollections() throws Exception {
+        AnalogyResponseDTO first = createAnalogy(0);
+        for (int i = 1; i < ANALOGIES; i++) {
+            createAnalogy(i);
+        }
+        analogyService.addSupport(first.getId(), EMAIL);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(exportService.exportAnalogies(out)).isEqualTo(ANALOGIES);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(ANALOGIES);
+        assertThat(lines).allSatisfy(line -> {
+            assertThat(line.get("authors")).hasSize(2);
+            assertThat(line.get("links")).hasSize(1);
+        });
+
+        JsonNode exported = lines.get(0);
+        assertThat(exported.get("id").asLong()).isEqualTo(first.getId());
+        assertThat(exported.get("supportCount").asInt()).isEqualTo(1);
+        assertThat(exported.get("supportEmails").get(0).asText()).isEqualTo(EMAIL);
+    }
+
+    @Test
+    void commentExportShouldKeepTheReplyChain() throws Exception {
+        AnalogyResponseDTO analogy = createAnalogy(0);
+
+        CommentRequestDTO root = new CommentRequestDTO();
+        root.setUserName("Reader");
+        root.setEmail(EMAIL);
+        root.setContent("Root");
+        CommentResponseDTO rootComment = commentService.createComment(root, analogy.getId());
+
+        CommentRequestDTO reply = new CommentRequestDTO();
+        reply.setUserName("Reader");
+        reply.setEmail(EMAIL);
+        reply.setContent("Reply");
+        reply.setParentId(rootComment.getId());
+        commentService.createComment(reply, analogy.getId());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(exportService.exportComments(out)).isEqualTo(2);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines.get(0).get("parentId").isNull()).isTrue();
+        assertThat(lines.get(1).get("parentId").asLong()).isEqualTo(rootComment.getId());
+        assertThat(lines.get(1).get("analogyId").asLong()).isEqualTo(analogy.getId());
+    }
+
+    @Test
+    void emailExportShouldWriteOneLinePerEmail() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(exportService.exportRegisteredEmails(out)).isEqualTo(1);
+        assertThat(lines(out).get(0).get("email").asText()).isEqualTo(EMAIL);
+    }
+}
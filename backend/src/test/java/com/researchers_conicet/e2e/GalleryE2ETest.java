@@ -53,7 +53,7 @@ public class GalleryE2ETest {
         registry.add("spring.datasource.username", mysql::getUsername);
         registry.add("spring.datasource.password", mysql::getPassword);
         // Si es necesario, configurar más propiedades de Hibernate
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
     }
 
     @LocalServerPort
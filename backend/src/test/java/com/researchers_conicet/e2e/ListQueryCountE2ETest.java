@@ -0,0 +1,236 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
+import com.researchers_conicet.dto.analogy.AnalogySummaryDTO;
+import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+import com.researchers_conicet.dto.news.NewsRequestDTO;
+import com.researchers_conicet.dto.research.ResearchRequestDTO;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.repository.ResearchRepository;
+import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.NewsService;
+import com.researchers_conicet.service.ResearchService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the list endpoints against N+1 collection loading.
+ * Every page must cost the same number of SQL statements whatever its size.
+ */
+@SpringBootTest
+@Testcontainers
+public class ListQueryCountE2ETest {
+
+    private static final int ROWS = 12;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AnalogyService analogyService;
+    @Autowired
+    private NewsService newsService;
+    @Autowired
+    private ResearchService researchService;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+    @Autowired
+    private NewsRepository newsRepository;
+    @Autowired
+    private ResearchRepository researchRepository;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        analogyRepository.deleteAll();
+        newsRepository.deleteAll();
+        researchRepository.deleteAll();
+
+        for (int i = 0; i < ROWS; i++) {
+            MediaLinkDTO media = new MediaLinkDTO();
+            media.setUrl("https://example.com/media/" + i);
+            media.setMediaType("image");
+
+            AnalogyRequestDTO analogy = new AnalogyRequestDTO();
+            analogy.setTitle("Analogy " + i);
+            analogy.setContent("Content " + i);
+            analogy.setAuthors(Set.of("Author " + i, "Coauthor " + i));
+            analogy.setLinks(Set.of("https://example.com/a/" + i, "https://example.org/a/" + i));
+            analogy.setMediaLinks(Set.of(media));
+            analogyService.createAnalogy(analogy);
+
+            NewsRequestDTO news = new NewsRequestDTO();
+            news.setTitle("News " + i);
+            news.setContent("Content " + i);
+            news.setAuthors(Set.of("Author " + i, "Coauthor " + i));
+            news.setLinks(Set.of("https://example.com/n/" + i));
+            news.setMediaLinks(Set.of(media));
+            newsService.createNews(news);
+
+            ResearchRequestDTO research = new ResearchRequestDTO();
+            research.setResearchAbstract("Abstract " + i);
+            research.setAuthors(Set.of("Author " + i, "Coauthor " + i));
+            research.setLinks(Set.of("https://example.com/r/" + i));
+            researchService.createResearch(research);
+        }
+    }
+
+    private long countStatements(Supplier<?> call) {
+        // measure the database path, not what the second-level cache kept from earlier calls
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private PageRequest page(int size) {
+        return PageRequest.of(0, size, Sort.Direction.DESC, "createdAt");
+    }
+
+    @Test
+    void analogyPagesShouldUseAFixedNumberOfStatements() {
+        long small = countStatements(() -> analogyService.getAllAnalogies(page(2)));
+        long large = countStatements(() -> analogyService.getAllAnalogies(page(10)));
+
+        // page + count + authors + links + media links
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(5);
+
+        // keyset mode skips the count query
+        assertThat(countStatements(() -> analogyService.getAnalogiesByCursor(null, 10)))
+            .isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void newsPagesShouldUseAFixedNumberOfStatements() {
+        long small = countStatements(() -> newsService.getAllNews(page(2)));
+        long large = countStatements(() -> newsService.getAllNews(page(10)));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void researchPagesShouldUseAFixedNumberOfStatements() {
+        long small = countStatements(() -> researchService.getAllResearches(page(2)));
+        long large = countStatements(() -> researchService.getAllResearches(page(10)));
+
+        // page + count + authors + links
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void searchesShouldUseAFixedNumberOfStatements() {
+        // every seeded analogy matches, so the result size is ROWS
+        assertThat(countStatements(() -> analogyService.searchEverywhere("Analogy")))
+            .isLessThanOrEqualTo(4);
+        assertThat(countStatements(() -> researchService.searchEverywhere("Abstract")))
+            .isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void summaryPagesShouldNotHydrateEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // page + count + authors + preview image
+        assertThat(countStatements(() -> analogyService.getAnalogySummaries(page(10))))
+            .isLessThanOrEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        assertThat(countStatements(() -> newsService.getNewsSummaries(page(10))))
+            .isLessThanOrEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void summaryPreviewImagesShouldSkipVideos() {
+        // the video url sorts before the image url
+        MediaLinkDTO video = new MediaLinkDTO();
+        video.setUrl("https://a.example.com/clip.mp4");
+        video.setMediaType("video");
+        MediaLinkDTO image = new MediaLinkDTO();
+        image.setUrl("https://z.example.com/picture.png");
+        image.setMediaType("image");
+
+        AnalogyRequestDTO analogy = new AnalogyRequestDTO();
+        analogy.setTitle("Analogy with video");
+        analogy.setContent("Content");
+        analogy.setAuthors(Set.of("Author"));
+        analogy.setMediaLinks(Set.of(video, image));
+        Long id = analogyService.createAnalogy(analogy).getId();
+
+        AnalogyRequestDTO videoOnly = new AnalogyRequestDTO();
+        videoOnly.setTitle("Analogy with only a video");
+        videoOnly.setContent("Content");
+        videoOnly.setAuthors(Set.of("Author"));
+        videoOnly.setMediaLinks(Set.of(video));
+        Long videoOnlyId = analogyService.createAnalogy(videoOnly).getId();
+
+        List<AnalogySummaryDTO> summaries = analogyService.getAnalogySummaries(page(ROWS + 2)).getContent();
+
+        assertThat(summaries).filteredOn(summary -> summary.getId().equals(id))
+            .singleElement()
+            .extracting(AnalogySummaryDTO::getPreviewImage)
+            .isEqualTo("https://z.example.com/picture.png");
+        assertThat(summaries).filteredOn(summary -> summary.getId().equals(videoOnlyId))
+            .singleElement()
+            .extracting(AnalogySummaryDTO::getPreviewImage)
+            .isNull();
+    }
+}
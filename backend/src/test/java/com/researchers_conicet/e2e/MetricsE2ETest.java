@@ -0,0 +1,146 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.news.NewsRequestDTO;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.service.NewsService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves a request and checks the meters it leaves behind: the service timer,
+ * the per-request Hibernate counts and the HTTP timer tagged by route. Also checks
+ * that the registered email cache is exported.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class MetricsE2ETest {
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        // Served from the compressed cache the listing would never reach the controller
+        registry.add("responses.compressed-cache.enabled", () -> "false");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        newsRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            NewsRequestDTO news = new NewsRequestDTO();
+            news.setTitle("News " + i);
+            news.setContent("Content " + i);
+            news.setAuthors(Set.of("Author " + i));
+            news.setLinks(Set.of("https://example.com/n/" + i));
+            newsService.createNews(news);
+        }
+    }
+
+    @Test
+    void newsListShouldBeTimedAndCounted() {
+        assertThat(restTemplate.getForEntity("http://localhost:" + port + "/api/news", String.class)
+            .getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Timer service = meterRegistry.find("service.method")
+            .tags("class", "NewsService", "method", "getAllNews", "exception", "none")
+            .timer();
+        assertThat(service).isNotNull();
+        assertThat(service.count()).isPositive();
+
+        // Components of the service package are timed too
+        assertThat(meterRegistry.find("service.method")
+            .tags("class", "ContentVersions", "method", "current", "exception", "none")
+            .timer()).isNotNull();
+
+        DistributionSummary statements = meterRegistry.find("hibernate.request.statements")
+            .tags("method", "GET", "uri", "/api/news")
+            .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isPositive();
+
+        DistributionSummary loads = meterRegistry.find("hibernate.request.entity.loads")
+            .tags("uri", "/api/news")
+            .summary();
+        assertThat(loads).isNotNull();
+        assertThat(loads.totalAmount()).isPositive();
+
+        assertThat(meterRegistry.find("http.server.requests").tags("uri", "/api/news").timer()).isNotNull();
+
+        log.info("GET /api/news: {} statements, {} entities loaded, {} collections fetched",
+            (long) statements.totalAmount(), (long) loads.totalAmount(),
+            (long) meterRegistry.find("hibernate.request.collection.fetches").tags("uri", "/api/news")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void registeredEmailCacheShouldBeExported() {
+        for (String result : new String[]{"hit", "negative_hit", "miss"}) {
+            assertThat(meterRegistry.find("registered.emails.cache.lookups").tag("result", result).functionCounter())
+                .isNotNull();
+        }
+        assertThat(meterRegistry.find("registered.emails.cache.size").gauge()).isNotNull();
+        assertThat(meterRegistry.find("registered.emails.cache.loaded").gauge()).isNotNull();
+    }
+}
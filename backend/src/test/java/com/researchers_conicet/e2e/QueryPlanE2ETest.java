@@ -0,0 +1,389 @@
+package com.researchers_conicet.e2e;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.CommentRepository;
+import com.researchers_conicet.repository.EmailVerificationRepository;
+import com.researchers_conicet.repository.GalleryRepository;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.repository.ResearchRepository;
+import com.researchers_conicet.utils.StatementCapture;
+import com.researchers_conicet.utils.StatementCapture.Captured;
+import com.researchers_conicet.utils.SyntheticDataset;
+import com.researchers_conicet.utils.SyntheticDataset.Volumes;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs every query method declared on the repositories against a generated dataset and
+ * checks the plan of each statement it sends with EXPLAIN FORMAT=JSON. Fails on full
+ * table or index scans, and on filesorts, of more than -Dplans.row-threshold rows (1000).
+ * <p>
+ * Methods are called with sample arguments in a rolled-back transaction; the statements
+ * are recorded with their bound parameters by {@link StatementCapture} and replayed under
+ * EXPLAIN on the same connection. Scans that are the point of a query are listed in
+ * {@link #ACCEPTED} with the reason; a new one fails until its query is rewritten, indexed
+ * or listed there.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest
+@Testcontainers
+public class QueryPlanE2ETest {
+
+    private static final long ROW_THRESHOLD = Long.getLong("plans.row-threshold", 1_000);
+
+    /** Large enough for every table but the gallery to exceed the threshold several times */
+    private static final Volumes VOLUMES = new Volumes(5_000, 20_000, 20, 40_000, 1_000, 2_000, 2_000, 300);
+
+    /** A day after the first generated created_at, so that ranges and keysets fall inside the data */
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 2, 0, 0);
+
+    private static final String SUBSTRING = "substring search, which no B-tree index serves; "
+        + "ranked search goes through the Lucene index";
+    private static final String STATISTIC = "statistic over the whole table";
+    private static final String PAGE_TOTAL = "page total counts every row; the cursor endpoints avoid it";
+    private static final String EXPORT = "export reads every row by design";
+
+    private static final Map<String, String> ACCEPTED = Map.ofEntries(
+        entry("AnalogyRepository.findByTitleContainingIgnoreCase", SUBSTRING),
+        entry("AnalogyRepository.findByAuthorNameContaining", SUBSTRING),
+        entry("AnalogyRepository.findByKeywordInTitle", SUBSTRING),
+        entry("AnalogyRepository.countAnalogiesWithMoreThanXAuthors", STATISTIC),
+        entry("AnalogyRepository.countAnalogiesWithLinks", STATISTIC),
+        entry("AnalogyRepository.findSummaries", PAGE_TOTAL),
+        entry("AnalogyRepository.streamAllForExport", EXPORT),
+        entry("AnalogyRepository.reconcileSupportCounts", "repair job recounting the supports of every analogy"),
+        entry("NewsRepository.findByTitleContainingIgnoreCase", SUBSTRING),
+        entry("NewsRepository.findByAuthorNameContaining", SUBSTRING),
+        entry("NewsRepository.findByKeywordInTitle", SUBSTRING),
+        entry("NewsRepository.countNewsWithMoreThanXAuthors", STATISTIC),
+        entry("NewsRepository.countNewsWithLinks", STATISTIC),
+        entry("NewsRepository.findSummaries", PAGE_TOTAL),
+        entry("NewsRepository.streamAllForExport", EXPORT),
+        entry("ResearchRepository.findByResearchAbstractContainingIgnoreCase", SUBSTRING),
+        entry("ResearchRepository.findByAuthorNameContaining", SUBSTRING),
+        entry("ResearchRepository.findByKeywordInAbstract", SUBSTRING),
+        entry("ResearchRepository.countResearchesWithMoreThanXAuthors", STATISTIC),
+        entry("ResearchRepository.countResearchesWithLinks", STATISTIC),
+        entry("ResearchRepository.findSummaries", PAGE_TOTAL),
+        entry("ResearchRepository.streamAllForExport", EXPORT),
+        entry("CommentRepository.findByUserName", "name lookup across every analogy; "
+            + "the service searches names within one analogy"),
+        entry("CommentRepository.findByParentIdIsNotNull", "returns nearly every comment"),
+        entry("CommentRepository.streamAllForExport", EXPORT),
+        entry("EmailVerificationRepository.findAll", "loads every registered email"),
+        entry("EmailVerificationRepository.findAllEmails", "loads every registered email into the in-memory set"),
+        entry("EmailVerificationRepository.deleteAllEmails", "deletes every row by definition"),
+        entry("EmailVerificationRepository.streamAllForExport", EXPORT),
+        entry("GalleryRepository.streamAllForExport", EXPORT)
+    );
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        // Every call has to reach the database to be explained
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementCapture.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * @param problems Scans and sorts over the threshold, or the failure of the call
+     */
+    private record Plan(String method, int statements, List<String> problems) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private ResearchRepository researchRepository;
+
+    @Autowired
+    private GalleryRepository galleryRepository;
+
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+
+    @BeforeAll
+    void seedDatabase() {
+        mysql.start();
+        new SyntheticDataset(jdbcTemplate).load(VOLUMES);
+        jdbcTemplate.execute("ANALYZE TABLE analogies, analogy_authors, analogy_links, analogy_media_links, " +
+            "analogy_supports, comments, comment_supports, news, new_authors, new_links, new_media_links, " +
+            "researches, research_authors, research_links, gallery_images, email_verifications");
+    }
+
+    @AfterAll
+    void tearDown() {
+        mysql.stop();
+    }
+
+    @Test
+    void repositoryQueriesShouldNotScanOrSortLargeTables() {
+        Map<Class<?>, Object> repositories = new LinkedHashMap<>();
+        repositories.put(AnalogyRepository.class, analogyRepository);
+        repositories.put(CommentRepository.class, commentRepository);
+        repositories.put(NewsRepository.class, newsRepository);
+        repositories.put(ResearchRepository.class, researchRepository);
+        repositories.put(GalleryRepository.class, galleryRepository);
+        repositories.put(EmailVerificationRepository.class, emailVerificationRepository);
+
+        List<Plan> plans = new ArrayList<>();
+        repositories.forEach((type, repository) -> Arrays.stream(type.getDeclaredMethods())
+            .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+            .sorted(Comparator.comparing(Method::getName).thenComparing(Method::toString))
+            .forEach(method -> plans.add(explain(type, repository, method))));
+
+        List<String> unexpected = new ArrayList<>();
+        for (Plan plan : plans) {
+            String accepted = ACCEPTED.get(plan.method());
+            if (plan.problems().isEmpty()) {
+                log.info("{}: {} statement(s), no scans over {} rows", plan.method(), plan.statements(), ROW_THRESHOLD);
+            } else if (accepted != null) {
+                log.info("{}: {} (accepted: {})", plan.method(), plan.problems(), accepted);
+            } else {
+                log.warn("{}: {}", plan.method(), plan.problems());
+                unexpected.add(plan.method() + ": " + plan.problems());
+            }
+        }
+        log.info("Explained {} repository methods, {} with unexpected scans", plans.size(), unexpected.size());
+
+        assertThat(unexpected).isEmpty();
+    }
+
+    /**
+     * Calls the method and explains every SELECT, UPDATE and DELETE it sent
+     */
+    private Plan explain(Class<?> type, Object repository, Method method) {
+        String name = type.getSimpleName() + "." + method.getName();
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            List<Captured> statements;
+            StatementCapture.start();
+            try {
+                Object result = method.invoke(repository, arguments(method));
+                if (result instanceof Stream<?> stream) {
+                    stream.close();
+                }
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                return new Plan(name, 0, List.of("failed: " + cause));
+            } finally {
+                statements = StatementCapture.stop();
+            }
+
+            List<String> problems = new ArrayList<>();
+            for (Captured statement : statements) {
+                String sql = explainable(statement.sql());
+                if (sql == null) {
+                    continue;
+                }
+                String json = jdbcTemplate.queryForObject("EXPLAIN FORMAT=JSON " + sql, String.class,
+                    statement.parameters().toArray());
+                try {
+                    findProblems(objectMapper.readTree(json), problems);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unreadable plan for " + sql, e);
+                }
+            }
+            return new Plan(name, statements.size(), problems);
+        });
+    }
+
+    /**
+     * @return The statement as EXPLAIN accepts it, or null if it is not a SELECT, UPDATE or DELETE
+     */
+    private static String explainable(String sql) {
+        String statement = sql.strip();
+        String verb = statement.split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+        if (!verb.equals("select") && !verb.equals("update") && !verb.equals("delete")) {
+            return null;
+        }
+        return statement.replaceFirst("(?i)\\s+for update$", "");
+    }
+
+    /**
+     * Collects table accesses reading a whole table or index, and filesorts, above the threshold
+     */
+    private static void findProblems(JsonNode node, List<String> problems) {
+        if (node.isObject()) {
+            String access = node.path("access_type").asText();
+            long rows = node.path("rows_examined_per_scan").asLong();
+            if ((access.equals("ALL") || access.equals("index")) && rows > ROW_THRESHOLD) {
+                problems.add((access.equals("ALL") ? "full table scan of " : "full index scan of ")
+                    + node.path("table_name").asText() + " (" + rows + " rows)");
+            }
+            if (node.path("using_filesort").asBoolean()) {
+                long sorted = maxRows(node);
+                if (sorted > ROW_THRESHOLD) {
+                    problems.add("filesort of " + sorted + " rows");
+                }
+            }
+        }
+        node.forEach(child -> findProblems(child, problems));
+    }
+
+    private static long maxRows(JsonNode node) {
+        long rows = node.path("rows_produced_per_join").asLong();
+        for (JsonNode child : node) {
+            rows = Math.max(rows, maxRows(child));
+        }
+        return rows;
+    }
+
+    private static Object[] arguments(Method method) {
+        Query query = method.getAnnotation(Query.class);
+        boolean ordered = query != null && query.value().toUpperCase(Locale.ROOT).contains("ORDER BY");
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            arguments[i] = argument(method, parameters[i], ordered);
+        }
+        return arguments;
+    }
+
+    /**
+     * A value shaped like the ones the services pass, chosen by type and parameter name
+     */
+    private static Object argument(Method method, Parameter parameter, boolean ordered) {
+        Param param = parameter.getAnnotation(Param.class);
+        String name = (param != null ? param.value() : parameter.getName()).toLowerCase(Locale.ROOT);
+        Class<?> type = parameter.getType();
+
+        if (type == Long.class || type == long.class) {
+            return SyntheticDataset.analogyId(0);
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == LocalDateTime.class) {
+            // An hour of rows, as a dashboard would ask for
+            return name.contains("end") ? ORIGIN.plusHours(1) : ORIGIN;
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            // Queries without an ORDER BY of their own are sorted the way the services sort them
+            return ordered ? PageRequest.of(0, 10) : PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        }
+        if (type == String.class) {
+            return sampleString(name);
+        }
+        if (Collection.class.isAssignableFrom(type)
+                && parameter.getParameterizedType() instanceof ParameterizedType generic) {
+            Object element = generic.getActualTypeArguments()[0];
+            if (element == Long.class) {
+                return List.of(SyntheticDataset.analogyId(0), SyntheticDataset.analogyId(1), SyntheticDataset.analogyId(2));
+            }
+            if (element == String.class) {
+                String singular = name.endsWith("s") ? name.substring(0, name.length() - 1) : name;
+                return List.of(sampleString(singular), sampleString(singular) + "x");
+            }
+        }
+        throw new IllegalArgumentException("No sample value for parameter " + name + " of " + method);
+    }
+
+    private static String sampleString(String name) {
+        if (name.contains("email")) {
+            return SyntheticDataset.email(1);
+        }
+        if (name.contains("url") || name.contains("link")) {
+            return SyntheticDataset.galleryUrl(1);
+        }
+        if (name.contains("domain")) {
+            return "nature.com";
+        }
+        if (name.contains("authorname") || name.contains("partialname")) {
+            return SyntheticDataset.author(1_234);
+        }
+        if (name.contains("username")) {
+            return SyntheticDataset.userName(1);
+        }
+        return SyntheticDataset.word(1);
+    }
+}
@@ -0,0 +1,340 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.researchers_conicet.config.IdGeneratorInitializer;
+import com.researchers_conicet.search.SearchIndexLoader;
+import com.researchers_conicet.service.ContentVersions;
+import com.researchers_conicet.service.ContentVersions.Content;
+import com.researchers_conicet.service.EmailVerificationService;
+import com.researchers_conicet.utils.SyntheticDataset;
+import com.researchers_conicet.utils.SyntheticDataset.Volumes;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures p50 and p99 latency of every public GET endpoint against a generated
+ * dataset and fails when one exceeds its threshold in scale-latency-thresholds.properties.
+ * <p>
+ * Tagged "scale" and left out of the default build. Run with
+ *   mvn test -Pscale
+ * and size the dataset with -Dscale.* properties (see {@link Volumes#fromSystemProperties()}).
+ * Other thresholds can be given with -Dscale.thresholds=path, and -Dscale.requests sets the
+ * measured requests per endpoint. Results are also written to target/scale/latency.json.
+ * <p>
+ * The response caches are off, so the numbers are those of the queries and their mapping.
+ */
+@Slf4j
+@Tag("scale")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class ScaleLatencyE2ETest {
+
+    private static final int WARMUP = Integer.getInteger("scale.warmup", 20);
+    private static final int REQUESTS = Integer.getInteger("scale.requests", 100);
+    private static final String THRESHOLDS = "scale-latency-thresholds.properties";
+    private static final Path REPORT = Path.of("target", "scale", "latency.json");
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--innodb-buffer-pool-size=1G", "--innodb-flush-log-at-trx-commit=2")
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.web", () -> "INFO");
+        registry.add("responses.compressed-cache.enabled", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+    }
+
+    /**
+     * A public route and how to build its path for the n-th request
+     */
+    private record Endpoint(String name, IntFunction<String> path) {}
+
+    /**
+     * @param p50 Median latency in milliseconds
+     * @param p99 99th percentile latency in milliseconds
+     */
+    private record Latency(String name, double p50, double p99, double max, long p50Threshold, long p99Threshold) {
+        boolean regressed() {
+            return p50 > p50Threshold || p99 > p99Threshold;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdGeneratorInitializer idGeneratorInitializer;
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Volumes volumes = Volumes.fromSystemProperties();
+
+    @BeforeAll
+    void seedDatabase() {
+        mysql.start();
+        new SyntheticDataset(jdbcTemplate).load(volumes);
+        // What the application does at startup, now over the generated rows
+        idGeneratorInitializer.afterSingletonsInstantiated();
+        searchIndexLoader.rebuildIndex();
+        emailVerificationService.refreshRegisteredEmails();
+        Arrays.stream(Content.values()).forEach(contentVersions::changed);
+        jdbcTemplate.execute("ANALYZE TABLE analogies, comments, analogy_supports, comment_supports, " +
+            "email_verifications, news, researches, gallery_images");
+    }
+
+    @AfterAll
+    void tearDown() {
+        mysql.stop();
+    }
+
+    /** Spreads request n over the rows of a table, the same way on every run */
+    private static int pick(int n, int rows) {
+        return new Random(n * 7919L).nextInt(Math.max(rows, 1));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private List<Endpoint> endpoints() {
+        int analogies = volumes.analogies();
+        int comments = Math.max(volumes.comments(), 1);
+        int emails = volumes.emails();
+        int news = Math.max(volumes.news(), 1);
+        int researches = Math.max(volumes.researches(), 1);
+        int images = Math.max(volumes.galleryImages(), 1);
+        IntFunction<Long> analogy = n -> SyntheticDataset.analogyId(pick(n, analogies));
+        IntFunction<Long> comment = n -> SyntheticDataset.commentId(pick(n, comments));
+        IntFunction<String> email = n -> encode(SyntheticDataset.email(pick(n, emails)));
+        IntFunction<String> word = n -> encode(SyntheticDataset.word(n));
+        // Four-digit names, so a "contains" search matches one author and not a tenth of them
+        IntFunction<String> author = n -> encode(SyntheticDataset.author(1_000 + pick(n, 4_000)));
+        IntFunction<String> ids = n -> LongStream.range(0, 10)
+            .mapToObj(i -> String.valueOf(SyntheticDataset.analogyId(pick(n * 10 + (int) i, analogies))))
+            .collect(Collectors.joining(","));
+        IntFunction<String> commentIds = n -> LongStream.range(0, 10)
+            .mapToObj(i -> String.valueOf(SyntheticDataset.commentId(pick(n * 10 + (int) i, comments))))
+            .collect(Collectors.joining(","));
+        int lastAnalogyPage = Math.max(analogies / 10 - 1, 0);
+
+        return List.of(
+            new Endpoint("analogies.detail", n -> "/api/analogies/" + analogy.apply(n)),
+            new Endpoint("analogies.list", n -> "/api/analogies?page=0&size=10"),
+            new Endpoint("analogies.list.last-page", n -> "/api/analogies?page=" + lastAnalogyPage + "&size=10"),
+            new Endpoint("analogies.summaries", n -> "/api/analogies/summaries?page=0&size=10"),
+            new Endpoint("analogies.cursor", n -> "/api/analogies/cursor?size=10"),
+            new Endpoint("analogies.search.title", n -> "/api/analogies/search/title?query="
+                + encode("Analogy " + pick(n, analogies) + " ")),
+            new Endpoint("analogies.search.author", n -> "/api/analogies/search/author?name=" + author.apply(n)),
+            new Endpoint("analogies.search", n -> "/api/analogies/search?query=" + word.apply(n)),
+            new Endpoint("analogies.verify-email", n -> "/api/analogies/verify-email?email=" + email.apply(n)),
+            new Endpoint("analogies.support-count", n -> "/api/analogies/" + analogy.apply(n) + "/support-count"),
+            new Endpoint("analogies.support-emails", n -> "/api/analogies/" + analogy.apply(n) + "/support-emails"),
+            new Endpoint("analogies.has-supported", n -> "/api/analogies/" + analogy.apply(n)
+                + "/has-supported?email=" + email.apply(n)),
+            new Endpoint("analogies.support-status", n -> "/api/analogies/support-status?ids=" + ids.apply(n)
+                + "&email=" + email.apply(n)),
+
+            new Endpoint("comments.detail", n -> "/api/comments/" + comment.apply(n)),
+            new Endpoint("comments.list", n -> "/api/comments?page=0&size=10"),
+            new Endpoint("comments.by-analogy", n -> "/api/analogies/" + analogy.apply(n) + "/comments?page=0&size=10"),
+            new Endpoint("comments.tree", n -> "/api/analogies/" + analogy.apply(n)
+                + "/comments/tree?page=0&size=10&email=" + email.apply(n)),
+            new Endpoint("comments.search.user-name", n -> "/api/analogies/" + analogy.apply(n)
+                + "/comments/search?userName=" + encode(SyntheticDataset.userName(pick(n, emails)))),
+            new Endpoint("comments.search.email", n -> "/api/analogies/" + analogy.apply(n)
+                + "/comments/search?email=" + email.apply(n)),
+            new Endpoint("comments.search.term", n -> "/api/analogies/" + analogy.apply(n)
+                + "/comments/search?term=" + word.apply(n)),
+            new Endpoint("comments.email-authorization", n -> "/api/comments/email-authorization?email=" + email.apply(n)),
+            new Endpoint("comments.verify-email", n -> "/api/comments/verify-email?email=" + email.apply(n)),
+            new Endpoint("comments.support-count", n -> "/api/comments/" + comment.apply(n) + "/support-count"),
+            new Endpoint("comments.support-emails", n -> "/api/comments/" + comment.apply(n) + "/support-emails"),
+            new Endpoint("comments.has-supported", n -> "/api/comments/" + comment.apply(n)
+                + "/has-supported?email=" + email.apply(n)),
+            new Endpoint("comments.support-status", n -> "/api/comments/support-status?ids=" + commentIds.apply(n)
+                + "&email=" + email.apply(n)),
+            new Endpoint("comments.supported", n -> "/api/comments/supported?email=" + email.apply(n)),
+
+            new Endpoint("news.detail", n -> "/api/news/" + SyntheticDataset.newsId(pick(n, news))),
+            new Endpoint("news.list", n -> "/api/news?page=0&size=10"),
+            new Endpoint("news.summaries", n -> "/api/news/summaries?page=0&size=10"),
+            new Endpoint("news.cursor", n -> "/api/news/cursor?size=10"),
+            new Endpoint("news.search.title", n -> "/api/news/search/title?query="
+                + encode("News " + pick(n, news) + " ")),
+            new Endpoint("news.search", n -> "/api/news/search?query=" + word.apply(n)),
+
+            new Endpoint("researches.detail", n -> "/api/researches/" + SyntheticDataset.researchId(pick(n, researches))),
+            new Endpoint("researches.list", n -> "/api/researches?page=0&size=10"),
+            new Endpoint("researches.summaries", n -> "/api/researches/summaries?page=0&size=10"),
+            new Endpoint("researches.cursor", n -> "/api/researches/cursor?size=10"),
+            new Endpoint("researches.search.abstract", n -> "/api/researches/search/abstract?query="
+                + encode("Research " + pick(n, researches) + " ")),
+            new Endpoint("researches.search.author", n -> "/api/researches/search/author?name=" + author.apply(n)),
+            new Endpoint("researches.search", n -> "/api/researches/search?query=" + word.apply(n)),
+
+            new Endpoint("gallery.list", n -> "/api/gallery?page=0&size=10"),
+            new Endpoint("gallery.by-url", n -> "/api/gallery/by-url?url="
+                + encode(SyntheticDataset.galleryUrl(pick(n, images)))),
+
+            new Endpoint("search", n -> "/api/search?query=" + word.apply(n)),
+            new Endpoint("email-verification.check", n -> "/api/email-verification/check?email=" + email.apply(n))
+        );
+    }
+
+    private Properties thresholds() throws IOException {
+        Properties thresholds = new Properties();
+        String override = System.getProperty("scale.thresholds");
+        if (override != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(override))) {
+                thresholds.load(reader);
+            }
+        } else {
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(THRESHOLDS)) {
+                assertThat(in).as(THRESHOLDS).isNotNull();
+                thresholds.load(in);
+            }
+        }
+        return thresholds;
+    }
+
+    private static long threshold(Properties thresholds, String endpoint, String percentile) {
+        return Long.parseLong(thresholds.getProperty(endpoint + "." + percentile,
+            thresholds.getProperty("default." + percentile)));
+    }
+
+    /**
+     * @return Latency of each measured request in milliseconds, sorted
+     */
+    private double[] measure(Endpoint endpoint) throws Exception {
+        for (int n = 0; n < WARMUP; n++) {
+            send(endpoint, n);
+        }
+        double[] latencies = new double[REQUESTS];
+        for (int n = 0; n < REQUESTS; n++) {
+            long start = System.nanoTime();
+            send(endpoint, WARMUP + n);
+            latencies[n] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private void send(Endpoint endpoint, int n) throws Exception {
+        String path = endpoint.path().apply(n);
+        HttpResponse<byte[]> response = client.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).as("GET %s", path).isEqualTo(200);
+    }
+
+    /** Nearest-rank percentile of sorted values */
+    private static double percentile(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    @Test
+    void publicEndpointsShouldStayWithinTheirLatencyThresholds() throws Exception {
+        Properties thresholds = thresholds();
+        List<Latency> results = new ArrayList<>();
+        for (Endpoint endpoint : endpoints()) {
+            double[] latencies = measure(endpoint);
+            Latency latency = new Latency(endpoint.name(),
+                percentile(latencies, 50), percentile(latencies, 99), latencies[latencies.length - 1],
+                threshold(thresholds, endpoint.name(), "p50"), threshold(thresholds, endpoint.name(), "p99"));
+            results.add(latency);
+            log.info("{}: p50 {} ms (max {}), p99 {} ms (max {}), slowest {} ms{}", latency.name(),
+                String.format("%.1f", latency.p50()), latency.p50Threshold(),
+                String.format("%.1f", latency.p99()), latency.p99Threshold(),
+                String.format("%.1f", latency.max()), latency.regressed() ? "  <-- REGRESSED" : "");
+        }
+        writeReport(results);
+
+        assertThat(results.stream().filter(Latency::regressed).map(Latency::name).toList())
+            .as("Endpoints over their latency thresholds with %s, see %s", volumes, REPORT)
+            .isEmpty();
+    }
+
+    /**
+     * Keeps the run as JSON, so the numbers of two commits can be compared
+     */
+    private void writeReport(List<Latency> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("volumes", volumes);
+        report.put("requests", REQUESTS);
+        report.put("endpoints", results);
+        File file = REPORT.toFile();
+        file.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+}
@@ -0,0 +1,113 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.InvestigadoresConicetBackendApplication;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the application against one database with the Liquibase changelog and
+ * ddl-auto=validate, and with ddl-auto=update as before the migrations, and reports
+ * the startup time of each.
+ * <p>
+ * The first start applies the changelog to an empty database, so it also checks that
+ * the migrated schema is the one the entities map.
+ */
+@Slf4j
+@Testcontainers
+public class SchemaStartupE2ETest {
+
+    private static final int ROUNDS = 3;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    /**
+     * @return Milliseconds until the context was ready
+     */
+    private static long start(boolean migrations) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", mysql.getJdbcUrl());
+        properties.put("spring.datasource.username", mysql.getUsername());
+        properties.put("spring.datasource.password", mysql.getPassword());
+        properties.put("spring.liquibase.enabled", migrations);
+        properties.put("spring.jpa.hibernate.ddl-auto", migrations ? "validate" : "update");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.web", "INFO");
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+
+        // As command line arguments, which take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+            .toArray(String[]::new);
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(InvestigadoresConicetBackendApplication.class).run(args)) {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            assertThat(context.isRunning()).isTrue();
+            return elapsed;
+        }
+    }
+
+    private static int appliedChangesets() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword()));
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DATABASECHANGELOG", Integer.class);
+    }
+
+    @Test
+    void migratedSchemaShouldValidateOnEveryStart() {
+        long firstStart = start(true);
+        int changesets = appliedChangesets();
+        assertThat(changesets).isPositive();
+
+        // Alternated, so that JIT and file system caches favour neither mode
+        long validate = Long.MAX_VALUE;
+        long update = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            validate = Math.min(validate, start(true));
+            update = Math.min(update, start(false));
+        }
+
+        log.info("Startup: {} ms applying {} changesets to an empty database; best of {}: {} ms with "
+                + "migrations and ddl-auto=validate, {} ms with ddl-auto=update",
+            firstStart, changesets, ROUNDS, validate, update);
+
+        // Nothing is left to apply on later starts
+        assertThat(appliedChangesets()).isEqualTo(changesets);
+    }
+}
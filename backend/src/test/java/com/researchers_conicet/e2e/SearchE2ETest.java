@@ -0,0 +1,182 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
+import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.news.NewsRequestDTO;
+import com.researchers_conicet.dto.research.ResearchRequestDTO;
+import com.researchers_conicet.dto.search.SearchHitDTO;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.NewsRepository;
+import com.researchers_conicet.repository.ResearchRepository;
+import com.researchers_conicet.search.SearchDocumentType;
+import com.researchers_conicet.search.SearchIndexLoader;
+import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.NewsService;
+import com.researchers_conicet.service.ResearchService;
+import com.researchers_conicet.utils.RestResponsePage;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class SearchE2ETest {
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AnalogyService analogyService;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private ResearchService researchService;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private ResearchRepository researchRepository;
+
+    @Autowired
+    private SearchIndexLoader searchIndexLoader;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void cleanDatabase() {
+        analogyRepository.deleteAll();
+        newsRepository.deleteAll();
+        researchRepository.deleteAll();
+        // The repositories bypass the search index
+        searchIndexLoader.rebuildIndex();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port + "/api/search";
+    }
+
+    private ResponseEntity<RestResponsePage<SearchHitDTO>> search(String params) {
+        return restTemplate.exchange(baseUrl() + "?" + params, HttpMethod.GET, null,
+            new ParameterizedTypeReference<RestResponsePage<SearchHitDTO>>() {});
+    }
+
+    private AnalogyResponseDTO createAnalogy(String title, String content) {
+        AnalogyRequestDTO analogy = new AnalogyRequestDTO();
+        analogy.setTitle(title);
+        analogy.setContent(content);
+        analogy.setAuthors(Set.of("Ana Pérez"));
+        analogy.setLinks(Set.of());
+        return analogyService.createAnalogy(analogy);
+    }
+
+    @Test
+    void shouldRankHitsFromEveryKindOfPublication() {
+        createAnalogy("El clima como una bañera", "Entra y sale carbono");
+
+        NewsRequestDTO news = new NewsRequestDTO();
+        news.setTitle("Premio a investigadoras");
+        news.setContent("Trabajan sobre el clima regional");
+        news.setAuthors(Set.of("Prensa"));
+        news.setLinks(Set.of());
+        newsService.createNews(news);
+
+        ResearchRequestDTO research = new ResearchRequestDTO();
+        research.setResearchAbstract("Modelos del clima en la Patagonia");
+        research.setAuthors(Set.of("Juan Gómez"));
+        research.setLinks(Set.of());
+        researchService.createResearch(research);
+
+        var response = search("query=CLIMA&size=10");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTotalElements()).isEqualTo(3);
+        // the only title match ranks first
+        assertThat(response.getBody().getContent().get(0).getType()).isEqualTo(SearchDocumentType.ANALOGY);
+
+        var onlyResearch = search("query=clima&types=RESEARCH");
+        assertThat(onlyResearch.getBody().getContent()).singleElement()
+            .satisfies(hit -> assertThat(hit.getExcerpt()).contains("Patagonia"));
+
+        var byAuthor = search("query=gomez");
+        assertThat(byAuthor.getBody().getContent()).singleElement()
+            .satisfies(hit -> assertThat(hit.getType()).isEqualTo(SearchDocumentType.RESEARCH));
+    }
+
+    @Test
+    void shouldFollowUpdatesAndDeletes() {
+        AnalogyResponseDTO analogy = createAnalogy("La célula como una fábrica", "Produce proteínas");
+        assertThat(search("query=fabrica").getBody().getContent()).hasSize(1);
+
+        AnalogyRequestDTO update = new AnalogyRequestDTO();
+        update.setTitle("La célula como una ciudad");
+        update.setContent("Produce proteínas");
+        update.setAuthors(Set.of("Ana Pérez"));
+        update.setLinks(Set.of());
+        analogyService.updateAnalogy(analogy.getId(), update);
+        assertThat(search("query=fabrica").getBody().getContent()).isEmpty();
+        assertThat(search("query=ciudad").getBody().getContent()).hasSize(1);
+
+        analogyService.deleteAnalogy(analogy.getId());
+        assertThat(search("query=ciudad").getBody().getContent()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectEmptyQueries() {
+        var response = restTemplate.getForEntity(baseUrl() + "?query=%20", String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,179 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
+import com.researchers_conicet.dto.media_link.MediaLinkDTO;
+import com.researchers_conicet.entity.Analogy;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.service.AnalogyService;
+import com.researchers_conicet.service.EmailVerificationService;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the SQL statements behind repeated analogy reads with a cold and a warm
+ * second-level cache. The cold pass is what every request cost before the cache.
+ */
+@Slf4j
+@SpringBootTest
+@Testcontainers
+public class SecondLevelCacheBenchmarkE2ETest {
+
+    private static final int ROWS = 50;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AnalogyService analogyService;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        analogyRepository.deleteAll();
+        ids.clear();
+        for (int i = 0; i < ROWS; i++) {
+            ids.add(analogyService.createAnalogy(analogy(i)).getId());
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private AnalogyRequestDTO analogy(int i) {
+        MediaLinkDTO media = new MediaLinkDTO();
+        media.setUrl("https://example.com/media/" + i);
+        media.setMediaType("image");
+
+        AnalogyRequestDTO analogy = new AnalogyRequestDTO();
+        analogy.setTitle("Analogy " + i);
+        analogy.setContent("Content " + i);
+        analogy.setAuthors(Set.of("Author " + i, "Coauthor " + i));
+        analogy.setLinks(Set.of("https://example.com/a/" + i));
+        analogy.setMediaLinks(Set.of(media));
+        return analogy;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long countStatements(Runnable requests) {
+        statistics().clear();
+        requests.run();
+        return statistics().getPrepareStatementCount();
+    }
+
+    @Test
+    void detailReadsShouldBeServedFromTheEntityCache() {
+        // each lookup runs in its own transaction, like one detail request
+        Runnable lookups = () -> ids.forEach(id -> analogyRepository.findById(id).orElseThrow());
+
+        long cold = countStatements(lookups);
+        long warm = countStatements(lookups);
+
+        log.info("Loading {} analogies by id: {} statements cold, {} warm ({} cache hits)",
+            ROWS, cold, warm, statistics().getSecondLevelCacheHitCount());
+
+        // entity + authors + links + media links per request without the cache
+        assertThat(cold).isGreaterThanOrEqualTo(ROWS);
+        assertThat(warm).isZero();
+    }
+
+    @Test
+    void latestListingShouldBeServedFromTheQueryCache() {
+        PageRequest latest = PageRequest.of(0, 10);
+
+        long cold = countStatements(() -> analogyRepository.findLatestAnalogies(latest));
+        long warm = countStatements(() -> analogyRepository.findLatestAnalogies(latest));
+
+        log.info("Latest analogies: {} statements cold, {} warm", cold, warm);
+
+        assertThat(cold).isPositive();
+        assertThat(warm).isZero();
+        assertThat(statistics().getQueryCacheHitCount()).isEqualTo(1);
+
+        // a new analogy invalidates the cached ids and shows up first
+        Long created = analogyService.createAnalogy(analogy(ROWS)).getId();
+        List<Analogy> refreshed = analogyRepository.findLatestAnalogies(latest);
+        assertThat(refreshed.get(0).getId()).isEqualTo(created);
+    }
+
+    @Test
+    void supportShouldOnlyEvictTheSupportedAnalogy() {
+        String email = "fan@example.com";
+        emailVerificationService.importEmails(List.of(email));
+        Runnable lookups = () -> ids.forEach(id -> analogyRepository.findById(id).orElseThrow());
+        countStatements(lookups);
+
+        Long supported = ids.get(0);
+        assertThat(analogyService.addSupport(supported, email).getSupportCount()).isEqualTo(1);
+
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        assertThat(cache.contains(Analogy.class, supported)).isFalse();
+        assertThat(ids.subList(1, ROWS)).allMatch(id -> cache.contains(Analogy.class, id));
+
+        // only the supported analogy is read again, with its new counter
+        long afterSupport = countStatements(lookups);
+        log.info("Loading {} analogies by id after one support: {} statements", ROWS, afterSupport);
+        assertThat(afterSupport).isPositive().isLessThan(ROWS);
+        assertThat(analogyRepository.findById(supported).orElseThrow().getSupportCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,234 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.comment.CommentRequestDTO;
+import com.researchers_conicet.entity.Analogy;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.CommentRepository;
+import com.researchers_conicet.repository.EmailVerificationRepository;
+import com.researchers_conicet.service.CommentService;
+import com.researchers_conicet.service.EmailVerificationService;
+
+/**
+ * Hammers the support toggles of one analogy and one comment with concurrent
+ * clicks for the same emails. Every request must succeed and the stored
+ * counters must match the support rows afterwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class SupportConcurrencyE2ETest {
+
+    private static final int EMAILS = 10;
+    private static final int CLICKS_PER_EMAIL = 8;
+    private static final int THREADS = 16;
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private CommentService commentService;
+
+    private final List<String> emails = IntStream.range(0, EMAILS)
+        .mapToObj(i -> "clicker" + i + "@example.com")
+        .toList();
+
+    private Long analogyId;
+    private Long commentId;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        commentRepository.deleteAll();
+        analogyRepository.deleteAll();
+        emailVerificationRepository.deleteAll();
+        emailVerificationService.refreshRegisteredEmails();
+        emailVerificationService.importEmails(emails);
+
+        Analogy analogy = new Analogy();
+        analogy.setTitle("Popular analogy");
+        analogy.setContent("Everyone clicks on this one");
+        analogy.setAuthors(Set.of("Author"));
+        analogy.setLinks(Set.of("https://example.com"));
+        analogy.setSupportEmails(new HashSet<>());
+        analogy.setSupportCount(0);
+        analogyId = analogyRepository.save(analogy).getId();
+
+        CommentRequestDTO comment = new CommentRequestDTO();
+        comment.setUserName("Clicker");
+        comment.setContent("Popular comment");
+        comment.setEmail(emails.get(0));
+        commentId = commentService.createComment(comment, analogyId).getId();
+    }
+
+    private String analogySupportUrl(String email) {
+        return "http://localhost:" + port + "/api/analogies/" + analogyId + "/support?email=" + email;
+    }
+
+    private String commentSupportUrl(String email) {
+        return "http://localhost:" + port + "/api/comments/" + commentId + "/support?email=" + email;
+    }
+
+    private HttpStatusCode call(HttpMethod method, String url) {
+        return restTemplate.exchange(url, method, null, String.class).getStatusCode();
+    }
+
+    /** Sends every request from a pool of threads released at the same time */
+    private List<HttpStatusCode> concurrently(HttpMethod method, List<String> urls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<HttpStatusCode>> futures = new ArrayList<>();
+            for (String url : urls) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call(method, url);
+                }));
+            }
+            start.countDown();
+
+            List<HttpStatusCode> statuses = new ArrayList<>();
+            for (Future<HttpStatusCode> future : futures) {
+                statuses.add(future.get());
+            }
+            return statuses;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** Every email clicks the same button several times at once */
+    private List<String> repeatedClicks(Function<String, String> url) {
+        List<String> urls = new ArrayList<>();
+        for (int click = 0; click < CLICKS_PER_EMAIL; click++) {
+            emails.forEach(email -> urls.add(url.apply(email)));
+        }
+        return urls;
+    }
+
+    private int analogyCounter() {
+        return analogyRepository.findSupportCountById(analogyId).orElseThrow();
+    }
+
+    private int analogyRows() {
+        return analogyRepository.countSupportsByAnalogyId(analogyId);
+    }
+
+    @Test
+    void concurrentAnalogySupportsShouldCountEachEmailOnce() throws Exception {
+        assertThat(concurrently(HttpMethod.POST, repeatedClicks(this::analogySupportUrl)))
+            .allMatch(status -> status.isSameCodeAs(HttpStatus.OK));
+        assertThat(analogyRows()).isEqualTo(EMAILS);
+        assertThat(analogyCounter()).isEqualTo(EMAILS);
+
+        assertThat(concurrently(HttpMethod.DELETE, repeatedClicks(this::analogySupportUrl)))
+            .allMatch(status -> status.isSameCodeAs(HttpStatus.OK));
+        assertThat(analogyRows()).isZero();
+        assertThat(analogyCounter()).isZero();
+    }
+
+    @Test
+    void interleavedAnalogyTogglesShouldKeepTheCounterInSync() throws Exception {
+        Random random = new Random(42);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<HttpStatusCode>> futures = new ArrayList<>();
+            for (int i = 0; i < EMAILS * CLICKS_PER_EMAIL * 2; i++) {
+                String url = analogySupportUrl(emails.get(random.nextInt(EMAILS)));
+                HttpMethod method = random.nextBoolean() ? HttpMethod.POST : HttpMethod.DELETE;
+                futures.add(executor.submit(() -> call(method, url)));
+            }
+            for (Future<HttpStatusCode> future : futures) {
+                assertThat(future.get().isSameCodeAs(HttpStatus.OK)).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(analogyCounter()).isEqualTo(analogyRows());
+    }
+
+    @Test
+    void concurrentCommentSupportsShouldCountEachEmailOnce() throws Exception {
+        assertThat(concurrently(HttpMethod.POST, repeatedClicks(this::commentSupportUrl)))
+            .allMatch(status -> status.isSameCodeAs(HttpStatus.OK));
+        assertThat(commentRepository.countSupportsByCommentId(commentId)).isEqualTo(EMAILS);
+
+        assertThat(concurrently(HttpMethod.DELETE, repeatedClicks(this::commentSupportUrl)))
+            .allMatch(status -> status.isSameCodeAs(HttpStatus.OK));
+        assertThat(commentRepository.countSupportsByCommentId(commentId)).isZero();
+    }
+}
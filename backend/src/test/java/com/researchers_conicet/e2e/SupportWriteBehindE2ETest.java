@@ -0,0 +1,210 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.comment.CommentRequestDTO;
+import com.researchers_conicet.dto.comment.CommentResponseDTO;
+import com.researchers_conicet.dto.comment.CommentTreeNodeDTO;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
+import com.researchers_conicet.entity.Analogy;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.CommentRepository;
+import com.researchers_conicet.repository.EmailVerificationRepository;
+import com.researchers_conicet.service.CommentService;
+import com.researchers_conicet.service.EmailVerificationService;
+import com.researchers_conicet.service.SupportWriteBuffer;
+import com.researchers_conicet.utils.RestResponsePage;
+
+/**
+ * With the write-behind buffer on and no flush running, the email that clicked
+ * must see its click everywhere the frontend reads support data: the response
+ * of the toggle, the comment tree, the supported comment IDs and the batch status.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class SupportWriteBehindE2ETest {
+
+    private static final String EMAIL = "clicker@example.com";
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withReuse(true)
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("supports.write-behind.enabled", () -> "true");
+        // Flushed only by the test, so the clicks stay pending while the reads run
+        registry.add("supports.write-behind.flush-interval-ms", () -> "3600000");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AnalogyRepository analogyRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private SupportWriteBuffer supportWriteBuffer;
+
+    private Long analogyId;
+    private Long commentId;
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        supportWriteBuffer.flush();
+        commentRepository.deleteAll();
+        analogyRepository.deleteAll();
+        emailVerificationRepository.deleteAll();
+        emailVerificationService.refreshRegisteredEmails();
+        emailVerificationService.importEmails(List.of(EMAIL));
+
+        Analogy analogy = new Analogy();
+        analogy.setTitle("Buffered analogy");
+        analogy.setContent("Clicked before the flush");
+        analogy.setAuthors(Set.of("Author"));
+        analogy.setLinks(Set.of("https://example.com"));
+        analogy.setSupportEmails(new HashSet<>());
+        analogy.setSupportCount(0);
+        analogyId = analogyRepository.save(analogy).getId();
+
+        CommentRequestDTO comment = new CommentRequestDTO();
+        comment.setUserName("Clicker");
+        comment.setContent("Buffered comment");
+        comment.setEmail(EMAIL);
+        commentId = commentService.createComment(comment, analogyId).getId();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port + "/api";
+    }
+
+    private <T> T exchange(HttpMethod method, String path, Class<T> type) {
+        return restTemplate.exchange(baseUrl() + path, method, null, type).getBody();
+    }
+
+    private CommentTreeNodeDTO treeNode() {
+        RestResponsePage<CommentTreeNodeDTO> tree = restTemplate.exchange(
+            baseUrl() + "/analogies/" + analogyId + "/comments/tree?email=" + EMAIL,
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<RestResponsePage<CommentTreeNodeDTO>>() {}
+        ).getBody();
+        assertThat(tree.getContent()).hasSize(1);
+        return tree.getContent().get(0);
+    }
+
+    private Map<Long, SupportStatusDTO> analogyStatus() {
+        return restTemplate.exchange(
+            baseUrl() + "/analogies/support-status?ids=" + analogyId + "&email=" + EMAIL,
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<Map<Long, SupportStatusDTO>>() {}
+        ).getBody();
+    }
+
+    @Test
+    void analogyClickShouldBeVisibleToItsEmailBeforeTheFlush() {
+        String support = "/analogies/" + analogyId + "/support?email=" + EMAIL;
+
+        AnalogyResponseDTO supported = exchange(HttpMethod.POST, support, AnalogyResponseDTO.class);
+        assertThat(supported.getSupportCount()).isEqualTo(1);
+        assertThat(exchange(HttpMethod.GET, "/analogies/" + analogyId + "/has-supported?email=" + EMAIL, Boolean.class))
+            .isTrue();
+        assertThat(analogyStatus()).containsEntry(analogyId, new SupportStatusDTO(1, true));
+        assertThat(analogyRepository.countSupportsByAnalogyId(analogyId)).isZero();
+
+        AnalogyResponseDTO unsupported = exchange(HttpMethod.DELETE, support, AnalogyResponseDTO.class);
+        assertThat(unsupported.getSupportCount()).isZero();
+        assertThat(analogyStatus()).containsEntry(analogyId, new SupportStatusDTO(0, false));
+
+        exchange(HttpMethod.POST, support, AnalogyResponseDTO.class);
+        supportWriteBuffer.flush();
+        assertThat(analogyRepository.countSupportsByAnalogyId(analogyId)).isEqualTo(1);
+        assertThat(analogyRepository.findSupportCountById(analogyId)).contains(1);
+    }
+
+    @Test
+    void commentClickShouldBeVisibleToItsEmailBeforeTheFlush() {
+        String support = "/comments/" + commentId + "/support?email=" + EMAIL;
+        String supportedIds = "/comments/supported?email=" + EMAIL;
+
+        CommentResponseDTO supported = exchange(HttpMethod.POST, support, CommentResponseDTO.class);
+        assertThat(supported.getSupportCount()).isEqualTo(1);
+        CommentTreeNodeDTO node = treeNode();
+        assertThat(node.getSupportCount()).isEqualTo(1);
+        assertThat(node.getSupported()).isTrue();
+        assertThat(exchange(HttpMethod.GET, supportedIds, Long[].class)).containsExactly(commentId);
+        assertThat(commentRepository.countSupportsByCommentId(commentId)).isZero();
+
+        CommentResponseDTO unsupported = exchange(HttpMethod.DELETE, support, CommentResponseDTO.class);
+        assertThat(unsupported.getSupportCount()).isZero();
+        node = treeNode();
+        assertThat(node.getSupportCount()).isZero();
+        assertThat(node.getSupported()).isFalse();
+        assertThat(exchange(HttpMethod.GET, supportedIds, Long[].class)).isEmpty();
+
+        exchange(HttpMethod.POST, support, CommentResponseDTO.class);
+        supportWriteBuffer.flush();
+        assertThat(commentRepository.countSupportsByCommentId(commentId)).isEqualTo(1);
+        assertThat(exchange(HttpMethod.GET, supportedIds, Long[].class)).containsExactly(commentId);
+    }
+}
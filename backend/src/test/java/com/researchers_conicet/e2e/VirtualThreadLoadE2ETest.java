@@ -0,0 +1,239 @@
+package com.researchers_conicet.e2e;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.researchers_conicet.InvestigadoresConicetBackendApplication;
+import com.researchers_conicet.utils.SyntheticDataset;
+import com.researchers_conicet.utils.SyntheticDataset.Volumes;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts the same closed-loop load on the application served by Tomcat's platform thread
+ * pool and by virtual threads with the pool-sized concurrency limit, and reports the
+ * throughput and tail latency of each.
+ * <p>
+ * Tagged "scale" and left out of the default build. Run with
+ *   mvn test -Pscale -Dtest=VirtualThreadLoadE2ETest
+ * -Dload.clients sets the concurrent clients (default 500, well above Tomcat's 200 threads
+ * and the 20 connections), -Dload.seconds the measured time per mode, and the dataset is
+ * sized with -Dscale.* properties. Results are also written to target/scale/virtual-threads.json.
+ * <p>
+ * The response caches are off, so every request reaches the database.
+ */
+@Slf4j
+@Tag("scale")
+@Testcontainers
+public class VirtualThreadLoadE2ETest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 500);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 30);
+    private static final Path REPORT = Path.of("target", "scale", "virtual-threads.json");
+
+    @SuppressWarnings("resource")
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:5.7.42")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--innodb-buffer-pool-size=1G", "--innodb-flush-log-at-trx-commit=2")
+            .waitingFor(Wait.forListeningPort().withStartupTimeout(Duration.ofMinutes(5)));
+
+    private static final Volumes volumes = Volumes.fromSystemProperties();
+
+    /**
+     * @param throughput Completed requests per second
+     * @param p50 Median latency in milliseconds
+     * @param p99 99th percentile latency in milliseconds
+     * @param rejected Requests answered with 503 by the concurrency limit
+     * @param failed Requests answered with another error or not answered at all
+     */
+    private record Result(String mode, long requests, double throughput, double p50, double p99, double max,
+            long rejected, long failed) {}
+
+    /** One request/response as seen by a client */
+    private record Sample(double millis, int status) {}
+
+    @BeforeAll
+    static void setUp() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mysql.stop();
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        properties.put("spring.datasource.username", mysql.getUsername());
+        properties.put("spring.datasource.password", mysql.getPassword());
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.web", "INFO");
+        properties.put("responses.compressed-cache.enabled", false);
+        properties.put("spring.cache.type", "none");
+        properties.put("spring.jpa.properties.hibernate.cache.use_second_level_cache", false);
+        properties.put("spring.jpa.properties.hibernate.cache.use_query_cache", false);
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+
+        // As command line arguments, which take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+            .toArray(String[]::new);
+        return new SpringApplicationBuilder(InvestigadoresConicetBackendApplication.class).run(args);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Reads that each take a connection: a detail, a page of summaries, the comments
+     * of an analogy and a support count
+     */
+    private static IntFunction<String> paths() {
+        int analogies = volumes.analogies();
+        IntFunction<Long> analogy = n -> SyntheticDataset.analogyId(Math.floorMod(n * 7919, analogies));
+        return n -> switch (n % 4) {
+            case 0 -> "/api/analogies/" + analogy.apply(n);
+            case 1 -> "/api/analogies/summaries?page=0&size=10";
+            case 2 -> "/api/analogies/" + analogy.apply(n) + "/comments?page=0&size=10";
+            default -> "/api/analogies/" + analogy.apply(n) + "/support-count";
+        };
+    }
+
+    /**
+     * Runs {@link #CLIENTS} clients that each send the next request as soon as the last
+     * one is answered, for the given time
+     */
+    private static List<Sample> load(HttpClient client, int port, int seconds) throws InterruptedException {
+        IntFunction<String> paths = paths();
+        AtomicInteger sequence = new AtomicInteger();
+        ConcurrentLinkedQueue<Sample> samples = new ConcurrentLinkedQueue<>();
+        long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + paths.apply(sequence.getAndIncrement())))
+                            .timeout(Duration.ofSeconds(60))
+                            .build();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        samples.add(new Sample((System.nanoTime() - start) / 1_000_000.0, status));
+                    }
+                });
+            }
+        }
+        return new ArrayList<>(samples);
+    }
+
+    /** Nearest-rank percentile of sorted values */
+    private static double percentile(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    private static Result measure(String mode, boolean virtualThreads, boolean seed) throws InterruptedException {
+        try (ConfigurableApplicationContext context = start(virtualThreads);
+                HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build()) {
+            if (seed) {
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                new SyntheticDataset(jdbcTemplate).load(volumes);
+                jdbcTemplate.execute("ANALYZE TABLE analogies, comments, analogy_supports, comment_supports");
+            }
+            int port = port(context);
+            load(client, port, WARMUP_SECONDS);
+            List<Sample> samples = load(client, port, SECONDS);
+
+            double[] latencies = samples.stream().mapToDouble(Sample::millis).sorted().toArray();
+            long rejected = samples.stream().filter(sample -> sample.status() == 503).count();
+            long failed = samples.stream()
+                .filter(sample -> sample.status() != 200 && sample.status() != 503)
+                .count();
+            Result result = new Result(mode, samples.size(), (double) samples.size() / SECONDS,
+                percentile(latencies, 50), percentile(latencies, 99), latencies[latencies.length - 1],
+                rejected, failed);
+            log.info("{}: {} requests from {} clients, {} req/s, p50 {} ms, p99 {} ms, slowest {} ms, "
+                    + "{} rejected with 503, {} failed",
+                mode, result.requests(), CLIENTS, String.format("%.0f", result.throughput()),
+                String.format("%.1f", result.p50()), String.format("%.1f", result.p99()),
+                String.format("%.1f", result.max()), rejected, failed);
+            return result;
+        }
+    }
+
+    @Test
+    void virtualThreadsShouldServeTheLoadWithoutFailures() throws Exception {
+        Result platform = measure("platform-threads", false, true);
+        Result virtual = measure("virtual-threads", true, false);
+        writeReport(List.of(platform, virtual));
+
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+        // Excess load waits for a slot or is turned away with 503, never with a pool timeout
+        assertThat(virtual.failed()).as("Requests that failed on virtual threads").isZero();
+    }
+
+    /**
+     * Keeps the run as JSON, so the numbers of two commits can be compared
+     */
+    private static void writeReport(List<Result> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("volumes", volumes);
+        report.put("clients", CLIENTS);
+        report.put("seconds", SECONDS);
+        report.put("modes", results);
+        File file = REPORT.toFile();
+        file.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+}
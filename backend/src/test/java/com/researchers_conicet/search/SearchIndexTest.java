@@ -0,0 +1,115 @@
+package com.researchers_conicet.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.researchers_conicet.dto.search.SearchHitDTO;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.rebuild(() -> List.of(
+            document(SearchDocumentType.ANALOGY, 1L, "El clima como una bañera", "Una analogía sobre el carbono", "Ana Pérez"),
+            document(SearchDocumentType.ANALOGY, 2L, "La célula como una fábrica", "Habla también del clima celular", "Juan Gómez"),
+            document(SearchDocumentType.NEWS, 1L, "Premio a investigadoras", "Nota sobre el clima y la ciencia", "Prensa"),
+            document(SearchDocumentType.RESEARCH, 1L, null, "Modelos climáticos regionales", "Ana Pérez")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    private static SearchDocument document(SearchDocumentType type, Long id, String title, String body, String author) {
+        return new SearchDocument(type, id, title, body, Set.of(author), LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    @Test
+    void rebuild_shouldKeepChangesPushedWhileLoading() {
+        index.rebuild(() -> {
+            // Pushed from another request thread while the database is read
+            Thread writer = Thread.ofVirtual().start(() -> {
+                index.index(document(SearchDocumentType.ANALOGY, 3L, "El volcán como una olla", "Presión", "Eva Ruiz"));
+                index.delete(SearchDocumentType.ANALOGY, 1L);
+            });
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            // A snapshot read before those changes
+            return List.of(
+                document(SearchDocumentType.ANALOGY, 1L, "El clima como una bañera", "Una analogía sobre el carbono", "Ana Pérez"),
+                document(SearchDocumentType.ANALOGY, 2L, "La célula como una fábrica", "Habla también del clima celular", "Juan Gómez")
+            );
+        });
+
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "volcan", 10)).containsExactly(3L);
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "clima", 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void searchIds_shouldRankTitleMatchesAboveContentMatches() {
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "clima", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchIds_shouldIgnoreCaseAndAccentsAndMatchPrefixes() {
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "CELULA", 10)).containsExactly(2L);
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "perez", 10)).containsExactly(1L);
+        assertThat(index.searchIds(SearchDocumentType.RESEARCH, "climat", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void searchIds_shouldRequireEveryWord() {
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "clima carbono", 10)).containsExactly(1L);
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "clima volcán", 10)).isEmpty();
+        assertThrows(IllegalArgumentException.class, () -> index.searchIds(SearchDocumentType.ANALOGY, " ", 10));
+    }
+
+    @Test
+    void search_shouldFilterByTypeAndPage() {
+        Page<SearchHitDTO> all = index.search("clima", null, PageRequest.of(0, 2));
+        assertThat(all.getTotalElements()).isEqualTo(4);
+        assertThat(all.getContent()).hasSize(2);
+        assertThat(all.getContent().get(0).getScore()).isGreaterThanOrEqualTo(all.getContent().get(1).getScore());
+
+        Page<SearchHitDTO> news = index.search("clima", EnumSet.of(SearchDocumentType.NEWS), PageRequest.of(0, 10));
+        assertThat(news.getContent()).singleElement().satisfies(hit -> {
+            assertThat(hit.getType()).isEqualTo(SearchDocumentType.NEWS);
+            assertThat(hit.getTitle()).isEqualTo("Premio a investigadoras");
+            assertThat(hit.getExcerpt()).isEqualTo("Nota sobre el clima y la ciencia");
+            assertThat(hit.getAuthors()).containsExactly("Prensa");
+        });
+
+        assertThrows(IllegalArgumentException.class,
+            () -> index.search("clima", null, PageRequest.of(0, SearchIndex.MAX_PAGE_SIZE + 1)));
+    }
+
+    @Test
+    void indexAndDelete_shouldReplaceDocumentsOutsideTransactions() {
+        index.index(document(SearchDocumentType.ANALOGY, 2L, "La célula como una fábrica", "Sin palabras clave", "Juan Gómez"));
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "clima", 10)).containsExactly(1L);
+
+        index.delete(SearchDocumentType.ANALOGY, 1L);
+        assertThat(index.searchIds(SearchDocumentType.ANALOGY, "clima", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,83 @@
+package com.researchers_conicet.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+class JwtServiceTest {
+
+    /** Clock that only moves when the test says so */
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final MutableClock clock = new MutableClock();
+    private final JwtService service = new JwtService(clock);
+
+    @Test
+    void validateToken_shouldAcceptGeneratedTokenRepeatedly() {
+        String token = service.generateToken();
+
+        assertThat(service.validateToken(token)).isTrue();
+        assertThat(service.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void validateToken_shouldRejectTamperedOrMissingTokens() {
+        String token = service.generateToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(service.validateToken(tampered)).isFalse();
+        assertThat(service.validateToken("not-a-token")).isFalse();
+        assertThat(service.validateToken("")).isFalse();
+        assertThat(service.validateToken(null)).isFalse();
+    }
+
+    @Test
+    void validateToken_shouldStopAcceptingCachedTokenOnceExpired() {
+        String token = service.generateToken();
+        assertThat(service.validateToken(token)).isTrue();
+
+        clock.advance(Duration.ofHours(23));
+        assertThat(service.validateToken(token)).isTrue();
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(service.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void validateToken_shouldKeepWorkingPastTheCacheBound() {
+        String first = service.generateToken();
+        for (int i = 0; i <= JwtService.MAX_VERIFIED_TOKENS; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(service.validateToken(service.generateToken())).isTrue();
+        }
+
+        assertThat(service.validateToken(first)).isTrue();
+    }
+}
@@ -1,13 +1,17 @@
 package com.researchers_conicet.service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
@@ -16,12 +20,21 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import com.researchers_conicet.dto.analogy.AnalogyRequestDTO;
 import com.researchers_conicet.dto.analogy.AnalogyResponseDTO;
+import com.researchers_conicet.dto.analogy.AnalogySummaryDTO;
+import com.researchers_conicet.dto.pagination.CursorPageDTO;
+import com.researchers_conicet.dto.pagination.KeysetCursor;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
 import com.researchers_conicet.entity.Analogy;
 import com.researchers_conicet.exception.ResourceNotFoundException;
 import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.search.SearchDocumentType;
+import com.researchers_conicet.search.SearchIndex;
 
 @ExtendWith(MockitoExtension.class)
 class AnalogyServiceTest {
@@ -32,6 +45,18 @@ class AnalogyServiceTest {
     @Mock
     private EmailVerificationService emailService;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private SupportWriteBuffer supportWriteBuffer;
+
+    @Mock
+    private ContentVersions contentVersions;
+
+    @Mock
+    private SupportCacheEvictor supportCacheEvictor;
+
     @InjectMocks
     private AnalogyService service;
 
@@ -198,13 +223,14 @@ class AnalogyServiceTest {
             new Analogy("This is another analogy", "This analogy also includes the word 'test', but in its content", new HashSet<>(Arrays.asList("Author 2")), new HashSet<>(Arrays.asList("https://example")), null)
         );
 
-        when(repository.searchEverywhere(text)).thenAnswer(invocation -> {
-            String param = invocation.getArgument(0);
-            if (param.equals(text)) {
-                return Arrays.asList(analogies.get(0), analogies.get(2));
-            }
-            return Arrays.asList();
-        });
+        for (int i = 0; i < analogies.size(); i++) {
+            analogies.get(i).setId((long) i + 1);
+        }
+
+        // the index ranks the title match first; the database returns rows in its own order
+        when(searchIndex.searchIds(ArgumentMatchers.eq(SearchDocumentType.ANALOGY), ArgumentMatchers.eq(text), ArgumentMatchers.anyInt()))
+            .thenReturn(List.of(1L, 3L));
+        when(repository.findAllById(List.of(1L, 3L))).thenReturn(Arrays.asList(analogies.get(2), analogies.get(0)));
 
         List<AnalogyResponseDTO> expected = new ArrayList<>();
         for (int idx : new int[]{0, 2}) {
@@ -235,9 +261,13 @@ class AnalogyServiceTest {
 
         when(emailService.isEmailRegistered(email)).thenReturn(true);
 
+        // State read back after the insert and the counter update
         Analogy analogy = new Analogy("Title", "Content", new HashSet<>(Arrays.asList("Author 1", "Author 2")), new HashSet<>(Arrays.asList("https://example")), null);
         analogy.setId(id);
+        analogy.setSupportCount(1);
 
+        when(repository.lockById(id)).thenReturn(Optional.of(id));
+        when(repository.insertSupport(id, email)).thenReturn(1);
         when(repository.findById(id)).thenReturn(Optional.of(analogy));
 
         AnalogyResponseDTO result = service.addSupport(id, email);
@@ -245,6 +275,9 @@ class AnalogyServiceTest {
         // Assert if the email was added as a support email
         assertThat(result).isNotNull();
         assertThat(result.getSupportCount()).isEqualTo(1);
+        verify(repository).incrementSupportCount(id);
+        // Only the clicked analogy leaves the second-level cache
+        verify(supportCacheEvictor).evictSupportState(id);
     }
 
     @Test
@@ -252,15 +285,196 @@ class AnalogyServiceTest {
         Long id = 1L;
         String email = "isexample@gmail.com";
 
-        // when(emailService.isEmailRegistered(email)).thenReturn(true);
-
-        Analogy analogy = new Analogy("Title", "Content", new HashSet<>(Arrays.asList("Author 1", "Author 2")), new HashSet<>(Arrays.asList("https://example")), new HashSet<String>(Arrays.asList(email)));
+        Analogy analogy = new Analogy("Title", "Content", new HashSet<>(Arrays.asList("Author 1", "Author 2")), new HashSet<>(Arrays.asList("https://example")), new HashSet<String>());
+        analogy.setId(id);
 
+        when(repository.lockById(id)).thenReturn(Optional.of(id));
+        when(repository.deleteSupport(id, email)).thenReturn(1);
         when(repository.findById(id)).thenReturn(Optional.of(analogy));
 
         AnalogyResponseDTO result = service.removeSupport(id, email);
 
         assertThat(result).isNotNull();
         assertThat(result.getSupportCount()).isEqualTo(0);
+        verify(repository).decrementSupportCount(id);
+    }
+
+    @Test
+    void addSupport_shouldNotIncrementWhenEmailAlreadySupported() {
+        Long id = 1L;
+        String email = "isexample@gmail.com";
+
+        when(emailService.isEmailRegistered(email)).thenReturn(true);
+
+        Analogy analogy = new Analogy("Title", "Content", new HashSet<>(Arrays.asList("Author 1")), new HashSet<>(Arrays.asList("https://example")), new HashSet<String>(Arrays.asList(email)));
+        analogy.setId(id);
+        analogy.setSupportCount(1);
+
+        when(repository.lockById(id)).thenReturn(Optional.of(id));
+        // INSERT IGNORE hit the unique constraint
+        when(repository.insertSupport(id, email)).thenReturn(0);
+        when(repository.findById(id)).thenReturn(Optional.of(analogy));
+
+        AnalogyResponseDTO result = service.addSupport(id, email);
+
+        assertThat(result.getSupportCount()).isEqualTo(1);
+        verify(repository, never()).incrementSupportCount(id);
+    }
+
+    @Test
+    void removeSupport_shouldNotDecrementWhenEmailHadNotSupported() {
+        Long id = 1L;
+        String email = "isexample@gmail.com";
+
+        Analogy analogy = new Analogy("Title", "Content", new HashSet<>(Arrays.asList("Author 1")), new HashSet<>(Arrays.asList("https://example")), new HashSet<String>());
+        analogy.setId(id);
+
+        when(repository.lockById(id)).thenReturn(Optional.of(id));
+        when(repository.deleteSupport(id, email)).thenReturn(0);
+        when(repository.findById(id)).thenReturn(Optional.of(analogy));
+
+        assertThat(service.removeSupport(id, email).getSupportCount()).isZero();
+        verify(repository, never()).decrementSupportCount(id);
+    }
+
+    @Test
+    void addSupport_shouldNotWriteWhenAnalogyDoesNotExist() {
+        Long id = 99L;
+        String email = "isexample@gmail.com";
+
+        when(emailService.isEmailRegistered(email)).thenReturn(true);
+        when(repository.lockById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.addSupport(id, email));
+        verify(repository, never()).insertSupport(id, email);
+        verify(repository, never()).incrementSupportCount(id);
+    }
+
+    @Test
+    void addSupport_shouldOnlyRecordTheClickInWriteBehindMode() {
+        Long id = 1L;
+        String email = "isexample@gmail.com";
+
+        Analogy analogy = new Analogy("Title", "Content", new HashSet<>(Arrays.asList("Author 1")), new HashSet<>(Arrays.asList("https://example")), new HashSet<String>());
+        analogy.setId(id);
+        analogy.setSupportCount(4);
+
+        when(emailService.isEmailRegistered(email)).thenReturn(true);
+        when(supportWriteBuffer.isEnabled()).thenReturn(true);
+        when(repository.findById(id)).thenReturn(Optional.of(analogy));
+        when(repository.hasEmailSupportedAnalogy(id, email)).thenReturn(false);
+
+        AnalogyResponseDTO result = service.addSupport(id, email);
+
+        // the clicking email already sees its support
+        assertThat(result.getSupportCount()).isEqualTo(5);
+        verify(supportWriteBuffer).record(SupportWriteBuffer.Target.ANALOGY, id, email, true);
+        verify(repository, never()).lockById(id);
+        verify(repository, never()).insertSupport(id, email);
+        verify(repository, never()).incrementSupportCount(id);
+    }
+
+    @Test
+    void reconcileSupportCounts_shouldReturnRepairedAnalogies() {
+        when(repository.reconcileSupportCounts()).thenReturn(3);
+
+        assertThat(service.reconcileSupportCounts()).isEqualTo(3);
+    }
+
+    @Test
+    void reconcileSupportCountsOnStartup_shouldRepairTheCounters() {
+        when(repository.reconcileSupportCounts()).thenReturn(2);
+
+        service.reconcileSupportCountsOnStartup();
+
+        verify(repository).reconcileSupportCounts();
+        verify(contentVersions).changed(ContentVersions.Content.ANALOGIES);
+    }
+
+    @Test
+    void getAnalogiesByCursor_shouldReturnNextCursorOnlyWhenMoreRowsExist() {
+        List<Analogy> rows = new ArrayList<>();
+        for (long i = 3; i >= 1; i--) {
+            Analogy analogy = new Analogy("Title " + i, "Content", new HashSet<>(Arrays.asList("Author")), new HashSet<>(), null);
+            analogy.setId(i);
+            analogy.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(i));
+            rows.add(analogy);
+        }
+
+        when(repository.findFirstKeysetPage(PageRequest.of(0, 3))).thenReturn(rows);
+
+        CursorPageDTO<AnalogyResponseDTO> first = service.getAnalogiesByCursor(null, 2);
+
+        assertThat(first.getContent()).extracting(AnalogyResponseDTO::getId).containsExactly(3L, 2L);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        KeysetCursor position = KeysetCursor.decode(first.getNextCursor());
+        assertThat(position.id()).isEqualTo(2L);
+        assertThat(position.createdAt()).isEqualTo(rows.get(1).getCreatedAt());
+
+        when(repository.findKeysetPageAfter(position.createdAt(), position.id(), PageRequest.of(0, 3)))
+            .thenReturn(rows.subList(2, 3));
+
+        CursorPageDTO<AnalogyResponseDTO> second = service.getAnalogiesByCursor(first.getNextCursor(), 2);
+
+        assertThat(second.getContent()).extracting(AnalogyResponseDTO::getId).containsExactly(1L);
+        assertThat(second.getNextCursor()).isNull();
+
+        assertThrows(IllegalArgumentException.class, () -> service.getAnalogiesByCursor("not-a-cursor", 2));
+        assertThrows(IllegalArgumentException.class, () -> service.getAnalogiesByCursor(null, 0));
+    }
+
+    @Test
+    void getAnalogySummaries_shouldFillAuthorsAndPreviewFromBatchedQueries() {
+        AnalogySummaryDTO first = new AnalogySummaryDTO(1L, "First", LocalDateTime.now(), 2, "Short", 5);
+        AnalogySummaryDTO second = new AnalogySummaryDTO(2L, "Second", LocalDateTime.now(), 0, "x".repeat(AnalogySummaryDTO.EXCERPT_LENGTH), 500);
+        PageRequest pageable = PageRequest.of(0, 10);
+
+        when(repository.findSummaries(pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 2));
+        when(repository.findAuthorsByIds(List.of(1L, 2L))).thenReturn(List.of(
+            new Object[]{1L, "Author 1"},
+            new Object[]{1L, "Author 2"},
+            new Object[]{2L, "Author 3"}
+        ));
+        when(repository.findPreviewImageUrlsByIds(List.of(1L, 2L))).thenReturn(
+            List.<Object[]>of(new Object[]{1L, "https://example/image.png"})
+        );
+
+        Page<AnalogySummaryDTO> result = service.getAnalogySummaries(pageable);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getContent().get(0).getAuthors()).containsExactlyInAnyOrder("Author 1", "Author 2");
+        assertThat(result.getContent().get(0).getPreviewImage()).isEqualTo("https://example/image.png");
+        assertThat(result.getContent().get(0).isTruncated()).isFalse();
+        assertThat(result.getContent().get(1).getAuthors()).containsExactly("Author 3");
+        assertThat(result.getContent().get(1).getPreviewImage()).isNull();
+        assertThat(result.getContent().get(1).isTruncated()).isTrue();
+    }
+
+    @Test
+    void getSupportStatus_shouldReturnCountsAndFlagsInRequestOrder() {
+        String email = "user@example.com";
+        List<Long> ids = List.of(3L, 1L, 2L);
+
+        when(repository.findSupportStatusByIds(ids, email)).thenReturn(List.of(
+            new Object[]{1L, 5, 1L},
+            new Object[]{3L, 0, 0L}
+        ));
+
+        Map<Long, SupportStatusDTO> result = service.getSupportStatus(ids, email);
+
+        assertThat(result.keySet()).containsExactly(3L, 1L);
+        assertThat(result.get(1L)).isEqualTo(new SupportStatusDTO(5, true));
+        assertThat(result.get(3L)).isEqualTo(new SupportStatusDTO(0, false));
+    }
+
+    @Test
+    void getSupportStatus_shouldRejectTooManyIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= SupportStatusDTO.MAX_BATCH_SIZE; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> service.getSupportStatus(ids, null));
     }
 }
@@ -0,0 +1,99 @@
+package com.researchers_conicet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.dto.cache.CacheStatsDTO;
+import com.researchers_conicet.entity.Analogy;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.search.SearchIndex;
+
+/**
+ * Runs AnalogyService behind the real cache advice to check the
+ * read-through and eviction wiring together with the reported counters.
+ */
+@SpringJUnitConfig(CacheStatsServiceTest.Config.class)
+class CacheStatsServiceTest {
+
+    @Configuration
+    @Import({CacheConfig.class, AnalogyService.class, CacheStatsService.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.ANALOGIES);
+            cacheManager.setCacheSpecification("maximumSize=10,recordStats");
+            return cacheManager;
+        }
+    }
+
+    @MockitoBean
+    private AnalogyRepository repository;
+
+    @MockitoBean
+    private EmailVerificationService emailService;
+
+    @MockitoBean
+    private SearchIndex searchIndex;
+
+    @MockitoBean
+    private SupportWriteBuffer supportWriteBuffer;
+
+    @MockitoBean
+    private NdjsonImporter ndjsonImporter;
+
+    @MockitoBean
+    private ContentVersions contentVersions;
+
+    @MockitoBean
+    private SupportCacheEvictor supportCacheEvictor;
+
+    @Autowired
+    private AnalogyService analogyService;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    void getAnalogy_shouldBeServedFromCacheUntilTheAnalogyChanges() {
+        Analogy analogy = new Analogy("Title", "Content", new HashSet<>(Set.of("Author")), new HashSet<>(), null);
+        analogy.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(analogy));
+
+        analogyService.getAnalogy(1L);
+        analogyService.getAnalogy(1L);
+        verify(repository, times(1)).findById(1L);
+
+        List<CacheStatsDTO> stats = cacheStatsService.getCacheStats();
+        assertThat(stats).singleElement().satisfies(cache -> {
+            assertThat(cache.getName()).isEqualTo(CacheConfig.ANALOGIES);
+            assertThat(cache.getSize()).isEqualTo(1);
+            assertThat(cache.getHits()).isEqualTo(1);
+            assertThat(cache.getMisses()).isEqualTo(1);
+            assertThat(cache.getHitRatio()).isEqualTo(0.5);
+            assertThat(cache.getLoads()).isEqualTo(1);
+        });
+
+        // deleting goes through findById once more and then evicts the entry
+        analogyService.deleteAnalogy(1L);
+        analogyService.getAnalogy(1L);
+        verify(repository, times(3)).findById(1L);
+    }
+}
@@ -2,11 +2,16 @@ package com.researchers_conicet.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -17,9 +22,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import com.researchers_conicet.dto.comment.CommentRequestDTO;
 import com.researchers_conicet.dto.comment.CommentResponseDTO;
+import com.researchers_conicet.dto.comment.CommentTreeNodeDTO;
+import com.researchers_conicet.dto.support.SupportStatusDTO;
 import com.researchers_conicet.entity.Analogy;
 import com.researchers_conicet.entity.Comment;
 import com.researchers_conicet.exception.ResourceNotFoundException;
@@ -36,6 +44,8 @@ public class CommentServiceTest {
     private AnalogyRepository analogyRepository;
     @Mock
     private EmailVerificationService emailService;
+    @Mock
+    private SupportWriteBuffer supportWriteBuffer;
 
     @InjectMocks
     private CommentService service;
@@ -138,6 +148,38 @@ public class CommentServiceTest {
         assertThat(result).isEqualTo(response);
     }
 
+    @Test
+    void updateComment_shouldMoveTheRepliesWithAReparentedComment() {
+        Long analogyId = 1L;
+        Analogy analogy = new Analogy();
+        analogy.setId(analogyId);
+        Comment root = new Comment("User", "Root", "email@gmail.com", Optional.empty(), analogy);
+        root.setId(1L);
+        Comment moved = new Comment("User", "Moved", "email@gmail.com", Optional.empty(), analogy);
+        moved.setId(5L);
+
+        CommentRequestDTO request = new CommentRequestDTO();
+        request.setUserName("User");
+        request.setContent("Moved");
+        request.setEmail("email@gmail.com");
+        request.setParentId(root.getId());
+
+        when(repository.findById(moved.getId())).thenReturn(Optional.of(moved));
+        when(analogyRepository.findById(analogyId)).thenReturn(Optional.of(analogy));
+        when(repository.findByIdAndAnalogyId(root.getId(), analogyId)).thenReturn(Optional.of(root));
+        when(repository.save(moved)).thenReturn(moved);
+        when(repository.findIdsByParentIds(List.of(5L))).thenReturn(List.of(6L));
+        when(repository.findIdsByParentIds(List.of(6L))).thenReturn(List.of(7L));
+        when(repository.findIdsByParentIds(List.of(7L))).thenReturn(List.of());
+
+        service.updateComment(moved.getId(), request);
+
+        // The former top-level comment and every reply below it join the thread of 1
+        assertThat(moved.getRootId()).isEqualTo(1L);
+        verify(repository).updateRootIds(List.of(6L), 1L);
+        verify(repository).updateRootIds(List.of(7L), 1L);
+    }
+
     @Test
     void getCommentsByAnalogy_shouldReturnCommentsForExistingAnalogy() {
         Long analogyId = 1L;
@@ -195,23 +237,25 @@ public class CommentServiceTest {
         Long commentId = 1L;
         String email = "user@example.com";
 
+        // State read back after the insert
         Comment comment = new Comment("User", "Content", email, Optional.empty(), new Analogy());
         comment.setId(commentId);
-        comment.setSupportEmails(new HashSet<>());
+        comment.setSupportEmails(new HashSet<>(List.of(email)));
 
-        when(repository.findById(commentId)).thenReturn(Optional.of(comment));
         when(emailService.isEmailRegistered(email)).thenReturn(true);
-        when(repository.save(comment)).thenReturn(comment);
+        when(repository.insertSupport(commentId, email)).thenReturn(1);
+        when(repository.findById(commentId)).thenReturn(Optional.of(comment));
 
         CommentResponseDTO result = service.addSupport(commentId, email);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(commentId);
         assertThat(result.getSupportCount()).isEqualTo(1);
+        verify(repository, never()).save(ArgumentMatchers.any());
     }
 
     @Test
-    void removeSupport_shouldRemoveEmailAndReturnUpdatedComment() {
+    void addSupport_shouldBeIdempotent() {
         Long commentId = 1L;
         String email = "user@example.com";
 
@@ -219,8 +263,37 @@ public class CommentServiceTest {
         comment.setId(commentId);
         comment.setSupportEmails(new HashSet<>(List.of(email)));
 
+        when(emailService.isEmailRegistered(email)).thenReturn(true);
+        // INSERT IGNORE hit the unique constraint
+        when(repository.insertSupport(commentId, email)).thenReturn(0);
+        when(repository.findById(commentId)).thenReturn(Optional.of(comment));
+
+        assertThat(service.addSupport(commentId, email).getSupportCount()).isEqualTo(1);
+    }
+
+    @Test
+    void addSupport_shouldThrowWhenCommentDoesNotExist() {
+        Long commentId = 99L;
+        String email = "user@example.com";
+
+        when(emailService.isEmailRegistered(email)).thenReturn(true);
+        when(repository.insertSupport(commentId, email)).thenReturn(0);
+        when(repository.findById(commentId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.addSupport(commentId, email));
+    }
+
+    @Test
+    void removeSupport_shouldRemoveEmailAndReturnUpdatedComment() {
+        Long commentId = 1L;
+        String email = "user@example.com";
+
+        Comment comment = new Comment("User", "Content", email, Optional.empty(), new Analogy());
+        comment.setId(commentId);
+        comment.setSupportEmails(new HashSet<>());
+
+        when(repository.deleteSupport(commentId, email)).thenReturn(1);
         when(repository.findById(commentId)).thenReturn(Optional.of(comment));
-        when(repository.save(comment)).thenReturn(comment);
 
         CommentResponseDTO result = service.removeSupport(commentId, email);
 
@@ -229,6 +302,41 @@ public class CommentServiceTest {
         assertThat(result.getSupportCount()).isEqualTo(0);
     }
 
+    @Test
+    void removeSupport_shouldBeIdempotent() {
+        Long commentId = 1L;
+        String email = "user@example.com";
+
+        Comment comment = new Comment("User", "Content", email, Optional.empty(), new Analogy());
+        comment.setId(commentId);
+        comment.setSupportEmails(new HashSet<>());
+
+        when(repository.deleteSupport(commentId, email)).thenReturn(0);
+        when(repository.findById(commentId)).thenReturn(Optional.of(comment));
+
+        assertThat(service.removeSupport(commentId, email).getSupportCount()).isZero();
+    }
+
+    @Test
+    void removeSupport_shouldOnlyRecordTheClickInWriteBehindMode() {
+        Long commentId = 1L;
+        String email = "user@example.com";
+
+        Comment comment = new Comment("User", "Content", email, Optional.empty(), new Analogy());
+        comment.setId(commentId);
+        comment.setSupportEmails(new HashSet<>(List.of(email, "other@example.com")));
+
+        when(supportWriteBuffer.isEnabled()).thenReturn(true);
+        when(repository.findById(commentId)).thenReturn(Optional.of(comment));
+
+        CommentResponseDTO result = service.removeSupport(commentId, email);
+
+        // the clicking email already sees its support removed
+        assertThat(result.getSupportCount()).isEqualTo(1);
+        verify(supportWriteBuffer).record(SupportWriteBuffer.Target.COMMENT, commentId, email, false);
+        verify(repository, never()).deleteSupport(commentId, email);
+    }
+
     @Test
     void getSupportCount_shouldReturnCount() {
         Long commentId = 1L;
@@ -240,4 +348,55 @@ public class CommentServiceTest {
 
         assertThat(count).isEqualTo(3);
     }
+
+    @Test
+    void getCommentTree_shouldNestRepliesAndFillSupportData() {
+        Long analogyId = 1L;
+        String email = "user@example.com";
+        PageRequest pageable = PageRequest.of(0, 10);
+        LocalDateTime now = LocalDateTime.now();
+
+        CommentTreeNodeDTO root = new CommentTreeNodeDTO(1L, "User", email, "Root", null, now);
+        CommentTreeNodeDTO reply = new CommentTreeNodeDTO(2L, "User", email, "Reply", 1L, now);
+        CommentTreeNodeDTO nested = new CommentTreeNodeDTO(3L, "User", email, "Nested", 2L, now);
+
+        when(analogyRepository.existsById(analogyId)).thenReturn(true);
+        when(repository.findRootNodesByAnalogyId(analogyId, pageable)).thenReturn(new PageImpl<>(List.of(root), pageable, 1));
+        when(repository.findReplyNodesByRootIds(List.of(1L))).thenReturn(List.of(reply, nested));
+        when(repository.countSupportsByCommentIds(ArgumentMatchers.anyCollection())).thenReturn(
+            List.<Object[]>of(new Object[]{1L, 2L}, new Object[]{3L, 1L})
+        );
+        when(repository.findSupportedCommentIdsByEmailAndIds(ArgumentMatchers.eq(email), ArgumentMatchers.anyCollection()))
+            .thenReturn(List.of(3L));
+
+        Page<CommentTreeNodeDTO> result = service.getCommentTree(analogyId, email, pageable);
+
+        assertThat(result.getContent()).containsExactly(root);
+        assertThat(root.getSupportCount()).isEqualTo(2);
+        assertThat(root.getSupported()).isFalse();
+        assertThat(root.getReplies()).containsExactly(reply);
+        assertThat(reply.getSupportCount()).isZero();
+        assertThat(reply.getReplies()).containsExactly(nested);
+        assertThat(nested.getSupportCount()).isEqualTo(1);
+        assertThat(nested.getSupported()).isTrue();
+        // Every reply of the page's threads comes from one query
+        verify(repository, times(1)).findReplyNodesByRootIds(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    void getSupportStatus_shouldLeaveSupportedUnsetWithoutEmail() {
+        List<Long> ids = List.of(1L, 2L);
+
+        when(repository.findSupportCountsByIds(ids)).thenReturn(List.of(
+            new Object[]{1L, 2L},
+            new Object[]{2L, 0L}
+        ));
+
+        Map<Long, SupportStatusDTO> result = service.getSupportStatus(ids, null);
+
+        assertThat(result).containsExactly(
+            Map.entry(1L, new SupportStatusDTO(2, null)),
+            Map.entry(2L, new SupportStatusDTO(0, null))
+        );
+    }
 }
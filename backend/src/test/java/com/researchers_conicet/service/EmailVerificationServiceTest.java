@@ -1,5 +1,7 @@
 package com.researchers_conicet.service;
 
+import com.researchers_conicet.dto.email_verification.BulkEmailResultDTO;
+import com.researchers_conicet.dto.email_verification.EmailCacheStatsDTO;
 import com.researchers_conicet.entity.EmailVerification;
 import com.researchers_conicet.exception.ResourceNotFoundException;
 import com.researchers_conicet.repository.EmailVerificationRepository;
@@ -9,14 +11,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import java.util.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,7 +29,8 @@ class EmailVerificationServiceTest {
     @Mock
     private EmailVerificationRepository repository;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private EmailVerificationService service;
 
     private final String email = "test@example.com";
@@ -34,6 +39,8 @@ class EmailVerificationServiceTest {
     @BeforeEach
     void setup() {
         reset(repository);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new EmailVerificationService(repository, meterRegistry);
     }
 
     @Test
@@ -105,27 +112,55 @@ class EmailVerificationServiceTest {
     }
 
     @Test
-    void registerMultipleEmails_shouldRegisterEach() {
-        List<String> emails = Arrays.asList("a@example.com", "b@example.com");
-        when(repository.existsByEmail(anyString())).thenReturn(false);
-        when(repository.save(any(EmailVerification.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
+    void registerMultipleEmails_shouldInsertInChunksAndSkipRepeated() {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < EmailVerificationService.BULK_CHUNK_SIZE + 1; i++) {
+            emails.add("user" + i + "@example.com");
+        }
+        emails.add("USER0@example.com");
+        when(repository.insertIgnoringDuplicates(anyList()))
+            .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(repository.findAllById(anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> {
+                EmailVerification verification = new EmailVerification();
+                verification.setEmail(id);
+                return verification;
+            }).toList();
+        });
 
         List<EmailVerification> results = service.registerMultipleEmails(emails);
 
-        assertThat(results).hasSize(2);
-        verify(repository, times(2)).save(any(EmailVerification.class));
+        assertThat(results).hasSize(EmailVerificationService.BULK_CHUNK_SIZE + 1);
+        assertThat(results.get(0).getEmail()).isEqualTo("user0@example.com");
+        verify(repository, times(2)).insertIgnoringDuplicates(anyList());
+        verify(repository, never()).save(any(EmailVerification.class));
+        verify(repository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void importEmails_shouldReportEachChunk() {
+        List<String> emails = Arrays.asList("a@example.com", "b@example.com");
+        when(repository.insertIgnoringDuplicates(emails)).thenReturn(1);
+
+        BulkEmailResultDTO result = service.importEmails(emails);
+
+        assertThat(result.getRequested()).isEqualTo(2);
+        assertThat(result.getAffected()).isEqualTo(1);
+        assertThat(result.getChunks()).containsExactly(new BulkEmailResultDTO.ChunkResult(0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.importEmails(Arrays.asList("a@example.com", " ")));
     }
 
     @Test
-    void removeMultipleEmails_shouldCallRemoveForEach() {
+    void removeMultipleEmails_shouldDeleteWithOneStatementPerChunk() {
         List<String> emails = Arrays.asList("a@example.com", "b@example.com");
 
-        when(repository.existsByEmail(anyString())).thenReturn(true);
+        when(repository.deleteMultipleEmails(emails)).thenReturn(2);
 
-        service.removeMultipleEmails(emails);
+        BulkEmailResultDTO result = service.removeMultipleEmails(emails);
 
-        verify(repository, times(2)).deleteByEmail(anyString());
+        assertThat(result.getAffected()).isEqualTo(2);
+        verify(repository, never()).deleteByEmail(anyString());
 
         assertThrows(IllegalArgumentException.class, () -> service.removeMultipleEmails(Arrays.asList()));
     }
@@ -134,8 +169,7 @@ class EmailVerificationServiceTest {
     void checkEmailsRegistration_shouldReturnCorrectStatuses() {
         List<String> emails = Arrays.asList("a@example.com", "b@example.com");
 
-        when(repository.existsByEmail("a@example.com")).thenReturn(true);
-        when(repository.existsByEmail("b@example.com")).thenReturn(false);
+        when(repository.findExistingEmails(emails)).thenReturn(List.of("a@example.com"));
 
         List<EmailVerificationService.EmailRegistrationStatus> result = service.checkEmailsRegistration(emails);
 
@@ -143,5 +177,49 @@ class EmailVerificationServiceTest {
         assertThat(result.get(0).getEmail()).isEqualTo("a@example.com");
         assertThat(result.get(0).isRegistered()).isTrue();
         assertThat(result.get(1).isRegistered()).isFalse();
+        verify(repository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void isEmailRegistered_shouldAnswerFromCacheOnceWarmedUp() {
+        when(repository.findAllEmails()).thenReturn(List.of("Test@Example.com"));
+
+        assertThat(service.refreshRegisteredEmails()).isEqualTo(1);
+
+        assertThat(service.isEmailRegistered(email)).isTrue();
+        assertThat(service.isEmailRegistered("other@example.com")).isFalse();
+        assertThat(service.getEmailVerification("other@example.com")).isEmpty();
+        verify(repository, never()).existsByEmail(anyString());
+        verify(repository, never()).findByEmail(anyString());
+
+        EmailCacheStatsDTO stats = service.getCacheStats();
+        assertThat(stats.isLoaded()).isTrue();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getNegativeHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isZero();
+
+        // The same counters are exported as meters
+        assertThat(meterRegistry.get("registered.emails.cache.lookups").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("registered.emails.cache.lookups").tag("result", "negative_hit")
+            .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("registered.emails.cache.size").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("registered.emails.cache.loaded").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void registerAndRemoveEmail_shouldKeepCacheInSync() {
+        when(repository.findAllEmails()).thenReturn(List.of());
+        when(repository.save(any(EmailVerification.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        service.refreshRegisteredEmails();
+
+        service.registerEmail(email);
+        assertThat(service.isEmailRegistered(email)).isTrue();
+
+        service.removeEmail(email);
+        assertThat(service.isEmailRegistered(email)).isFalse();
+        verify(repository).deleteByEmail(email);
+        verify(repository, never()).existsByEmail(anyString());
     }
 }
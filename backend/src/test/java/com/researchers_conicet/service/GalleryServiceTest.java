@@ -31,6 +31,9 @@ public class GalleryServiceTest {
     @Mock
     private GalleryRepository repository;
 
+    @Mock
+    private ContentVersions contentVersions;
+
     @InjectMocks
     private GalleryService service;
 
@@ -0,0 +1,113 @@
+package com.researchers_conicet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.researchers_conicet.dto.bulk_import.BulkImportResultDTO;
+import com.researchers_conicet.dto.research.ResearchRequestDTO;
+import com.researchers_conicet.entity.Research;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonImporterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NdjsonImporter importer;
+
+    private final List<Integer> savedChunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importer = new NdjsonImporter(new ObjectMapper(), transactionManager,
+            Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private InputStream ndjson(List<String> lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String record(int i) {
+        return "{\"researchAbstract\":\"Abstract " + i + "\",\"authors\":[\"Author\"],\"links\":[\"https://example.com/" + i + "\"]}";
+    }
+
+    private final Function<ResearchRequestDTO, Research> toEntity = requestDTO -> {
+        if (requestDTO.getAuthors() == null || requestDTO.getAuthors().isEmpty()) {
+            throw new IllegalArgumentException("At least one author is required");
+        }
+        Research research = new Research();
+        research.setResearchAbstract(requestDTO.getResearchAbstract());
+        research.setAuthors(requestDTO.getAuthors());
+        research.setLinks(requestDTO.getLinks());
+        return research;
+    };
+
+    private final Consumer<List<Research>> save = chunk -> savedChunkSizes.add(chunk.size());
+
+    @Test
+    void importRecords_shouldSaveInChunks() {
+        List<String> lines = IntStream.range(0, NdjsonImporter.CHUNK_SIZE * 2 + 1)
+            .mapToObj(this::record)
+            .collect(Collectors.toList());
+
+        BulkImportResultDTO result = importer.importRecords(ndjson(lines), ResearchRequestDTO.class, toEntity, save);
+
+        assertThat(savedChunkSizes).containsExactly(NdjsonImporter.CHUNK_SIZE, NdjsonImporter.CHUNK_SIZE, 1);
+        assertThat(result.getReceived()).isEqualTo(lines.size());
+        assertThat(result.getImported()).isEqualTo(lines.size());
+        assertThat(result.getChunks()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+    }
+
+    @Test
+    void importRecords_shouldReportBadLinesAndKeepGoing() {
+        List<String> lines = List.of(
+            record(1),
+            "{not json",
+            "",
+            "{\"researchAbstract\":\"No authors\",\"links\":[\"https://example.com\"]}",
+            record(2)
+        );
+
+        BulkImportResultDTO result = importer.importRecords(ndjson(lines), ResearchRequestDTO.class, toEntity, save);
+
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkImportResultDTO.RecordError::line).containsExactly(2, 4);
+        assertThat(result.getErrors().get(1).message()).isEqualTo("At least one author is required");
+        assertThat(savedChunkSizes).containsExactly(2);
+    }
+
+    @Test
+    void importRecords_shouldReportEveryLineOfAFailedChunk() {
+        List<String> lines = List.of(record(1), record(2));
+
+        BulkImportResultDTO result = importer.importRecords(ndjson(lines), ResearchRequestDTO.class, toEntity,
+            chunk -> { throw new IllegalStateException("duplicate key"); });
+
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getChunks()).isZero();
+        assertThat(result.getErrors()).extracting(BulkImportResultDTO.RecordError::line).containsExactly(1, 2);
+        assertThat(result.getErrors().get(0).message()).contains("duplicate key");
+    }
+}
@@ -6,6 +6,8 @@ import com.researchers_conicet.dto.news.NewsResponseDTO;
 import com.researchers_conicet.dto.media_link.MediaLinkDTO;
 import com.researchers_conicet.repository.NewsRepository;
 import com.researchers_conicet.exception.ResourceNotFoundException;
+import com.researchers_conicet.search.SearchDocumentType;
+import com.researchers_conicet.search.SearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
@@ -32,6 +34,12 @@ class NewServiceTest {
     @Mock
     private NewsRepository repository;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private ContentVersions contentVersions;
+
     @InjectMocks
     private NewsService service;
 
@@ -252,14 +260,22 @@ class NewServiceTest {
             )
         );
 
-        when(repository.searchEverywhere(text)).thenReturn(newsList);
+        newsList.get(0).setId(1L);
+        newsList.get(1).setId(2L);
+
+        // only the first article mentions the term
+        when(searchIndex.searchIds(ArgumentMatchers.eq(SearchDocumentType.NEWS), ArgumentMatchers.eq(text), ArgumentMatchers.anyInt()))
+            .thenReturn(List.of(1L));
+        when(repository.findAllById(List.of(1L))).thenReturn(List.of(newsList.get(0)));
 
         List<NewsResponseDTO> result = service.searchEverywhere(text);
 
         // Assert the result is not null and the correct data is returned
         assertThat(result).isNotNull();
-        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.size()).isEqualTo(1);
         assertThat(result.get(0).getTitle()).contains("Test");
+
+        assertThrows(IllegalArgumentException.class, () -> service.searchEverywhere(" "));
     }
 
     @Test
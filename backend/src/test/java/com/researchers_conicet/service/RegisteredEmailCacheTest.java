@@ -0,0 +1,57 @@
+package com.researchers_conicet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RegisteredEmailCacheTest {
+
+    private final RegisteredEmailCache cache = new RegisteredEmailCache();
+
+    /** Runs a write on another thread, as an after-commit callback of a request would */
+    private static void fromAnotherThread(Runnable write) {
+        Thread thread = Thread.ofVirtual().start(write);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void reload_shouldKeepWritesMadeWhileLoading() {
+        cache.reload(() -> List.of("old@example.com"));
+
+        int size = cache.reload(() -> {
+            fromAnotherThread(() -> {
+                cache.add("New@Example.com");
+                cache.remove("old@example.com");
+            });
+            // A snapshot read before those writes
+            return List.of("old@example.com", "other@example.com");
+        });
+
+        assertThat(size).isEqualTo(2);
+        assertThat(cache.contains("new@example.com")).isTrue();
+        assertThat(cache.contains("old@example.com")).isFalse();
+        assertThat(cache.contains("other@example.com")).isTrue();
+    }
+
+    @Test
+    void reload_shouldKeepTheCurrentSetWhenLoadingFails() {
+        cache.reload(() -> List.of("kept@example.com"));
+
+        assertThrows(IllegalStateException.class, () -> cache.reload(() -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        // Writes after the failed reload are no longer recorded for it
+        cache.add("later@example.com");
+        assertThat(cache.contains("kept@example.com")).isTrue();
+        assertThat(cache.contains("later@example.com")).isTrue();
+        assertThat(cache.reload(() -> List.of("kept@example.com"))).isEqualTo(1);
+    }
+}
@@ -24,6 +24,7 @@ import com.researchers_conicet.dto.research.ResearchResponseDTO;
 import com.researchers_conicet.entity.Research;
 import com.researchers_conicet.exception.ResourceNotFoundException;
 import com.researchers_conicet.repository.ResearchRepository;
+import com.researchers_conicet.search.SearchIndex;
 
 @ExtendWith(MockitoExtension.class)
 public class ResearchServiceTest {
@@ -36,6 +37,12 @@ public class ResearchServiceTest {
     @Mock
     private ResearchRepository repository;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private ContentVersions contentVersions;
+
     @InjectMocks
     private ResearchService service;
 
@@ -0,0 +1,64 @@
+package com.researchers_conicet.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.researchers_conicet.entity.Analogy;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@ExtendWith(MockitoExtension.class)
+class SupportCacheEvictorTest {
+
+    private static final String SUPPORT_EMAILS_ROLE = Analogy.class.getName() + ".supportEmails";
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    private SupportCacheEvictor evictor() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        return new SupportCacheEvictor(entityManagerFactory);
+    }
+
+    @Test
+    void evict_shouldDropOnlyTheGivenAnalogiesAndTheirSupportEmails() {
+        evictor().evict(List.of(1L, 2L));
+
+        verify(secondLevelCache).evictEntityData(Analogy.class, 1L);
+        verify(secondLevelCache).evictCollectionData(SUPPORT_EMAILS_ROLE, 1L);
+        verify(secondLevelCache).evictEntityData(Analogy.class, 2L);
+        verify(secondLevelCache).evictCollectionData(SUPPORT_EMAILS_ROLE, 2L);
+        verify(secondLevelCache, never()).evictEntityData(Analogy.class);
+    }
+
+    @Test
+    void evictSupportState_shouldEvictRightAwayOutsideATransaction() {
+        evictor().evictSupportState(3L);
+
+        verify(secondLevelCache).evictEntityData(Analogy.class, 3L);
+        verify(secondLevelCache).evictCollectionData(SUPPORT_EMAILS_ROLE, 3L);
+    }
+
+    @Test
+    void evict_shouldNotTouchTheCacheWithoutIds() {
+        new SupportCacheEvictor(entityManagerFactory).evict(List.of());
+
+        verify(entityManagerFactory, never()).unwrap(SessionFactory.class);
+    }
+}
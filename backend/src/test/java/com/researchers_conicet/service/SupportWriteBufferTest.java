@@ -0,0 +1,133 @@
+package com.researchers_conicet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.researchers_conicet.config.CacheConfig;
+import com.researchers_conicet.dto.support.SupportChange;
+import com.researchers_conicet.exception.SupportBufferFullException;
+import com.researchers_conicet.repository.AnalogyRepository;
+import com.researchers_conicet.repository.CommentRepository;
+import com.researchers_conicet.service.SupportWriteBuffer.Target;
+
+@ExtendWith(MockitoExtension.class)
+class SupportWriteBufferTest {
+
+    private static final String EMAIL = "fan@example.com";
+
+    @Mock
+    private AnalogyRepository analogyRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SupportCacheEvictor supportCacheEvictor;
+
+    @Mock
+    private ContentVersions contentVersions;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.ANALOGIES);
+
+    private SupportWriteBuffer buffer(int maxPending) {
+        return new SupportWriteBuffer(true, maxPending, 10, analogyRepository, commentRepository,
+            transactionManager, supportCacheEvictor, cacheManager, contentVersions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SupportChange> flushedAnalogyChanges() {
+        ArgumentCaptor<Collection<SupportChange>> changes = ArgumentCaptor.forClass(Collection.class);
+        verify(analogyRepository).applySupportChanges(changes.capture());
+        return List.copyOf(changes.getValue());
+    }
+
+    @Test
+    void record_shouldCoalesceTogglesAndFlushTheLastState() {
+        when(analogyRepository.applySupportChanges(anyCollection())).thenReturn(List.of(1L));
+        cacheManager.getCache(CacheConfig.ANALOGIES).put(1L, "stale detail");
+
+        SupportWriteBuffer buffer = buffer(10);
+        buffer.record(Target.ANALOGY, 1L, EMAIL, true);
+        buffer.record(Target.ANALOGY, 1L, EMAIL, false);
+        buffer.record(Target.ANALOGY, 1L, EMAIL, true);
+        buffer.record(Target.COMMENT, 7L, EMAIL, true);
+
+        // read-your-own-writes before the flush
+        assertThat(buffer.pendingState(Target.ANALOGY, 1L, EMAIL)).contains(true);
+        assertThat(buffer.pendingState(Target.ANALOGY, 2L, EMAIL)).isEmpty();
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+
+        assertThat(buffer.flush()).isEqualTo(2);
+
+        assertThat(flushedAnalogyChanges()).containsExactly(new SupportChange(1L, EMAIL, true));
+        verify(commentRepository).applySupportChanges(List.of(new SupportChange(7L, EMAIL, true)));
+        verify(supportCacheEvictor).evict(List.of(1L));
+        assertThat(cacheManager.getCache(CacheConfig.ANALOGIES).get(1L)).isNull();
+        assertThat(buffer.pendingState(Target.ANALOGY, 1L, EMAIL)).isEmpty();
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void record_shouldRejectNewPairsWhenFull() {
+        SupportWriteBuffer buffer = buffer(1);
+        buffer.record(Target.ANALOGY, 1L, EMAIL, true);
+
+        assertThrows(SupportBufferFullException.class,
+            () -> buffer.record(Target.ANALOGY, 2L, EMAIL, true));
+
+        // a pair already in the buffer only changes its state
+        buffer.record(Target.ANALOGY, 1L, EMAIL, false);
+        assertThat(buffer.pendingState(Target.ANALOGY, 1L, EMAIL)).contains(false);
+    }
+
+    @Test
+    void flush_shouldKeepChangesAndPreferNewerClicksWhenWritingFails() {
+        doThrow(new DataAccessResourceFailureException("database down"))
+            .when(analogyRepository).applySupportChanges(anyCollection());
+
+        SupportWriteBuffer buffer = buffer(10);
+        buffer.record(Target.ANALOGY, 1L, EMAIL, true);
+
+        assertThat(buffer.flush()).isZero();
+        assertThat(buffer.pendingState(Target.ANALOGY, 1L, EMAIL)).contains(true);
+        verify(supportCacheEvictor, never()).evict(anyCollection());
+
+        buffer.record(Target.ANALOGY, 1L, EMAIL, false);
+        assertThat(buffer.pendingState(Target.ANALOGY, 1L, EMAIL)).isEqualTo(Optional.of(false));
+    }
+
+    @Test
+    void flush_shouldDoNothingWithoutPendingChanges() {
+        assertThat(buffer(10).flush()).isZero();
+        verify(analogyRepository, never()).applySupportChanges(anyCollection());
+    }
+
+    @Test
+    void countWithPending_shouldOnlyApplyChangesTheDatabaseDoesNotHaveYet() {
+        assertThat(SupportWriteBuffer.countWithPending(5, false, true)).isEqualTo(6);
+        assertThat(SupportWriteBuffer.countWithPending(5, true, false)).isEqualTo(4);
+        assertThat(SupportWriteBuffer.countWithPending(5, true, true)).isEqualTo(5);
+        assertThat(SupportWriteBuffer.countWithPending(0, true, false)).isZero();
+    }
+}
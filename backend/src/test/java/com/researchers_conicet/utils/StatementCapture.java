@@ -0,0 +1,114 @@
+package com.researchers_conicet.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps a DataSource so that the prepared statements executed on a thread can be
+ * recorded together with their bound parameters, e.g. to replay them under EXPLAIN.
+ * <p>
+ * Recording is off until {@link #start()} is called on the thread and ends with
+ * {@link #stop()}; otherwise the wrapper only delegates.
+ */
+public final class StatementCapture {
+
+    /**
+     * @param parameters Bound values in placeholder order
+     */
+    public record Captured(String sql, List<Object> parameters) {}
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private static final ThreadLocal<List<Captured>> CAPTURED = new ThreadLocal<>();
+
+    private StatementCapture() {
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    /**
+     * Starts recording the statements executed on this thread
+     */
+    public static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops recording on this thread
+     * @return Statements executed since {@link #start()}, in order
+     */
+    public static List<Captured> stop() {
+        List<Captured> captured = CAPTURED.get();
+        CAPTURED.remove();
+        return captured != null ? captured : List.of();
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                return wrap(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (EXECUTE.contains(name) && (args == null || args.length == 0)) {
+                List<Captured> captured = CAPTURED.get();
+                if (captured != null) {
+                    captured.add(new Captured(sql, new ArrayList<>(parameters.values())));
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Proxies every interface of the target, so that unwrap and instanceof checks keep working
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(),
+            ClassUtils.getAllInterfaces(target), invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.researchers_conicet.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds the database with a deterministic synthetic dataset of configurable size,
+ * so that tests can exercise the query plans at realistic volumes.
+ * <p>
+ * Rows are written with plain JDBC batches on a single connection, with foreign
+ * key and unique checks off and one commit per batch; with rewriteBatchedStatements
+ * each batch travels as one multi-row INSERT. Every value is a function of the row
+ * index, so tests can address rows through {@link #email(int)}, {@link #analogyId(int)},
+ * {@link #commentId(int)} and friends without querying.
+ * <p>
+ * Comments form reply chains of {@link Volumes#replyDepth()} comments, each one
+ * answering the previous, and every commenter is a registered email. Supports are
+ * split evenly between analogies and comments, and analogies.support_count is
+ * written consistent with them.
+ */
+@Slf4j
+public class SyntheticDataset {
+
+    /**
+     * Number of rows of each kind
+     *
+     * @param replyDepth Length of each reply chain; 1 means only top-level comments
+     * @param supports Rows in analogy_supports plus comment_supports
+     */
+    public record Volumes(
+        int analogies,
+        int comments,
+        int replyDepth,
+        long supports,
+        int emails,
+        int news,
+        int researches,
+        int galleryImages
+    ) {
+
+        public Volumes {
+            if (analogies < 1 || emails < 1 || replyDepth < 1) {
+                throw new IllegalArgumentException("At least one analogy, one email and a reply depth of 1 are needed");
+            }
+        }
+
+        /**
+         * Volumes from -Dscale.* system properties, e.g. the full-size run:
+         * -Dscale.analogies=100000 -Dscale.comments=5000000 -Dscale.supports=20000000 -Dscale.emails=50000
+         */
+        public static Volumes fromSystemProperties() {
+            return new Volumes(
+                Integer.getInteger("scale.analogies", 10_000),
+                Integer.getInteger("scale.comments", 200_000),
+                Integer.getInteger("scale.reply-depth", 20),
+                Long.getLong("scale.supports", 1_000_000L),
+                Integer.getInteger("scale.emails", 5_000),
+                Integer.getInteger("scale.news", 2_000),
+                Integer.getInteger("scale.researches", 2_000),
+                Integer.getInteger("scale.gallery-images", 500));
+        }
+
+        long analogySupports() {
+            return comments > 0 ? supports / 2 : supports;
+        }
+
+        long commentSupports() {
+            return supports - analogySupports();
+        }
+    }
+
+    /** Rows per JDBC batch and per commit */
+    private static final int BATCH_SIZE = 5_000;
+
+    /** Distinct author names shared by the publications */
+    private static final int AUTHORS = 5_000;
+
+    private static final String[] WORDS = {
+        "energy", "cell", "climate", "protein", "galaxy", "river", "soil", "neuron", "virus", "glacier",
+        "photosynthesis", "gravity", "enzyme", "ocean", "fossil", "magnet", "genome", "volcano", "orbit", "bacteria",
+        "quantum", "forest", "crystal", "immune", "wave", "mineral", "species", "atom", "storm", "vaccine"
+    };
+
+    /** Tables written by the generator, children first */
+    private static final List<String> TABLES = List.of(
+        "comment_supports", "analogy_supports", "comments",
+        "analogy_authors", "analogy_links", "analogy_media_links", "analogies",
+        "new_authors", "new_links", "new_media_links", "news",
+        "research_authors", "research_links", "researches",
+        "gallery_images", "email_verifications");
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, long row) throws SQLException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    public SyntheticDataset(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String email(int i) {
+        return "user" + i + "@example.org";
+    }
+
+    public static String userName(int i) {
+        return "User " + i;
+    }
+
+    public static String author(int i) {
+        return "Author " + (i % AUTHORS);
+    }
+
+    /** A word of the shared vocabulary; every title and body contains several of them */
+    public static String word(int i) {
+        return WORDS[Math.floorMod(i, WORDS.length)];
+    }
+
+    public static long analogyId(int i) {
+        return i + 1L;
+    }
+
+    public static long commentId(int i) {
+        return i + 1L;
+    }
+
+    public static long newsId(int i) {
+        return i + 1L;
+    }
+
+    public static long researchId(int i) {
+        return i + 1L;
+    }
+
+    public static String galleryUrl(int i) {
+        return "https://example.org/gallery/" + i + ".jpg";
+    }
+
+    /**
+     * Empties the generated tables and fills them with the given volumes
+     */
+    public void load(Volumes volumes) {
+        long supportsPerAnalogy = ceilDiv(volumes.analogySupports(), volumes.analogies());
+        long supportsPerComment = volumes.comments() > 0 ? ceilDiv(volumes.commentSupports(), volumes.comments()) : 0;
+        if (supportsPerAnalogy > volumes.emails() || supportsPerComment > volumes.emails()) {
+            throw new IllegalArgumentException("Supports per publication exceed the registered emails: " + volumes);
+        }
+
+        long start = System.currentTimeMillis();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET foreign_key_checks = 0, unique_checks = 0");
+                connection.setAutoCommit(false);
+                for (String table : TABLES) {
+                    statement.execute("TRUNCATE TABLE " + table);
+                }
+                loadEmails(connection, volumes);
+                loadAnalogies(connection, volumes);
+                loadComments(connection, volumes);
+                loadSupports(connection, volumes);
+                loadNews(connection, volumes);
+                loadResearches(connection, volumes);
+                loadGallery(connection, volumes);
+            } finally {
+                // The connection goes back to the pool
+                connection.setAutoCommit(autoCommit);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET foreign_key_checks = 1, unique_checks = 1");
+                }
+            }
+            return null;
+        });
+        log.info("Generated {} in {} s", volumes, (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private void loadEmails(Connection connection, Volumes volumes) throws SQLException {
+        insert(connection, "INSERT INTO email_verifications (email, created_at, username) VALUES (?, ?, ?)",
+            volumes.emails(), (statement, row) -> {
+                int i = (int) row;
+                statement.setString(1, email(i));
+                statement.setTimestamp(2, at(i));
+                statement.setString(3, userName(i));
+            });
+    }
+
+    private void loadAnalogies(Connection connection, Volumes volumes) throws SQLException {
+        long supports = volumes.analogySupports();
+        insert(connection,
+            "INSERT INTO analogies (id, title, content, created_at, updated_at, version, support_count) " +
+            "VALUES (?, ?, ?, ?, ?, 0, ?)",
+            volumes.analogies(), (statement, row) -> {
+                int i = (int) row;
+                statement.setLong(1, analogyId(i));
+                statement.setString(2, "Analogy " + i + " " + word(i) + " " + word(i / WORDS.length));
+                statement.setString(3, text(i, 60));
+                statement.setTimestamp(4, at(i));
+                statement.setTimestamp(5, at(i));
+                statement.setInt(6, (int) share(supports, volumes.analogies(), i));
+            });
+        insert(connection, "INSERT INTO analogy_authors (analogy_id, author_name) VALUES (?, ?)",
+            volumes.analogies() * 2L, (statement, row) -> {
+                int i = (int) (row / 2);
+                statement.setLong(1, analogyId(i));
+                statement.setString(2, row % 2 == 0 ? author(i) : author(i * 7 + 3));
+            });
+        insert(connection, "INSERT INTO analogy_links (analogy_id, link) VALUES (?, ?)",
+            volumes.analogies(), (statement, row) -> {
+                statement.setLong(1, analogyId((int) row));
+                statement.setString(2, "https://example.org/analogies/" + row);
+            });
+    }
+
+    private void loadComments(Connection connection, Volumes volumes) throws SQLException {
+        int depth = volumes.replyDepth();
+        insert(connection,
+            "INSERT INTO comments (id, content, user_name, email, created_at, parent_id, root_id, analogy_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            volumes.comments(), (statement, row) -> {
+                int i = (int) row;
+                int chain = i / depth;
+                int commenter = i % volumes.emails();
+                statement.setLong(1, commentId(i));
+                statement.setString(2, text(i, 20));
+                statement.setString(3, userName(commenter));
+                statement.setString(4, email(commenter));
+                statement.setTimestamp(5, at(i));
+                // The first comment of a chain is top-level, the rest answer the one before
+                // and belong to the thread of the first one
+                if (i % depth == 0) {
+                    statement.setNull(6, Types.BIGINT);
+                    statement.setNull(7, Types.BIGINT);
+                } else {
+                    statement.setLong(6, commentId(i - 1));
+                    statement.setLong(7, commentId(chain * depth));
+                }
+                statement.setLong(8, analogyId(chain % volumes.analogies()));
+            });
+    }
+
+    /**
+     * Writes the supports grouped by publication, in primary key order, giving each
+     * publication its share of the total and distinct emails within a publication
+     */
+    private void loadSupports(Connection connection, Volumes volumes) throws SQLException {
+        insertShares(connection, "INSERT INTO analogy_supports (analogy_id, support_email) VALUES (?, ?)",
+            volumes.analogySupports(), volumes.analogies(), volumes.emails(), SyntheticDataset::analogyId);
+        if (volumes.comments() > 0) {
+            insertShares(connection, "INSERT INTO comment_supports (comment_id, support_email) VALUES (?, ?)",
+                volumes.commentSupports(), volumes.comments(), volumes.emails(), SyntheticDataset::commentId);
+        }
+    }
+
+    private void insertShares(Connection connection, String sql, long total, int targets, int emails,
+            IntToLongFunction id) throws SQLException {
+        long perTarget = total / targets;
+        long remainder = total % targets;
+        insert(connection, sql, total, (statement, row) -> {
+            // Rows [0, remainder * (perTarget + 1)) belong to targets with one extra support
+            long wide = remainder * (perTarget + 1);
+            int target;
+            long position;
+            if (row < wide) {
+                target = (int) (row / (perTarget + 1));
+                position = row % (perTarget + 1);
+            } else {
+                target = (int) (remainder + (row - wide) / perTarget);
+                position = (row - wide) % perTarget;
+            }
+            statement.setLong(1, id.applyAsLong(target));
+            statement.setString(2, email((int) ((target * 31L + position) % emails)));
+        });
+    }
+
+    private void loadNews(Connection connection, Volumes volumes) throws SQLException {
+        insert(connection,
+            "INSERT INTO news (id, title, content, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, 0)",
+            volumes.news(), (statement, row) -> {
+                int i = (int) row;
+                statement.setLong(1, newsId(i));
+                statement.setString(2, "News " + i + " " + word(i));
+                statement.setString(3, text(i, 120));
+                statement.setTimestamp(4, at(i));
+                statement.setTimestamp(5, at(i));
+            });
+        insert(connection, "INSERT INTO new_authors (new_id, author_name) VALUES (?, ?)",
+            volumes.news(), (statement, row) -> {
+                statement.setLong(1, newsId((int) row));
+                statement.setString(2, author((int) row));
+            });
+    }
+
+    private void loadResearches(Connection connection, Volumes volumes) throws SQLException {
+        insert(connection,
+            "INSERT INTO researches (id, research_abstract, created_at, updated_at, version) VALUES (?, ?, ?, ?, 0)",
+            volumes.researches(), (statement, row) -> {
+                int i = (int) row;
+                statement.setLong(1, researchId(i));
+                statement.setString(2, "Research " + i + " " + text(i, 80));
+                statement.setTimestamp(3, at(i));
+                statement.setTimestamp(4, at(i));
+            });
+        insert(connection, "INSERT INTO research_authors (research_id, author_name) VALUES (?, ?)",
+            volumes.researches(), (statement, row) -> {
+                statement.setLong(1, researchId((int) row));
+                statement.setString(2, author((int) row));
+            });
+        insert(connection, "INSERT INTO research_links (research_id, link) VALUES (?, ?)",
+            volumes.researches(), (statement, row) -> {
+                statement.setLong(1, researchId((int) row));
+                statement.setString(2, "https://example.org/researches/" + row);
+            });
+    }
+
+    private void loadGallery(Connection connection, Volumes volumes) throws SQLException {
+        insert(connection, "INSERT INTO gallery_images (url, caption, created_at, updated_at) VALUES (?, ?, ?, ?)",
+            volumes.galleryImages(), (statement, row) -> {
+                int i = (int) row;
+                statement.setString(1, galleryUrl(i));
+                statement.setString(2, "Image " + i + " " + word(i));
+                statement.setTimestamp(3, at(i));
+                statement.setTimestamp(4, at(i));
+            });
+    }
+
+    private void insert(Connection connection, String sql, long rows, RowBinder binder) throws SQLException {
+        long start = System.currentTimeMillis();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long row = 0; row < rows; row++) {
+                binder.bind(statement, row);
+                statement.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+        log.debug("{} rows in {} ms: {}", rows, System.currentTimeMillis() - start, sql);
+    }
+
+    /** Rows with a higher index are newer, one minute apart */
+    private Timestamp at(int i) {
+        return Timestamp.valueOf(origin.plusMinutes(i));
+    }
+
+    /** Body of the given number of vocabulary words */
+    private static String text(int i, int words) {
+        StringBuilder text = new StringBuilder(words * 9);
+        for (int w = 0; w < words; w++) {
+            text.append(word(i * 13 + w * 7)).append(w % 12 == 11 ? ". " : " ");
+        }
+        return text.toString().trim();
+    }
+
+    /** Number of items of the total that fall to a target when spread evenly */
+    private static long share(long total, int targets, int target) {
+        return total / targets + (target < total % targets ? 1 : 0);
+    }
+
+    private static long ceilDiv(long total, int targets) {
+        return (total + targets - 1) / targets;
+    }
+}
@@ -201,13 +201,14 @@ export const searchWithFilters = async (
 
 /**
  * Add support to an analogy
+ * @returns The analogy with its support count, including the caller's click
  */
 export const addSupport = async (
   analogyId: number,
   email: string
-): Promise<ApiResponse<Analogy>> => {
+): Promise<Analogy> => {
   try {
-    const response = await axios.post<ApiResponse<Analogy>>(
+    const response = await axios.post<Analogy>(
       `${API_BASE_URL}${ANALOGIES_PATH}/${analogyId}/support`,
       null,
       {
@@ -223,13 +224,14 @@ export const addSupport = async (
 
 /**
  * Remove support from an analogy
+ * @returns The analogy with its support count, including the caller's click
  */
 export const removeSupport = async (
   analogyId: number,
   email: string
-): Promise<ApiResponse<Analogy>> => {
+): Promise<Analogy> => {
   try {
-    const response = await axios.delete<ApiResponse<Analogy>>(
+    const response = await axios.delete<Analogy>(
       `${API_BASE_URL}${ANALOGIES_PATH}/${analogyId}/support`,
       {
         params: { email },
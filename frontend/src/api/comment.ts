@@ -1,5 +1,5 @@
 import axios from "axios";
-import { ApiResponse, PaginatedResponse } from "../types/index";
+import { ApiResponse, Comment as CommentNode, PaginatedResponse } from "../types/index";
 
 // Base API URL from environment variable or fallback
 const API_BASE_URL =
@@ -61,6 +61,28 @@ export const getCommentsByAnalogy = async (
   return response.data;
 };
 
+// Root comments of one page with their replies nested, support counts and,
+// when an email is given, the viewer's supported flag.
+export const getCommentTree = async (
+  analogyId: number,
+  page = 0,
+  size = 10,
+  email?: string
+): Promise<PaginatedResponse<CommentNode> & { last?: boolean }> => {
+  const response = await axios.get<
+    PaginatedResponse<CommentNode> & { last?: boolean }
+  >(`${API_BASE_URL}${ANALOGIES_PATH}/${analogyId}${COMMENTS_PATH}/tree`, {
+    params: {
+      page,
+      size,
+      direction: "DESC",
+      email,
+    },
+    timeout: 10000,
+  });
+  return response.data;
+};
+
 export const updateComment = async (
   analogyId: number,
   commentId: number,
@@ -160,12 +182,16 @@ export const verifyEmailAuthorization = async (
   }
 };
 
+/**
+ * Adds the email's support to a comment
+ * @returns The comment with its support count, including the caller's click
+ */
 export const addSupportToComment = async (
   commentId: number,
   email: string
-): Promise<ApiResponse<Comment>> => {
+): Promise<CommentNode> => {
   try {
-    const response = await axios.post<ApiResponse<Comment>>(
+    const response = await axios.post<CommentNode>(
       `${API_BASE_URL}${COMMENTS_PATH}/${commentId}/support`,
       null,
       {
@@ -179,12 +205,16 @@ export const addSupportToComment = async (
   }
 };
 
+/**
+ * Removes the email's support from a comment
+ * @returns The comment with its support count, including the caller's click
+ */
 export const removeSupportFromComment = async (
   commentId: number,
   email: string
-): Promise<ApiResponse<Comment>> => {
+): Promise<CommentNode> => {
   try {
-    const response = await axios.delete<ApiResponse<Comment>>(
+    const response = await axios.delete<CommentNode>(
       `${API_BASE_URL}${COMMENTS_PATH}/${commentId}/support`,
       {
         params: { email },
@@ -247,6 +277,7 @@ export const getSupportedCommentsByEmail = async (
 export default {
   createComment,
   getCommentsByAnalogy,
+  getCommentTree,
   updateComment,
   deleteComment,
   searchCommentsByUserName,
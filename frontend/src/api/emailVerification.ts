@@ -20,6 +20,12 @@ interface EmailRegistrationStatus {
   registered: boolean;
 }
 
+interface BulkEmailResult {
+  requested: number;
+  affected: number;
+  chunks: { index: number; size: number; affected: number }[];
+}
+
 const handleApiError = (error: unknown) => {
   if (axios.isAxiosError(error)) {
     const axiosError = error as AxiosError;
@@ -127,13 +133,20 @@ export const removeEmail = async (email: string): Promise<void> => {
   }
 };
 
-export const removeMultipleEmails = async (emails: string[]): Promise<void> => {
+export const removeMultipleEmails = async (
+  emails: string[]
+): Promise<BulkEmailResult> => {
   try {
-    await axios.delete(`${API_BASE_URL}/remove-multiple`, {
-      data: emails,
-    });
+    const response = await axios.delete<BulkEmailResult>(
+      `${API_BASE_URL}/remove-multiple`,
+      {
+        data: emails,
+      }
+    );
+    return response.data;
   } catch (error) {
     handleApiError(error);
+    throw error;
   }
 };
 
@@ -1,10 +1,8 @@
 import React, { useEffect, useRef, useState } from "react";
 import {
-  getSupportCountForComment,
-  getSupportedCommentsByEmail,
   addSupportToComment,
   removeSupportFromComment,
-  getCommentsByAnalogy,
+  getCommentTree,
   deleteComment,
   createComment,
 } from "../../api/comment";
@@ -56,56 +54,27 @@ const CommentSection: React.FC<CommentSectionProps> = ({
   const isValidComment = (c: Comment) =>
     typeof c.content === "string" && c.content.length > 0;
 
-  const extractComments = (fetched: Comment[]) => {
-    const seen = new Set<number>();
-    const map = new Map<number, Comment>();
-    for (const c of fetched.filter(isValidComment)) {
-      if (seen.has(c.id)) continue;
-      seen.add(c.id);
-      c.replies = [];
-      map.set(c.id, c);
-    }
-    for (const c of map.values()) {
-      if (c.parentId && map.has(c.parentId)) {
-        map.get(c.parentId)!.replies!.push(c);
-      }
-    }
-    return Array.from(map.values()).filter((c) => !c.parentId);
-  };
-
-  const loadSupportData = async (comments: Comment[]) => {
-    const ids = comments.map((c) => c.id);
-    const counts: Record<number, number> = {};
-
-    for (const id of ids) {
-      try {
-        counts[id] = await getSupportCountForComment(id); // Get support count for each comment
-      } catch {
-        counts[id] = 0; // Fallback to 0 if there's an error
-      }
-    }
-
-    setSupportCounts(counts);
-
-    // If user is logged in, load user's supported comments
-    if (user) {
-      try {
-        const ids = await getSupportedCommentsByEmail(user.email);
-        setUserSupportedIds(ids);
-      } catch {
-        setUserSupportedIds([]);
-      }
-    }
-  };
+  const flatten = (c: Comment): Comment[] => [
+    c,
+    ...(c.replies?.flatMap(flatten) || []),
+  ];
 
-  const loadSupportedIds = async () => {
-    if (!user) return;
-    try {
-      const ids = await getSupportedCommentsByEmail(user.email);
-      setUserSupportedIds(ids);
-    } catch {
-      setUserSupportedIds([]);
-    }
+  // Keeps valid comments only, reading support data sent with the tree
+  const extractComments = (nodes: Comment[]): Comment[] =>
+    nodes.filter(isValidComment).map((c) => ({
+      ...c,
+      replies: extractComments(c.replies ?? []),
+    }));
+
+  const loadSupportData = (roots: Comment[]) => {
+    const nodes = roots.flatMap(flatten);
+    setSupportCounts((prev) => {
+      const counts = { ...prev };
+      for (const c of nodes) counts[c.id] = c.supportCount ?? 0;
+      return counts;
+    });
+    const supported = nodes.filter((c) => c.supported).map((c) => c.id);
+    setUserSupportedIds((prev) => [...new Set([...prev, ...supported])]);
   };
 
   const loadComments = async () => {
@@ -114,20 +83,15 @@ const CommentSection: React.FC<CommentSectionProps> = ({
     setLoading(true);
 
     try {
-      const fetched = await getCommentsByAnalogy(analogyId, page);
-      const commentsRaw =
-        fetched.content ??
-        (Array.isArray((fetched.data as any)?.content)
-          ? (fetched.data as any).content
-          : []);
-      const newComments = extractComments(commentsRaw);
+      const fetched = await getCommentTree(analogyId, page, 10, user?.email);
+      const newComments = extractComments(fetched.content ?? []);
 
       if (newComments.length > 0) {
         setComments((prev) => [...prev, ...newComments]);
-        await loadSupportData(commentsRaw);
+        loadSupportData(newComments);
       }
 
-      if (commentsRaw.length === 0) {
+      if (newComments.length === 0 || fetched.last) {
         setHasMore(false);
       }
     } catch (error) {
@@ -142,20 +106,17 @@ const CommentSection: React.FC<CommentSectionProps> = ({
     setComments([]);
     setPage(0);
     setHasMore(true);
+    setUserSupportedIds([]);
   };
 
   useEffect(() => {
-    reloadAll(); // reset when analogyId changes
-  }, [analogyId]);
+    reloadAll(); // reset when analogyId or the viewer changes
+  }, [analogyId, user?.email]);
 
   useEffect(() => {
     loadComments();
   }, [page]);
 
-  useEffect(() => {
-    loadSupportedIds();
-  }, [user]);
-
   useEffect(() => {
     if (comments.length === 0) {
       loadComments();
@@ -184,7 +145,6 @@ const CommentSection: React.FC<CommentSectionProps> = ({
       setReplyingTo(null);
 
       await loadComments();
-      await loadSupportedIds();
     } catch (e) {
       console.error("Error posting comment:", e);
     }
@@ -207,26 +167,22 @@ const CommentSection: React.FC<CommentSectionProps> = ({
     }
 
     try {
+      let updated: Comment;
       if (userSupportedIds.includes(commentId)) {
-        await removeSupportFromComment(commentId, user.email);
+        updated = await removeSupportFromComment(commentId, user.email);
+        setUserSupportedIds((prev) => prev.filter((id) => id !== commentId));
       } else {
-        await addSupportToComment(commentId, user.email);
+        updated = await addSupportToComment(commentId, user.email);
+        setUserSupportedIds((prev) => [...prev, commentId]);
       }
 
-      const updated = await getSupportCountForComment(commentId); // Update support count after toggling
-      setSupportCounts((prev) => ({ ...prev, [commentId]: updated }));
-
-      await loadSupportedIds(); // Reload the user's supported comments
+      // The returned count already includes this click, even before it is written
+      setSupportCounts((prev) => ({ ...prev, [commentId]: updated.supportCount ?? 0 }));
     } catch (e) {
       console.error("Error toggling support:", e);
     }
   };
 
-  const flatten = (c: Comment): Comment[] => [
-    c,
-    ...(c.replies?.flatMap(flatten) || []),
-  ];
-
   const renderTree = (nodes: Comment[], depth = 0) =>
     nodes.map((comment) => (
       <div
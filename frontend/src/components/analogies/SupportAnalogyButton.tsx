@@ -58,14 +58,13 @@ const SupportAnalogyButton: React.FC<SupportAnalogyButtonProps> = ({
     }
 
     try {
-      if (userHasSupported) {
-        await removeSupport(analogyId, userEmail);
-      } else {
-        await addSupport(analogyId, userEmail);
-      }
-      
-      await checkCurrentUserSupport();
-      await fetchSupportCount();
+      const updated = userHasSupported
+        ? await removeSupport(analogyId, userEmail)
+        : await addSupport(analogyId, userEmail);
+
+      // The returned count already includes this click, even before it is written
+      setUserHasSupported(!userHasSupported);
+      setSupportCount(updated.supportCount ?? 0);
     } catch (error) {
       console.error('Error toggling support:', error);
     }
@@ -155,6 +155,7 @@ export interface Analogy {
   authors: string[];
   links: string[];
   mediaLinks: MediaLink[];
+  supportCount?: number;
 }
 
 /**
@@ -191,6 +192,8 @@ export interface Comment {
   parentId?: number;
   replies?: Comment[]; // Added for nested comments support
   childrenCount?: number; // Optional count of child comments
+  supportCount?: number;
+  supported?: boolean | null; // Set by the tree endpoint when an email is given
 }
 
 /**